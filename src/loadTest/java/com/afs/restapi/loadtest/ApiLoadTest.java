@@ -0,0 +1,93 @@
+package com.afs.restapi.loadtest;
+
+import com.afs.restapi.entity.Company;
+import com.afs.restapi.entity.Employee;
+import com.afs.restapi.repository.CompanyJpaRepository;
+import com.afs.restapi.repository.EmployeeJpaRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Run with {@code ./gradlew loadTest}. Every knob is a {@code -Ploadtest.*} property, e.g.
+ * {@code -Ploadtest.rate=500 -Ploadtest.mix=employees:20,companyEmployees:80}. A run with
+ * {@code -Ploadtest.updateBaseline=true} records the baseline later runs are compared against; without one
+ * committed, the test fails rather than passing by default. Runs with failed requests never become the baseline.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("loadtest")
+class ApiLoadTest {
+
+    private static final String DEFAULT_MIX = "employees:10,employeesByGender:15,employeesByPage:15,employeeById:20," +
+            "companies:10,companyById:10,companyEmployees:20";
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private CompanyJpaRepository companyJpaRepository;
+
+    @Autowired
+    private EmployeeJpaRepository employeeJpaRepository;
+
+    @Test
+    void should_not_regress_against_baseline() throws Exception {
+        List<Long> companyIds = seedCompanies(Integer.getInteger("loadtest.companies", 20));
+        List<Long> employeeIds = seedEmployees(Integer.getInteger("loadtest.employees", 2000), companyIds);
+        RequestMix mix = RequestMix.parse(System.getProperty("loadtest.mix", DEFAULT_MIX), companyIds, employeeIds);
+        double rate = Double.parseDouble(System.getProperty("loadtest.rate", "200"));
+        OpenModelLoadGenerator generator = new OpenModelLoadGenerator("http://localhost:" + port);
+
+        generator.run(mix, rate, Duration.ofSeconds(Long.getLong("loadtest.warmupSeconds", 10)));
+        LoadTestResult result = generator.run(mix, rate, Duration.ofSeconds(Long.getLong("loadtest.durationSeconds", 30)));
+
+        Path report = Paths.get(System.getProperty("loadtest.report", "build/reports/loadtest/results.properties"));
+        result.write(report);
+        System.out.println(result);
+
+        // a failing run is never a valid reference, so errors are checked before any baseline is written
+        assertTrue(result.get("overall.errors") == 0, "requests failed, see " + report);
+        Path baseline = Paths.get(System.getProperty("loadtest.baseline", "loadtest-baseline.properties"));
+        if (Boolean.getBoolean("loadtest.updateBaseline")) {
+            result.write(baseline);
+            return;
+        }
+        assertTrue(Files.exists(baseline), "no baseline at " + baseline.toAbsolutePath()
+                + "; record one with -Ploadtest.updateBaseline=true on the reference machine and commit it");
+        double maxRegression = Double.parseDouble(System.getProperty("loadtest.maxRegression", "0.25"));
+        List<String> regressions = result.regressionsAgainst(baseline, maxRegression);
+        assertTrue(regressions.isEmpty(), "regressed beyond " + maxRegression + ": " + regressions);
+    }
+
+    private List<Long> seedCompanies(int count) {
+        companyJpaRepository.deleteAll();
+        List<Company> companies = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            companies.add(new Company(null, "Company" + i));
+        }
+        return companyJpaRepository.saveAll(companies).stream().map(Company::getId).collect(Collectors.toList());
+    }
+
+    private List<Long> seedEmployees(int count, List<Long> companyIds) {
+        employeeJpaRepository.deleteAll();
+        List<Employee> employees = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Employee employee = new Employee(null, "Employee" + i, 18 + i % 48, i % 2 == 0 ? "Female" : "Male", 5000 + i % 10000);
+            employee.setCompanyId(companyIds.get(i % companyIds.size()));
+            employees.add(employee);
+        }
+        return employeeJpaRepository.saveAll(employees).stream().map(Employee::getId).collect(Collectors.toList());
+    }
+}
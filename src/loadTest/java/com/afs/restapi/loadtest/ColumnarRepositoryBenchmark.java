@@ -0,0 +1,145 @@
+package com.afs.restapi.loadtest;
+
+import com.afs.restapi.columnar.ColumnarEmployeeRepository;
+import com.afs.restapi.entity.Company;
+import com.afs.restapi.entity.Employee;
+import com.afs.restapi.entity.Gender;
+import com.afs.restapi.repository.CompanyJpaRepository;
+import com.afs.restapi.repository.EmployeeJpaRepository;
+import com.afs.restapi.repository.EmployeeRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.Random;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares {@link ColumnarEmployeeRepository} with the JPA repository on the same H2 data: retained heap per
+ * employee and median latency of the three read paths the edge nodes serve. Sizes are {@code -Ploadtest.columnar.*}
+ * properties; results go next to the load test report as {@code columnar.properties}.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("loadtest")
+class ColumnarRepositoryBenchmark {
+
+    private static final String[] GENDERS = {"Female", "Male"};
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private CompanyJpaRepository companyJpaRepository;
+
+    @Autowired
+    private EmployeeJpaRepository employeeJpaRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void should_use_less_heap_than_jpa_entities() throws Exception {
+        int employeeCount = Integer.getInteger("loadtest.columnar.employees", 100_000);
+        int iterations = Integer.getInteger("loadtest.columnar.iterations", 200);
+        List<Long> companyIds = seed(Integer.getInteger("loadtest.columnar.companies", 100), employeeCount);
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        long before = usedHeap();
+        List<Employee> entities = readOnly.execute(status -> employeeJpaRepository.findAll());
+        long jpaBytes = usedHeap() - before;
+        assertEquals(employeeCount, entities.size());
+        entities = null;
+
+        before = usedHeap();
+        ColumnarEmployeeRepository columnar = new ColumnarEmployeeRepository(dataSource, Duration.ZERO, Duration.ofMinutes(1));
+        long columnarBytes = usedHeap() - before;
+
+        Properties results = new Properties();
+        results.setProperty("employees", String.valueOf(employeeCount));
+        results.setProperty("jpa.heapBytesPerEmployee", String.valueOf(jpaBytes / employeeCount));
+        results.setProperty("columnar.heapBytesPerEmployee", String.valueOf(columnarBytes / employeeCount));
+        results.setProperty("columnar.arrayBytesPerEmployee", String.valueOf(columnar.getColumns().getHeapBytes() / employeeCount));
+
+        Random random = new Random(7);
+        for (EmployeeRepository repository : Arrays.asList(employeeJpaRepository, columnar)) {
+            String prefix = repository == columnar ? "columnar." : "jpa.";
+            results.setProperty(prefix + "findByCompanyId.median.us", micros(iterations, () -> readOnly.execute(status ->
+                    repository.findByCompanyId(companyIds.get(random.nextInt(companyIds.size()))))));
+            results.setProperty(prefix + "findAllByGender.median.us", micros(iterations / 10 + 1, () -> readOnly.execute(status ->
+                    repository.findAllByGender(GENDERS[random.nextInt(GENDERS.length)]))));
+            results.setProperty(prefix + "findById.median.us", micros(iterations * 10, () -> readOnly.execute(status ->
+                    repository.findById((long) random.nextInt(employeeCount) + 1))));
+        }
+        columnar.destroy();
+
+        Path report = Paths.get(System.getProperty("loadtest.report", "build/reports/loadtest/results.properties"))
+                .resolveSibling("columnar.properties");
+        Files.createDirectories(report.toAbsolutePath().getParent());
+        try (Writer writer = Files.newBufferedWriter(report)) {
+            results.store(writer, "columnar vs JPA employee repository");
+        }
+        System.out.println(results);
+        assertTrue(columnarBytes < jpaBytes, "columnar snapshot should be smaller than the entities: " + results);
+    }
+
+    private List<Long> seed(int companyCount, int employeeCount) {
+        employeeJpaRepository.deleteAll();
+        companyJpaRepository.deleteAll();
+        List<Company> companies = new ArrayList<>(companyCount);
+        for (int i = 0; i < companyCount; i++) {
+            companies.add(new Company(null, "Company" + i));
+        }
+        List<Long> companyIds = companyJpaRepository.saveAll(companies).stream().map(Company::getId).collect(Collectors.toList());
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("ALTER TABLE employee ALTER COLUMN id RESTART WITH 1");
+        List<Object[]> rows = new ArrayList<>(employeeCount);
+        for (int i = 0; i < employeeCount; i++) {
+            rows.add(new Object[]{"Employee" + i, 18 + i % 48, Gender.parse(GENDERS[i % 2]).getCode(), 5000 + i % 10000,
+                    companyIds.get(i % companyCount)});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO employee (name, age, gender_code, salary, company_id) VALUES (?, ?, ?, ?, ?)", rows);
+        return companyIds;
+    }
+
+    private static String micros(int iterations, Supplier<?> query) {
+        for (int i = 0; i < iterations; i++) {
+            query.get();
+        }
+        long[] nanos = new long[iterations];
+        for (int i = 0; i < iterations; i++) {
+            long start = System.nanoTime();
+            query.get();
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        return String.format(Locale.ROOT, "%.1f", nanos[iterations / 2] / 1000.0);
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
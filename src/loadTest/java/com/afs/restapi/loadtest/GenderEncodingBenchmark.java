@@ -0,0 +1,115 @@
+package com.afs.restapi.loadtest;
+
+import com.afs.restapi.entity.Gender;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares the gender column before and after it became a code: an indexed {@code VARCHAR} in a side table
+ * shaped like the old schema against the indexed {@code SMALLINT} in {@code employee}. Reports filter latency,
+ * stored bytes per row for the column, and heap held per loaded row, to {@code gender.properties} next to the
+ * load test report.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("loadtest")
+class GenderEncodingBenchmark {
+
+    private static final String[] LABELS = {"Female", "Male", "Other"};
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void should_report_filter_speed_and_size_per_gender_encoding() throws Exception {
+        int rowCount = Integer.getInteger("loadtest.gender.rows", 200_000);
+        int iterations = Integer.getInteger("loadtest.gender.iterations", 50);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        seed(jdbcTemplate, rowCount);
+
+        Properties results = new Properties();
+        results.setProperty("rows", String.valueOf(rowCount));
+        results.setProperty("before.filter.median.ms", millis(iterations, () ->
+                jdbcTemplate.queryForList("SELECT id FROM legacy_employee WHERE gender = ?", Long.class, "Other")));
+        results.setProperty("after.filter.median.ms", millis(iterations, () ->
+                jdbcTemplate.queryForList("SELECT id FROM employee WHERE gender_code = ?", Long.class, Gender.OTHER.getCode())));
+        results.setProperty("before.columnBytesPerRow", String.valueOf(jdbcTemplate.queryForObject(
+                "SELECT AVG(OCTET_LENGTH(gender)) FROM legacy_employee", Double.class)));
+        results.setProperty("after.columnBytesPerRow", String.valueOf(Short.BYTES));
+
+        long before = usedHeap();
+        List<String> labels = jdbcTemplate.queryForList("SELECT gender FROM legacy_employee", String.class);
+        results.setProperty("before.heapBytesPerRow", String.valueOf((usedHeap() - before) / rowCount));
+        before = usedHeap();
+        List<Gender> codes = new ArrayList<>(rowCount);
+        jdbcTemplate.query("SELECT gender_code FROM employee", resultSet -> {
+            codes.add(Gender.fromCode(resultSet.getShort(1)));
+        });
+        results.setProperty("after.heapBytesPerRow", String.valueOf((usedHeap() - before) / rowCount));
+        assertEquals(labels.size(), codes.size());
+
+        Path report = Paths.get(System.getProperty("loadtest.report", "build/reports/loadtest/results.properties"))
+                .resolveSibling("gender.properties");
+        Files.createDirectories(report.toAbsolutePath().getParent());
+        try (Writer writer = Files.newBufferedWriter(report)) {
+            results.store(writer, "gender as VARCHAR (before) and SMALLINT code (after)");
+        }
+        System.out.println(results);
+    }
+
+    private void seed(JdbcTemplate jdbcTemplate, int rowCount) {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS legacy_employee");
+        jdbcTemplate.execute("CREATE TABLE legacy_employee (id BIGINT AUTO_INCREMENT PRIMARY KEY, name VARCHAR(255), " +
+                "age INTEGER, gender VARCHAR(255), salary INTEGER, company_id BIGINT)");
+        jdbcTemplate.execute("CREATE INDEX idx_legacy_employee_gender ON legacy_employee (gender)");
+        jdbcTemplate.update("DELETE FROM employee");
+        List<Object[]> legacyRows = new ArrayList<>(rowCount);
+        List<Object[]> rows = new ArrayList<>(rowCount);
+        for (int i = 0; i < rowCount; i++) {
+            // one row in ten is "Other", so the filter is selective enough for the index to matter
+            String label = i % 10 == 0 ? LABELS[2] : LABELS[i % 2];
+            legacyRows.add(new Object[]{"Employee" + i, 18 + i % 48, label, 5000 + i % 10000});
+            rows.add(new Object[]{"Employee" + i, 18 + i % 48, Gender.parse(label).getCode(), 5000 + i % 10000});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO legacy_employee (name, age, gender, salary) VALUES (?, ?, ?, ?)", legacyRows);
+        jdbcTemplate.batchUpdate("INSERT INTO employee (name, age, gender_code, salary) VALUES (?, ?, ?, ?)", rows);
+    }
+
+    private static String millis(int iterations, Supplier<?> query) {
+        for (int i = 0; i < iterations; i++) {
+            query.get();
+        }
+        long[] nanos = new long[iterations];
+        for (int i = 0; i < iterations; i++) {
+            long start = System.nanoTime();
+            query.get();
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        return String.format(Locale.ROOT, "%.2f", nanos[iterations / 2] / 1_000_000.0);
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,110 @@
+package com.afs.restapi.loadtest;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+
+public class LoadTestResult {
+
+    private static final double[] PERCENTILES = {50, 99, 99.9};
+    private static final String[] PERCENTILE_NAMES = {"p50", "p99", "p999"};
+
+    private final Properties metrics = new Properties();
+
+    public LoadTestResult(List<String> routeNames, int[] routes, long[] latencyNanos, boolean[] failed, long elapsedNanos) {
+        record("overall", latencyNanos, failed, elapsedNanos);
+        for (int route = 0; route < routeNames.size(); route++) {
+            List<Integer> requests = new ArrayList<>();
+            for (int request = 0; request < routes.length; request++) {
+                if (routes[request] == route) {
+                    requests.add(request);
+                }
+            }
+            long[] routeLatencies = new long[requests.size()];
+            boolean[] routeFailures = new boolean[requests.size()];
+            for (int i = 0; i < requests.size(); i++) {
+                routeLatencies[i] = latencyNanos[requests.get(i)];
+                routeFailures[i] = failed[requests.get(i)];
+            }
+            record(routeNames.get(route), routeLatencies, routeFailures, elapsedNanos);
+        }
+    }
+
+    public double get(String metric) {
+        return Double.parseDouble(metrics.getProperty(metric, "0"));
+    }
+
+    public void write(Path file) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        try (Writer writer = Files.newBufferedWriter(file)) {
+            metrics.store(writer, "throughput in requests/s, latencies in ms");
+        }
+    }
+
+    /**
+     * Compares p99 latency and throughput of every scope present in both runs and describes each one that is
+     * worse than the baseline by more than {@code maxRegression} (0.25 = 25%).
+     */
+    public List<String> regressionsAgainst(Path baselineFile, double maxRegression) throws IOException {
+        Properties baseline = new Properties();
+        try (Reader reader = Files.newBufferedReader(baselineFile)) {
+            baseline.load(reader);
+        }
+        List<String> regressions = new ArrayList<>();
+        for (String key : baseline.stringPropertyNames()) {
+            if (!metrics.containsKey(key)) {
+                continue;
+            }
+            double expected = Double.parseDouble(baseline.getProperty(key));
+            double actual = get(key);
+            boolean regressed = key.endsWith(".p99.ms") && actual > expected * (1 + maxRegression)
+                    || key.endsWith(".throughput") && actual < expected * (1 - maxRegression);
+            if (regressed) {
+                regressions.add(String.format("%s: %.2f (baseline %.2f)", key, actual, expected));
+            }
+        }
+        return regressions;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        metrics.stringPropertyNames().stream().sorted()
+                .forEach(key -> builder.append(key).append('=').append(metrics.getProperty(key)).append('\n'));
+        return builder.toString();
+    }
+
+    private void record(String scope, long[] latencyNanos, boolean[] failed, long elapsedNanos) {
+        long[] sorted = latencyNanos.clone();
+        Arrays.sort(sorted);
+        int errors = 0;
+        for (boolean requestFailed : failed) {
+            errors += requestFailed ? 1 : 0;
+        }
+        metrics.setProperty(scope + ".requests", String.valueOf(sorted.length));
+        metrics.setProperty(scope + ".errors", String.valueOf(errors));
+        metrics.setProperty(scope + ".throughput", format((sorted.length - errors) / (elapsedNanos / 1e9)));
+        for (int i = 0; i < PERCENTILES.length; i++) {
+            metrics.setProperty(scope + "." + PERCENTILE_NAMES[i] + ".ms", format(percentile(sorted, PERCENTILES[i]) / 1e6));
+        }
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile / 100 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.3f", value);
+    }
+}
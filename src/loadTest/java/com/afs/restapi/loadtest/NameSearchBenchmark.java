@@ -0,0 +1,100 @@
+package com.afs.restapi.loadtest;
+
+import com.afs.restapi.search.EmployeeNameIndex;
+import org.junit.jupiter.api.Test;
+
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Fills an {@link EmployeeNameIndex} with generated names and times type-ahead queries of each kind: short
+ * prefixes, substrings, company-scoped and rare queries. Reports median and p99 latency and heap per name to
+ * {@code name-search.properties} next to the load test report. The index is in memory only, so this needs no
+ * Spring context.
+ */
+class NameSearchBenchmark {
+
+    private static final String[] SYLLABLES = {"an", "be", "ca", "dor", "el", "fi", "ga", "hel", "is", "jo", "ka",
+            "li", "ma", "na", "ol", "pe", "ra", "sa", "ta", "vi", "wen", "xi", "yo", "ze"};
+
+    @Test
+    void should_answer_type_ahead_under_a_millisecond() throws Exception {
+        int nameCount = Integer.getInteger("loadtest.search.names", 1_000_000);
+        int iterations = Integer.getInteger("loadtest.search.iterations", 2_000);
+        int limit = 10;
+        Random random = new Random(3);
+
+        long before = usedHeap();
+        EmployeeNameIndex index = new EmployeeNameIndex();
+        for (long id = 1; id <= nameCount; id++) {
+            index.put(id, name(random) + " " + name(random), id % 1000);
+        }
+        long heapBytes = usedHeap() - before;
+
+        Map<String, Object[]> queries = new LinkedHashMap<>();
+        queries.put("prefix1", new Object[]{"m", null});
+        queries.put("prefix3", new Object[]{"hel", null});
+        queries.put("substring", new Object[]{"oraz", null});
+        queries.put("company", new Object[]{"elma", 42L});
+        queries.put("rare", new Object[]{"xiwenzeyo", null});
+
+        Properties results = new Properties();
+        results.setProperty("names", String.valueOf(nameCount));
+        results.setProperty("heapBytesPerName", String.valueOf(heapBytes / nameCount));
+        for (Map.Entry<String, Object[]> query : queries.entrySet()) {
+            String text = (String) query.getValue()[0];
+            Long companyId = (Long) query.getValue()[1];
+            long[] nanos = new long[iterations];
+            for (int i = 0; i < iterations * 2; i++) {
+                long start = System.nanoTime();
+                index.search(text, companyId, limit);
+                if (i >= iterations) {
+                    nanos[i - iterations] = System.nanoTime() - start;
+                }
+            }
+            Arrays.sort(nanos);
+            double median = nanos[iterations / 2] / 1000.0;
+            results.setProperty(query.getKey() + ".median.us", String.format(Locale.ROOT, "%.1f", median));
+            results.setProperty(query.getKey() + ".p99.us", String.format(Locale.ROOT, "%.1f", nanos[iterations * 99 / 100] / 1000.0));
+            results.setProperty(query.getKey() + ".matches", String.valueOf(index.search(text, companyId, limit).size()));
+        }
+
+        Path report = Paths.get(System.getProperty("loadtest.report", "build/reports/loadtest/results.properties"))
+                .resolveSibling("name-search.properties");
+        Files.createDirectories(report.toAbsolutePath().getParent());
+        try (Writer writer = Files.newBufferedWriter(report)) {
+            results.store(writer, "employee name type-ahead over " + nameCount + " names");
+        }
+        System.out.println(results);
+        for (String query : queries.keySet()) {
+            assertTrue(Double.parseDouble(results.getProperty(query + ".median.us")) < 1000, query + " took " + results);
+        }
+    }
+
+    private static String name(Random random) {
+        StringBuilder name = new StringBuilder();
+        for (int i = 2 + random.nextInt(3); i > 0; i--) {
+            name.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+        }
+        name.setCharAt(0, Character.toUpperCase(name.charAt(0)));
+        return name.toString();
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
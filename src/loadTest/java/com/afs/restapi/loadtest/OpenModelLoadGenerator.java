@@ -0,0 +1,66 @@
+package com.afs.restapi.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Issues requests on a fixed arrival schedule regardless of how fast responses come back, so a slow server
+ * builds a queue instead of quietly lowering the offered load. Latency is measured from each request's
+ * scheduled start, which keeps queueing delay in the percentiles.
+ */
+public class OpenModelLoadGenerator {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final String baseUrl;
+    private final Random random = new Random(42);
+
+    public OpenModelLoadGenerator(String baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+
+    public LoadTestResult run(RequestMix mix, double requestsPerSecond, Duration duration) throws InterruptedException {
+        int total = (int) (requestsPerSecond * duration.toMillis() / 1000);
+        int[] routes = new int[total];
+        long[] latencyNanos = new long[total];
+        boolean[] failed = new boolean[total];
+        CountDownLatch completed = new CountDownLatch(total);
+        double intervalNanos = 1_000_000_000d / requestsPerSecond;
+
+        long start = System.nanoTime();
+        for (int i = 0; i < total; i++) {
+            long scheduledStart = start + (long) (i * intervalNanos);
+            long wait = scheduledStart - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            int request = i;
+            routes[request] = mix.pick(random);
+            HttpRequest httpRequest = HttpRequest.newBuilder(URI.create(baseUrl + mix.path(routes[request], random)))
+                    .timeout(REQUEST_TIMEOUT)
+                    .GET()
+                    .build();
+            httpClient.sendAsync(httpRequest, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        latencyNanos[request] = System.nanoTime() - scheduledStart;
+                        failed[request] = error != null || response.statusCode() >= 400;
+                        completed.countDown();
+                    });
+        }
+        if (!completed.await(REQUEST_TIMEOUT.toMillis() * 2, TimeUnit.MILLISECONDS)) {
+            throw new IllegalStateException(completed.getCount() + " requests did not complete");
+        }
+        return new LoadTestResult(mix.getNames(), routes, latencyNanos, failed, System.nanoTime() - start);
+    }
+}
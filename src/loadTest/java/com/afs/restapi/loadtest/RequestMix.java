@@ -0,0 +1,74 @@
+package com.afs.restapi.loadtest;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Function;
+
+/**
+ * Weighted routes to hit, parsed from a spec such as {@code employees:40,companyEmployees:30,companies:30}.
+ */
+public class RequestMix {
+
+    private final List<String> names = new ArrayList<>();
+    private final List<Function<Random, String>> paths = new ArrayList<>();
+    private final List<Integer> cumulativeWeights = new ArrayList<>();
+    private int totalWeight;
+
+    public static RequestMix parse(String spec, List<Long> companyIds, List<Long> employeeIds) {
+        Map<String, Function<Random, String>> routes = new LinkedHashMap<>();
+        routes.put("employees", random -> "/employees");
+        routes.put("employeesByGender", random -> "/employees?gender=" + (random.nextBoolean() ? "Male" : "Female"));
+        routes.put("employeesByPage", random -> "/employees?pageNumber=" + random.nextInt(10) + "&pageSize=20");
+        routes.put("employeeById", random -> "/employees/" + pick(employeeIds, random));
+        routes.put("companies", random -> "/companies");
+        routes.put("companiesByPage", random -> "/companies?pageNumber=0&pageSize=10");
+        routes.put("companyById", random -> "/companies/" + pick(companyIds, random));
+        routes.put("companyEmployees", random -> "/companies/" + pick(companyIds, random) + "/employees");
+
+        RequestMix mix = new RequestMix();
+        for (String entry : spec.split(",")) {
+            String[] nameAndWeight = entry.trim().split(":");
+            Function<Random, String> path = routes.get(nameAndWeight[0]);
+            if (path == null) {
+                throw new IllegalArgumentException("unknown route " + nameAndWeight[0] + ", expected one of " + routes.keySet());
+            }
+            mix.add(nameAndWeight[0], Integer.parseInt(nameAndWeight[1]), path);
+        }
+        return mix;
+    }
+
+    public List<String> getNames() {
+        return names;
+    }
+
+    public int pick(Random random) {
+        int target = random.nextInt(totalWeight);
+        for (int route = 0; route < cumulativeWeights.size(); route++) {
+            if (target < cumulativeWeights.get(route)) {
+                return route;
+            }
+        }
+        throw new IllegalStateException("weights do not cover " + target);
+    }
+
+    public String path(int route, Random random) {
+        return paths.get(route).apply(random);
+    }
+
+    private void add(String name, int weight, Function<Random, String> path) {
+        if (weight <= 0) {
+            throw new IllegalArgumentException("weight of " + name + " must be positive");
+        }
+        names.add(name);
+        paths.add(path);
+        totalWeight += weight;
+        cumulativeWeights.add(totalWeight);
+    }
+
+    private static Long pick(List<Long> ids, Random random) {
+        return ids.get(random.nextInt(ids.size()));
+    }
+}
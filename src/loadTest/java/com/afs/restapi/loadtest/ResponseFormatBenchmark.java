@@ -0,0 +1,88 @@
+package com.afs.restapi.loadtest;
+
+import com.afs.restapi.config.ResponseFormats;
+import com.afs.restapi.entity.Employee;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Encodes and decodes a large employee list in every negotiable format and reports body size and median encode
+ * and decode time per format to {@code formats.properties} next to the load test report. Needs no Spring context.
+ */
+class ResponseFormatBenchmark {
+
+    private static final TypeReference<List<Employee>> EMPLOYEE_LIST = new TypeReference<List<Employee>>() {};
+
+    @Test
+    void should_encode_binary_formats_smaller_than_json() throws Exception {
+        int employeeCount = Integer.getInteger("loadtest.formats.employees", 20_000);
+        int rounds = Integer.getInteger("loadtest.formats.rounds", 20);
+        ResponseFormats responseFormats = new ResponseFormats(new ObjectMapper(), Jackson2ObjectMapperBuilder.json());
+        List<Employee> employees = createEmployees(employeeCount);
+        int jsonSize = responseFormats.encode(MediaType.APPLICATION_JSON, employees).length;
+
+        Properties results = new Properties();
+        results.setProperty("employees", String.valueOf(employeeCount));
+        for (MediaType mediaType : responseFormats.getMediaTypes()) {
+            ObjectMapper mapper = responseFormats.mapperFor(mediaType);
+            byte[] encoded = mapper.writeValueAsBytes(employees);
+            mapper.readValue(encoded, EMPLOYEE_LIST);
+            long[] encodeNanos = new long[rounds];
+            long[] decodeNanos = new long[rounds];
+            for (int round = 0; round < rounds; round++) {
+                long start = System.nanoTime();
+                encoded = mapper.writeValueAsBytes(employees);
+                encodeNanos[round] = System.nanoTime() - start;
+                start = System.nanoTime();
+                mapper.readValue(encoded, EMPLOYEE_LIST);
+                decodeNanos[round] = System.nanoTime() - start;
+            }
+            Arrays.sort(encodeNanos);
+            Arrays.sort(decodeNanos);
+            String prefix = mediaType.getSubtype() + ".";
+            results.setProperty(prefix + "bytes", String.valueOf(encoded.length));
+            results.setProperty(prefix + "percentOfJson", String.valueOf(encoded.length * 100L / jsonSize));
+            results.setProperty(prefix + "encode.median.ms", String.format(Locale.ROOT, "%.2f", encodeNanos[rounds / 2] / 1_000_000.0));
+            results.setProperty(prefix + "decode.median.ms", String.format(Locale.ROOT, "%.2f", decodeNanos[rounds / 2] / 1_000_000.0));
+        }
+
+        Path report = Paths.get(System.getProperty("loadtest.report", "build/reports/loadtest/results.properties"))
+                .resolveSibling("formats.properties");
+        Files.createDirectories(report.toAbsolutePath().getParent());
+        try (Writer writer = Files.newBufferedWriter(report)) {
+            results.store(writer, "employee list of " + employeeCount + " per response format");
+        }
+        System.out.println(results);
+        for (MediaType mediaType : responseFormats.getMediaTypes()) {
+            if (!MediaType.APPLICATION_JSON.equals(mediaType)) {
+                long bytes = Long.parseLong(results.getProperty(mediaType.getSubtype() + ".bytes"));
+                assertTrue(bytes < jsonSize, mediaType + " should be smaller than JSON: " + results);
+            }
+        }
+    }
+
+    private static List<Employee> createEmployees(int count) {
+        List<Employee> employees = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Employee employee = new Employee((long) i, "Employee" + i, 18 + i % 47, i % 2 == 0 ? "Female" : "Male", 5000 + i % 9000);
+            employee.setCompanyId((long) (i % 100));
+            employees.add(employee);
+        }
+        return employees;
+    }
+}
@@ -0,0 +1,106 @@
+package com.afs.restapi.loadtest;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Starts the application in a fresh JVM several times and measures how long each takes to answer its first
+ * {@code GET /companies}. Arguments: application classpath, report file, CDS archive path, then extra
+ * application arguments. The archive is used when it exists, unless {@code -Dstartup.cds=false}.
+ */
+public class StartupTimeProbe {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+
+    private final HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+
+    public static void main(String[] args) throws Exception {
+        String classpath = args[0];
+        Path report = Paths.get(args[1]);
+        Path cdsArchive = Paths.get(args[2]);
+        List<String> appArgs = Arrays.asList(args).subList(3, args.length);
+        String profile = System.getProperty("startup.profile", "fast-startup");
+        int runs = Integer.getInteger("startup.runs", 5);
+        boolean useCds = Boolean.parseBoolean(System.getProperty("startup.cds", "true")) && Files.exists(cdsArchive);
+
+        StartupTimeProbe probe = new StartupTimeProbe();
+        long[] millis = new long[runs];
+        for (int run = 0; run < runs; run++) {
+            millis[run] = probe.timeToFirstRequest(classpath, useCds ? cdsArchive : null, profile, appArgs);
+            System.out.printf("run %d: %d ms%n", run + 1, millis[run]);
+        }
+        Arrays.sort(millis);
+
+        Properties properties = new Properties();
+        properties.setProperty("profile", profile);
+        properties.setProperty("cds", String.valueOf(useCds));
+        properties.setProperty("runs", String.valueOf(runs));
+        properties.setProperty("timeToFirstRequest.min.ms", String.valueOf(millis[0]));
+        properties.setProperty("timeToFirstRequest.median.ms", String.valueOf(millis[runs / 2]));
+        properties.setProperty("timeToFirstRequest.max.ms", String.valueOf(millis[runs - 1]));
+        Files.createDirectories(report.toAbsolutePath().getParent());
+        try (Writer writer = Files.newBufferedWriter(report)) {
+            properties.store(writer, "time from process start to first successful request");
+        }
+        System.out.println(properties);
+    }
+
+    private long timeToFirstRequest(String classpath, Path cdsArchive, String profile, List<String> appArgs) throws Exception {
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        if (cdsArchive != null) {
+            command.add("-XX:SharedArchiveFile=" + cdsArchive);
+        }
+        command.add("-cp");
+        command.add(classpath);
+        command.add("com.afs.restapi.RestapiApplication");
+        command.add("--server.port=" + port);
+        command.add("--spring.profiles.active=" + profile);
+        command.addAll(appArgs);
+
+        HttpRequest firstRequest = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/companies")).GET().build();
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command).redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD).start();
+        try {
+            while (System.nanoTime() - start < STARTUP_TIMEOUT.toNanos()) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("application exited with " + process.exitValue());
+                }
+                try {
+                    if (httpClient.send(firstRequest, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        return (System.nanoTime() - start) / 1_000_000;
+                    }
+                } catch (ConnectException notListeningYet) {
+                    // keep polling until the server socket is open
+                }
+                Thread.sleep(10);
+            }
+            throw new IllegalStateException("no successful response within " + STARTUP_TIMEOUT);
+        } finally {
+            process.destroy();
+            process.waitFor();
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.afs.restapi.loadtest;
+
+import com.afs.restapi.entity.Company;
+import com.afs.restapi.entity.Employee;
+import com.afs.restapi.repository.CompanyJpaRepository;
+import com.afs.restapi.repository.EmployeeJpaRepository;
+import com.afs.restapi.service.CompanyService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.concurrent.Callable;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Measures {@code GET /companies} without the HTTP layer, before and after the services took over transaction
+ * boundaries. "Before" mirrors the old request: a read-write persistence context kept open while Jackson
+ * serializes the entities and lazily loads their employees. "After" is {@link CompanyService#findAll()}, a
+ * read-only transaction that maps to DTOs, followed by serialization. Reports bytes allocated by the calling
+ * thread and median latency per call to {@code transactions.properties} next to the load test report.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("loadtest")
+class TransactionModeBenchmark {
+
+    @Autowired
+    private CompanyJpaRepository companyJpaRepository;
+
+    @Autowired
+    private EmployeeJpaRepository employeeJpaRepository;
+
+    @Autowired
+    private CompanyService companyService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void should_report_allocation_and_latency_per_transaction_mode() throws Exception {
+        int companyCount = Integer.getInteger("loadtest.transactions.companies", 50);
+        int employeesPerCompany = Integer.getInteger("loadtest.transactions.employeesPerCompany", 40);
+        int iterations = Integer.getInteger("loadtest.transactions.iterations", 300);
+        seed(companyCount, employeesPerCompany);
+        TransactionTemplate readWrite = new TransactionTemplate(transactionManager);
+
+        byte[] before = readWrite.execute(status -> write(companyJpaRepository.findAll()));
+        byte[] after = write(companyService.findAll());
+        assertEquals(objectMapper.readTree(before), objectMapper.readTree(after));
+
+        Properties results = new Properties();
+        measure(results, "before", iterations, () -> readWrite.execute(status -> write(companyJpaRepository.findAll())));
+        measure(results, "after", iterations, () -> write(companyService.findAll()));
+
+        Path report = Paths.get(System.getProperty("loadtest.report", "build/reports/loadtest/results.properties"))
+                .resolveSibling("transactions.properties");
+        Files.createDirectories(report.toAbsolutePath().getParent());
+        try (Writer writer = Files.newBufferedWriter(report)) {
+            results.store(writer, "GET /companies with " + companyCount + " companies x " + employeesPerCompany + " employees");
+        }
+        System.out.println(results);
+    }
+
+    private void measure(Properties results, String name, int iterations, Callable<?> call) throws Exception {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        for (int i = 0; i < iterations; i++) {
+            call.call();
+        }
+        long[] nanos = new long[iterations];
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < iterations; i++) {
+            long start = System.nanoTime();
+            call.call();
+            nanos[i] = System.nanoTime() - start;
+        }
+        long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+        Arrays.sort(nanos);
+        results.setProperty(name + ".allocatedBytesPerCall", String.valueOf(allocated / iterations));
+        results.setProperty(name + ".median.us", String.format(Locale.ROOT, "%.1f", nanos[iterations / 2] / 1000.0));
+    }
+
+    private byte[] write(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (Exception exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    private void seed(int companyCount, int employeesPerCompany) {
+        employeeJpaRepository.deleteAll();
+        companyJpaRepository.deleteAll();
+        List<Employee> employees = new ArrayList<>(companyCount * employeesPerCompany);
+        for (int i = 0; i < companyCount; i++) {
+            Company company = companyJpaRepository.save(new Company(null, "Company" + i));
+            for (int j = 0; j < employeesPerCompany; j++) {
+                Employee employee = new Employee(null, "Employee" + j, 18 + j % 48, j % 2 == 0 ? "Female" : "Male", 5000 + j);
+                employee.setCompanyId(company.getId());
+                employees.add(employee);
+            }
+        }
+        employeeJpaRepository.saveAll(employees);
+    }
+}
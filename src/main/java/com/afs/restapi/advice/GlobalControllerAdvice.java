@@ -1,7 +1,10 @@
 package com.afs.restapi.advice;
 
+import com.afs.restapi.exception.ArchivedEmployeeNotFoundException;
 import com.afs.restapi.exception.CompanyNotFoundException;
 import com.afs.restapi.exception.EmployeeNotFoundException;
+import com.afs.restapi.exception.ImportJobNotFoundException;
+import com.afs.restapi.exception.ReadOnlyRepositoryException;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
@@ -11,8 +14,15 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 public class GlobalControllerAdvice {
 
     @ResponseStatus(HttpStatus.NOT_FOUND)
-    @ExceptionHandler({EmployeeNotFoundException.class, CompanyNotFoundException.class})
+    @ExceptionHandler({EmployeeNotFoundException.class, CompanyNotFoundException.class, ImportJobNotFoundException.class,
+            ArchivedEmployeeNotFoundException.class})
     public ErrorResponse handleNotFoundException(Exception exception) {
         return new ErrorResponse(HttpStatus.NOT_FOUND.value(), exception.getMessage());
     }
+
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    @ExceptionHandler(ReadOnlyRepositoryException.class)
+    public ErrorResponse handleReadOnlyRepositoryException(Exception exception) {
+        return new ErrorResponse(HttpStatus.SERVICE_UNAVAILABLE.value(), exception.getMessage());
+    }
 }
@@ -0,0 +1,78 @@
+package com.afs.restapi.analytics;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Exact employee counts per year of age. Ages outside 0-{@value #MAX_AGE} are clamped to the nearest end.
+ * Not thread-safe.
+ */
+public class AgeHistogram {
+
+    public static final int MAX_AGE = 120;
+
+    private final long[] counts = new long[MAX_AGE + 1];
+
+    public void add(int age) {
+        counts[clamp(age)]++;
+    }
+
+    public void remove(int age) {
+        counts[clamp(age)]--;
+    }
+
+    public void merge(AgeHistogram other) {
+        for (int age = 0; age <= MAX_AGE; age++) {
+            counts[age] += other.counts[age];
+        }
+    }
+
+    /** Counts grouped into bins of {@code width} years, leaving out the empty bins at either end. */
+    public List<Bin> bins(int width) {
+        List<Bin> bins = new ArrayList<>();
+        for (int from = 0; from <= MAX_AGE; from += width) {
+            long binCount = 0;
+            for (int age = from; age < from + width && age <= MAX_AGE; age++) {
+                binCount += counts[age];
+            }
+            bins.add(new Bin(from, Math.min(from + width - 1, MAX_AGE), binCount));
+        }
+        int first = 0;
+        int last = bins.size() - 1;
+        while (first <= last && bins.get(first).getCount() == 0) {
+            first++;
+        }
+        while (last >= first && bins.get(last).getCount() == 0) {
+            last--;
+        }
+        return new ArrayList<>(bins.subList(first, last + 1));
+    }
+
+    private static int clamp(int age) {
+        return Math.max(0, Math.min(MAX_AGE, age));
+    }
+
+    public static class Bin {
+        private final int from;
+        private final int to;
+        private final long count;
+
+        public Bin(int from, int to, long count) {
+            this.from = from;
+            this.to = to;
+            this.count = count;
+        }
+
+        public int getFrom() {
+            return from;
+        }
+
+        public int getTo() {
+            return to;
+        }
+
+        public long getCount() {
+            return count;
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.afs.restapi.analytics;
+
+import com.afs.restapi.service.dto.EmployeeAnalyticsResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Salary quantiles and age histograms per company, kept in memory. One streaming scan of {@code employee} builds
+ * them at startup; after that {@code EmployeeService}, {@code CompanyService} and the bulk import report each
+ * committed change, which costs one bucket update. Org-wide figures merge the per-company statistics on request.
+ * <p>
+ * Error bounds: salary quantiles are within {@code analytics.salary-relative-accuracy} (default 1%) of the true
+ * salary at the lower nearest rank, per company and org-wide alike, because merging only adds bucket counts.
+ * Counts and age histograms are exact. A rebuild scans one repeatable-read snapshot and then replays the changes
+ * reported since it began, so writes committed during the scan are kept; only a write that commits just before
+ * the snapshot but reports just after the rebuild began is counted twice. Rows written outside the application
+ * are not seen; {@code POST /analytics/rebuild} rescans.
+ */
+@Component
+public class EmployeeAnalytics {
+
+    private static final int FETCH_SIZE = 10_000;
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate snapshot;
+    private final double salaryRelativeAccuracy;
+    private final int ageBinWidth;
+    private final Object rebuildLock = new Object();
+    private Map<Long, EmployeeStatistics> companies = new HashMap<>();
+    private EmployeeStatistics unassigned;
+    // changes committed while a rebuild scans; null when no rebuild runs
+    private List<Runnable> changesDuringRebuild;
+
+    public EmployeeAnalytics(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                             @Value("${analytics.salary-relative-accuracy:0.01}") double salaryRelativeAccuracy,
+                             @Value("${analytics.age-bin-width:5}") int ageBinWidth) {
+        this.jdbcTemplate = jdbcTemplate;
+        // not read-only, so a routing data source keeps the scan on the primary
+        this.snapshot = new TransactionTemplate(transactionManager);
+        this.snapshot.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.salaryRelativeAccuracy = salaryRelativeAccuracy;
+        this.ageBinWidth = ageBinWidth;
+        this.unassigned = new EmployeeStatistics(salaryRelativeAccuracy);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            synchronized (this) {
+                changesDuringRebuild = new ArrayList<>();
+            }
+            try {
+                Map<Long, EmployeeStatistics> scanned = new HashMap<>();
+                EmployeeStatistics scannedUnassigned = new EmployeeStatistics(salaryRelativeAccuracy);
+                JdbcTemplate streaming = new JdbcTemplate(jdbcTemplate.getDataSource());
+                streaming.setFetchSize(FETCH_SIZE);
+                snapshot.executeWithoutResult(status -> streaming.query(
+                        "SELECT company_id, age, salary FROM employee WHERE deleted_at IS NULL", resultSet -> {
+                            Long companyId = resultSet.getObject("company_id", Long.class);
+                            EmployeeStatistics statistics = companyId == null ? scannedUnassigned
+                                    : scanned.computeIfAbsent(companyId, id -> new EmployeeStatistics(salaryRelativeAccuracy));
+                            statistics.add(resultSet.getObject("age", Integer.class), resultSet.getObject("salary", Integer.class));
+                        }));
+                synchronized (this) {
+                    companies = scanned;
+                    unassigned = scannedUnassigned;
+                    changesDuringRebuild.forEach(Runnable::run);
+                }
+            } finally {
+                synchronized (this) {
+                    changesDuringRebuild = null;
+                }
+            }
+        }
+    }
+
+    public void recordCreated(Long companyId, Integer age, Integer salary) {
+        afterCommit(() -> statisticsOf(companyId).add(age, salary));
+    }
+
+    public void recordDeleted(Long companyId, Integer age, Integer salary) {
+        afterCommit(() -> statisticsOf(companyId).remove(age, salary));
+    }
+
+    public void recordUpdated(Long oldCompanyId, Integer oldAge, Integer oldSalary,
+                              Long companyId, Integer age, Integer salary) {
+        afterCommit(() -> {
+            statisticsOf(oldCompanyId).remove(oldAge, oldSalary);
+            statisticsOf(companyId).add(age, salary);
+        });
+    }
+
+    // orphan removal deleted every employee of the company along with it
+    public void recordCompanyDeleted(Long companyId) {
+        afterCommit(() -> companies.remove(companyId));
+    }
+
+    public synchronized EmployeeAnalyticsResponse forCompany(Long companyId) {
+        EmployeeStatistics statistics = companies.get(companyId);
+        return toResponse(statistics == null ? new EmployeeStatistics(salaryRelativeAccuracy) : statistics);
+    }
+
+    public synchronized EmployeeAnalyticsResponse orgWide() {
+        EmployeeStatistics merged = new EmployeeStatistics(salaryRelativeAccuracy);
+        merged.merge(unassigned);
+        companies.values().forEach(merged::merge);
+        return toResponse(merged);
+    }
+
+    private EmployeeAnalyticsResponse toResponse(EmployeeStatistics statistics) {
+        QuantileSketch salaries = statistics.getSalaries();
+        Map<String, Double> salaryQuantiles = new HashMap<>();
+        for (double quantile : QUANTILES) {
+            salaryQuantiles.put("p" + Math.round(quantile * 100), salaries.quantile(quantile));
+        }
+        return new EmployeeAnalyticsResponse(salaries.getCount(), salaryQuantiles, salaries.getRelativeAccuracy(),
+                statistics.getAges().bins(ageBinWidth));
+    }
+
+    private EmployeeStatistics statisticsOf(Long companyId) {
+        return companyId == null ? unassigned
+                : companies.computeIfAbsent(companyId, id -> new EmployeeStatistics(salaryRelativeAccuracy));
+    }
+
+    // a rolled back write must not move the figures, so changes apply once the transaction has committed
+    private void afterCommit(Runnable change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(change);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply(change);
+            }
+        });
+    }
+
+    // a change also made during a rebuild is replayed onto the scanned figures, which then replace these
+    private synchronized void apply(Runnable change) {
+        change.run();
+        if (changesDuringRebuild != null) {
+            changesDuringRebuild.add(change);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.afs.restapi.analytics;
+
+/**
+ * The salary sketch and age histogram of one group of employees. Employees without a salary or age are counted
+ * in neither. Not thread-safe.
+ */
+public class EmployeeStatistics {
+
+    private final QuantileSketch salaries;
+    private final AgeHistogram ages = new AgeHistogram();
+
+    public EmployeeStatistics(double salaryRelativeAccuracy) {
+        this.salaries = new QuantileSketch(salaryRelativeAccuracy);
+    }
+
+    public QuantileSketch getSalaries() {
+        return salaries;
+    }
+
+    public AgeHistogram getAges() {
+        return ages;
+    }
+
+    public void add(Integer age, Integer salary) {
+        if (age != null) {
+            ages.add(age);
+        }
+        if (salary != null) {
+            salaries.add(salary);
+        }
+    }
+
+    public void remove(Integer age, Integer salary) {
+        if (age != null) {
+            ages.remove(age);
+        }
+        if (salary != null) {
+            salaries.remove(salary);
+        }
+    }
+
+    public void merge(EmployeeStatistics other) {
+        salaries.merge(other.salaries);
+        ages.merge(other.ages);
+    }
+}
@@ -0,0 +1,117 @@
+package com.afs.restapi.analytics;
+
+import java.util.Arrays;
+
+/**
+ * A DDSketch-style quantile sketch: positive values are counted in logarithmic buckets whose bounds grow by
+ * {@code gamma = (1 + a) / (1 - a)}, where {@code a} is the relative accuracy. Any quantile it returns is within
+ * {@code a * v} of the true value {@code v} at that rank. Values are added and removed by adjusting a bucket count,
+ * so removals are exact, and two sketches with the same accuracy merge by adding counts, so a merged sketch
+ * has the same bound as its parts. Values of zero or below share one bucket and are reported as 0.
+ * <p>
+ * Memory is one {@code long} per bucket between the smallest and largest value seen: about
+ * {@code ln(max / min) / ln(gamma)} buckets, e.g. 806 for salaries from 1 to 10,000,000 at 1%.
+ * Not thread-safe.
+ */
+public class QuantileSketch {
+
+    private final double relativeAccuracy;
+    private final double gamma;
+    private final double logGamma;
+    private long[] counts = new long[0];
+    private int minIndex;
+    private long zeroCount;
+    private long count;
+
+    public QuantileSketch(double relativeAccuracy) {
+        if (relativeAccuracy <= 0 || relativeAccuracy >= 1) {
+            throw new IllegalArgumentException("relative accuracy must be between 0 and 1");
+        }
+        this.relativeAccuracy = relativeAccuracy;
+        this.gamma = (1 + relativeAccuracy) / (1 - relativeAccuracy);
+        this.logGamma = Math.log(gamma);
+    }
+
+    public double getRelativeAccuracy() {
+        return relativeAccuracy;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void add(double value) {
+        adjust(value, 1);
+    }
+
+    /** Removes one occurrence of a value that was added before. */
+    public void remove(double value) {
+        adjust(value, -1);
+    }
+
+    public void merge(QuantileSketch other) {
+        if (other.relativeAccuracy != relativeAccuracy) {
+            throw new IllegalArgumentException("only sketches with the same relative accuracy can be merged");
+        }
+        zeroCount += other.zeroCount;
+        count += other.count;
+        for (int i = 0; i < other.counts.length; i++) {
+            if (other.counts[i] != 0) {
+                bucket(other.minIndex + i);
+                counts[other.minIndex + i - minIndex] += other.counts[i];
+            }
+        }
+    }
+
+    /**
+     * Returns the estimated value at quantile {@code q} in [0, 1], using the lower nearest rank
+     * {@code floor(q * (count - 1))}, or null when the sketch is empty.
+     */
+    public Double quantile(double q) {
+        if (q < 0 || q > 1) {
+            throw new IllegalArgumentException("quantile must be between 0 and 1");
+        }
+        if (count == 0) {
+            return null;
+        }
+        long rank = (long) Math.floor(q * (count - 1));
+        long seen = zeroCount;
+        if (rank < seen) {
+            return 0.0;
+        }
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (rank < seen) {
+                return 2 * Math.pow(gamma, minIndex + i) / (gamma + 1);
+            }
+        }
+        // unreachable while the counts add up to count
+        return 2 * Math.pow(gamma, minIndex + counts.length - 1) / (gamma + 1);
+    }
+
+    private void adjust(double value, long delta) {
+        if (value <= 0) {
+            zeroCount += delta;
+        } else {
+            int index = (int) Math.ceil(Math.log(value) / logGamma);
+            bucket(index);
+            counts[index - minIndex] += delta;
+        }
+        count += delta;
+    }
+
+    // grows the dense bucket array so that it covers the index
+    private void bucket(int index) {
+        if (counts.length == 0) {
+            counts = new long[1];
+            minIndex = index;
+        } else if (index < minIndex) {
+            long[] grown = new long[counts.length + (minIndex - index)];
+            System.arraycopy(counts, 0, grown, minIndex - index, counts.length);
+            counts = grown;
+            minIndex = index;
+        } else if (index >= minIndex + counts.length) {
+            counts = Arrays.copyOf(counts, index - minIndex + 1);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.afs.restapi.archive;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Periodically archives employees that have been soft-deleted for longer than the retention period.
+ */
+public class EmployeeArchiveJob {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeArchiveJob.class);
+
+    private final EmployeeArchiver employeeArchiver;
+    private final Duration retention;
+    private final int batchSize;
+
+    public EmployeeArchiveJob(EmployeeArchiver employeeArchiver, Duration retention, int batchSize) {
+        this.employeeArchiver = employeeArchiver;
+        this.retention = retention;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(initialDelayString = "${employee-archive.interval:PT10M}", fixedDelayString = "${employee-archive.interval:PT10M}")
+    public void run() {
+        try {
+            int archived = employeeArchiver.archiveDeletedBefore(Instant.now().minus(retention), batchSize);
+            if (archived > 0) {
+                log.info("Archived {} employees deleted more than {} ago", archived, retention);
+            }
+        } catch (RuntimeException exception) {
+            // batches already committed stay archived; the rest is picked up on the next run
+            log.warn("Employee archiving failed", exception);
+        }
+    }
+}
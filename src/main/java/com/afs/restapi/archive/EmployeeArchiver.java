@@ -0,0 +1,75 @@
+package com.afs.restapi.archive;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Moves soft-deleted employees from the hot {@code employee} table into {@code employee_archive}, so the table
+ * every list and page query reads holds only current employees. Each batch copies and deletes the same ids in
+ * one transaction; the archive's primary key makes a batch that raced another archiver fail and be retried
+ * rather than copied twice.
+ */
+@Component
+public class EmployeeArchiver {
+
+    private static final String SELECT_AGED = "SELECT id FROM employee WHERE deleted_at < ? ORDER BY id LIMIT ?";
+    private static final String SELECT_COMPANY = "SELECT id FROM employee WHERE company_id = ? AND deleted_at IS NOT NULL";
+    private static final String COPY = "INSERT INTO employee_archive " +
+            "(id, name, age, gender_code, salary, company_id, deleted_at, archived_at) " +
+            "SELECT id, name, age, gender_code, salary, company_id, deleted_at, :archivedAt FROM employee " +
+            "WHERE deleted_at IS NOT NULL AND id IN (:ids)";
+    private static final String DELETE = "DELETE FROM employee WHERE deleted_at IS NOT NULL AND id IN (:ids)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public EmployeeArchiver(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Archives every employee soft-deleted before {@code cutoff}, {@code batchSize} rows per transaction, and
+     * returns how many were moved.
+     */
+    public int archiveDeletedBefore(Instant cutoff, int batchSize) {
+        int archived = 0;
+        int moved;
+        do {
+            moved = transactionTemplate.execute(status -> move(jdbcTemplate.queryForList(SELECT_AGED, Long.class,
+                    Timestamp.from(cutoff), batchSize)));
+            archived += moved;
+        } while (moved == batchSize);
+        return archived;
+    }
+
+    /**
+     * Archives the soft-deleted employees of a company right away, in the caller's transaction, so the company
+     * row they reference can be deleted.
+     */
+    @Transactional
+    public int archiveDeletedOfCompany(Long companyId) {
+        return move(jdbcTemplate.queryForList(SELECT_COMPANY, Long.class, companyId));
+    }
+
+    private int move(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        MapSqlParameterSource parameters = new MapSqlParameterSource("ids", ids)
+                .addValue("archivedAt", Timestamp.from(Instant.now()));
+        namedJdbcTemplate.update(COPY, parameters);
+        return namedJdbcTemplate.update(DELETE, parameters);
+    }
+}
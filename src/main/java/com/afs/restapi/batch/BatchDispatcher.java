@@ -0,0 +1,319 @@
+package com.afs.restapi.batch;
+
+import com.afs.restapi.advice.ErrorResponse;
+import com.afs.restapi.controller.CompanyController;
+import com.afs.restapi.controller.EmployeeController;
+import com.afs.restapi.datasource.ReadYourWrites;
+import com.afs.restapi.entity.Company;
+import com.afs.restapi.entity.Employee;
+import com.afs.restapi.exception.BatchRequestException;
+import com.afs.restapi.service.dto.SalaryIncrementRequest;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.RawValue;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.servlet.mvc.condition.NameValueExpression;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.util.UriComponents;
+import org.springframework.web.util.UriComponentsBuilder;
+import org.springframework.web.util.UriUtils;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Runs the sub-requests of a {@code POST /batch} against the same controller methods the HTTP routes use.
+ * Consecutive {@code GET}s run in parallel; any other method is a barrier that starts once everything before
+ * it has finished and must finish before anything after it starts, so a batch reads its own writes.
+ * Work runs on a fixed pool with a bounded queue; when the queue is full the submitting thread runs the
+ * sub-request itself, which slows the caller down instead of failing it.
+ * <p>
+ * Every mapping of the routed controllers must have a route here; the dispatcher refuses to start otherwise, so
+ * a new endpoint cannot silently answer 404 inside a batch.
+ */
+@Component
+public class BatchDispatcher implements DisposableBean {
+
+    private final List<Route> routes = new ArrayList<>();
+    private final ObjectMapper objectMapper;
+    private final ThreadPoolExecutor executor;
+    private final int maxOperations;
+
+    public BatchDispatcher(EmployeeController employeeController, CompanyController companyController, ObjectMapper objectMapper,
+                           RequestMappingHandlerMapping requestMappingHandlerMapping,
+                           @Value("${batch.parallelism:8}") int parallelism,
+                           @Value("${batch.max-operations:50}") int maxOperations) {
+        this.objectMapper = objectMapper;
+        this.maxOperations = maxOperations;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(parallelism, parallelism, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(parallelism * 4), runnable -> {
+                    Thread thread = new Thread(runnable, "batch-" + threadNumber.getAndIncrement());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.CallerRunsPolicy());
+
+        route(HttpMethod.GET, "/employees", HttpStatus.OK, call -> employeeController.getEmployeesByGender(
+                call.param("gender"), MediaType.APPLICATION_JSON_VALUE, null), "gender");
+        route(HttpMethod.GET, "/employees", HttpStatus.OK, call -> employeeController.findEmployeesByPage(
+                call.intParam("pageNumber"), call.intParam("pageSize")), "pageNumber", "pageSize");
+        route(HttpMethod.GET, "/employees", HttpStatus.OK, call -> employeeController.getAllEmployees());
+        route(HttpMethod.GET, "/employees/search", HttpStatus.OK, call -> employeeController.searchEmployeesByName(
+                call.requiredParam("name"), call.longParam("companyId"), call.hasParam("limit") ? call.intParam("limit") : 10));
+        route(HttpMethod.GET, "/employees/{id}", HttpStatus.OK, call -> employeeController.getEmployeeById(call.id()));
+        route(HttpMethod.POST, "/employees", HttpStatus.CREATED, call -> employeeController.createEmployee(call.body(Employee.class)));
+        route(HttpMethod.PUT, "/employees/{id}", HttpStatus.NO_CONTENT, call -> {
+            employeeController.updateEmployee(call.id(), call.body(Employee.class));
+            return null;
+        });
+        route(HttpMethod.POST, "/employees/{id}/salary:increment", HttpStatus.OK, call -> employeeController.incrementSalary(
+                call.id(), call.body(SalaryIncrementRequest.class)));
+        route(HttpMethod.DELETE, "/employees/{id}", HttpStatus.NO_CONTENT, call -> {
+            employeeController.deleteEmployee(call.id());
+            return null;
+        });
+        route(HttpMethod.GET, "/companies", HttpStatus.OK, call -> companyController.getCompaniesByPage(
+                call.intParam("pageNumber"), call.intParam("pageSize")), "pageNumber", "pageSize");
+        route(HttpMethod.GET, "/companies", HttpStatus.OK, call -> companyController.getAllCompanies());
+        route(HttpMethod.GET, "/companies/{id}", HttpStatus.OK, call -> companyController.getCompanyById(call.id()));
+        route(HttpMethod.GET, "/companies/{id}/employees", HttpStatus.OK, call -> companyController.getEmployeesByCompanyId(
+                call.id(), MediaType.APPLICATION_JSON_VALUE, null));
+        route(HttpMethod.POST, "/companies", HttpStatus.CREATED, call -> companyController.createCompany(call.body(Company.class)));
+        route(HttpMethod.PUT, "/companies/{id}", HttpStatus.NO_CONTENT, call -> {
+            companyController.updateCompany(call.id(), call.body(Company.class));
+            return null;
+        });
+        route(HttpMethod.DELETE, "/companies/{id}", HttpStatus.NO_CONTENT, call -> {
+            companyController.deleteCompany(call.id());
+            return null;
+        });
+        // literal segments win over variables, as in the handler mapping, then routes that need more parameters
+        routes.sort(Comparator.comparing((Route route) -> route.pattern, PathPattern.SPECIFICITY_COMPARATOR)
+                .thenComparing(route -> -route.requiredParams.size()));
+        checkEveryMappingIsRouted(requestMappingHandlerMapping, EmployeeController.class, CompanyController.class);
+    }
+
+    /**
+     * Returns one result per operation, in request order. A failing sub-request is reported in its result and
+     * does not stop the others.
+     */
+    public List<BatchResult> execute(List<BatchOperation> operations) {
+        if (operations == null || operations.isEmpty()) {
+            throw new BatchRequestException("a batch needs at least one operation");
+        }
+        if (operations.size() > maxOperations) {
+            throw new BatchRequestException("a batch may hold at most " + maxOperations + " operations");
+        }
+        // workers act for the calling client, so reads after a write in the batch stay on the primary
+        ReadYourWrites.Client client = ReadYourWrites.current();
+        List<CompletableFuture<BatchResult>> results = new ArrayList<>(operations.size());
+        CompletableFuture<?> barrier = CompletableFuture.completedFuture(null);
+        List<CompletableFuture<BatchResult>> readsSinceBarrier = new ArrayList<>();
+        for (BatchOperation operation : operations) {
+            CompletableFuture<BatchResult> result;
+            if (HttpMethod.GET.matches(operation.getMethod())) {
+                result = barrier.thenApplyAsync(ignored -> ReadYourWrites.callAs(client, () -> run(operation)), executor);
+                readsSinceBarrier.add(result);
+            } else {
+                readsSinceBarrier.add(barrier.thenApply(ignored -> null));
+                result = CompletableFuture.allOf(readsSinceBarrier.toArray(new CompletableFuture[0]))
+                        .thenApplyAsync(ignored -> ReadYourWrites.callAs(client, () -> run(operation)), executor);
+                barrier = result;
+                readsSinceBarrier.clear();
+            }
+            results.add(result);
+        }
+        return results.stream().map(CompletableFuture::join).collect(Collectors.toList());
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private BatchResult run(BatchOperation operation) {
+        try {
+            if (operation.getPath() == null || !operation.getPath().startsWith("/")) {
+                throw new BatchRequestException("path must start with /");
+            }
+            UriComponents uri = UriComponentsBuilder.fromUriString(operation.getPath()).build();
+            PathContainer path = PathContainer.parsePath(uri.getPath());
+            for (Route route : routes) {
+                PathPattern.PathMatchInfo match = route.matches(operation.getMethod(), path, uri.getQueryParams());
+                if (match != null) {
+                    Object body = route.handler.handle(new Call(match.getUriVariables(), uri.getQueryParams(), operation.getBody()));
+                    return toResult(operation.getId(), route.status, body);
+                }
+            }
+            return new BatchResult(operation.getId(), HttpStatus.NOT_FOUND.value(), new ErrorResponse(HttpStatus.NOT_FOUND.value(),
+                    "no route for " + operation.getMethod() + " " + operation.getPath()));
+        } catch (Exception exception) {
+            HttpStatus status = statusOf(exception);
+            return new BatchResult(operation.getId(), status.value(), new ErrorResponse(status.value(), exception.getMessage()));
+        }
+    }
+
+    // bodies are written to JSON here, on the worker; cached and streamed routes already hand back JSON, embedded as is
+    private BatchResult toResult(String id, HttpStatus status, Object body) throws IOException {
+        if (body instanceof ResponseEntity) {
+            ResponseEntity<?> entity = (ResponseEntity<?>) body;
+            Object content = entity.getBody();
+            if (content instanceof StreamingResponseBody) {
+                ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+                ((StreamingResponseBody) content).writeTo(outputStream);
+                content = outputStream.toByteArray();
+            }
+            if (content instanceof byte[]) {
+                content = new RawValue(new String((byte[]) content, StandardCharsets.UTF_8));
+            }
+            return new BatchResult(id, entity.getStatusCodeValue(), content);
+        }
+        return new BatchResult(id, status.value(), body == null ? null : new RawValue(objectMapper.writeValueAsString(body)));
+    }
+
+    private static HttpStatus statusOf(Exception exception) {
+        ResponseStatus responseStatus = AnnotatedElementUtils.findMergedAnnotation(exception.getClass(), ResponseStatus.class);
+        if (responseStatus != null) {
+            return responseStatus.code();
+        }
+        if (exception instanceof NumberFormatException || exception instanceof JsonProcessingException
+                || exception instanceof IllegalArgumentException) {
+            return HttpStatus.BAD_REQUEST;
+        }
+        return HttpStatus.INTERNAL_SERVER_ERROR;
+    }
+
+    private void checkEveryMappingIsRouted(RequestMappingHandlerMapping handlerMapping, Class<?>... controllers) {
+        List<String> unrouted = new ArrayList<>();
+        handlerMapping.getHandlerMethods().forEach((mapping, handlerMethod) -> {
+            if (!Arrays.asList(controllers).contains(ClassUtils.getUserClass(handlerMethod.getBeanType()))) {
+                return;
+            }
+            Set<String> params = mapping.getParamsCondition().getExpressions().stream()
+                    .map(NameValueExpression::getName)
+                    .collect(Collectors.toSet());
+            for (RequestMethod method : mapping.getMethodsCondition().getMethods()) {
+                for (String pattern : mapping.getPatternValues()) {
+                    if (routes.stream().noneMatch(route -> route.serves(method.name(), pattern, params))) {
+                        unrouted.add(method + " " + pattern + (params.isEmpty() ? "" : " " + params));
+                    }
+                }
+            }
+        });
+        if (!unrouted.isEmpty()) {
+            throw new IllegalStateException("batch has no route for " + unrouted);
+        }
+    }
+
+    private void route(HttpMethod method, String pattern, HttpStatus status, Handler handler, String... requiredParams) {
+        routes.add(new Route(method, PathPatternParser.defaultInstance.parse(pattern), Arrays.asList(requiredParams), status, handler));
+    }
+
+    private interface Handler {
+        Object handle(Call call) throws Exception;
+    }
+
+    private static final class Route {
+        private final HttpMethod method;
+        private final PathPattern pattern;
+        private final List<String> requiredParams;
+        private final HttpStatus status;
+        private final Handler handler;
+
+        private Route(HttpMethod method, PathPattern pattern, List<String> requiredParams, HttpStatus status, Handler handler) {
+            this.method = method;
+            this.pattern = pattern;
+            this.requiredParams = requiredParams;
+            this.status = status;
+            this.handler = handler;
+        }
+
+        private PathPattern.PathMatchInfo matches(String method, PathContainer path, MultiValueMap<String, String> params) {
+            if (!this.method.matches(method) || !params.keySet().containsAll(requiredParams)) {
+                return null;
+            }
+            return pattern.matchAndExtract(path);
+        }
+
+        private boolean serves(String method, String pattern, Set<String> params) {
+            return this.method.matches(method) && this.pattern.getPatternString().equals(pattern)
+                    && new HashSet<>(requiredParams).equals(params);
+        }
+    }
+
+    private final class Call {
+        private final Map<String, String> variables;
+        private final MultiValueMap<String, String> params;
+        private final JsonNode body;
+
+        private Call(Map<String, String> variables, MultiValueMap<String, String> params, JsonNode body) {
+            this.variables = variables;
+            this.params = params;
+            this.body = body;
+        }
+
+        private Long id() {
+            return Long.valueOf(variables.get("id"));
+        }
+
+        private boolean hasParam(String name) {
+            return params.getFirst(name) != null;
+        }
+
+        private String param(String name) {
+            return hasParam(name) ? UriUtils.decode(params.getFirst(name), StandardCharsets.UTF_8) : null;
+        }
+
+        private String requiredParam(String name) {
+            if (!hasParam(name)) {
+                throw new BatchRequestException(name + " is required");
+            }
+            return param(name);
+        }
+
+        private Integer intParam(String name) {
+            return Integer.valueOf(param(name));
+        }
+
+        private Long longParam(String name) {
+            return hasParam(name) ? Long.valueOf(param(name)) : null;
+        }
+
+        private <T> T body(Class<T> type) throws JsonProcessingException {
+            if (body == null) {
+                throw new BatchRequestException("a " + type.getSimpleName().toLowerCase() + " body is required");
+            }
+            return objectMapper.treeToValue(body, type);
+        }
+    }
+}
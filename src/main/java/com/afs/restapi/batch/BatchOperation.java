@@ -0,0 +1,57 @@
+package com.afs.restapi.batch;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * One sub-request of a {@code POST /batch}: an HTTP method, a path with optional query string, and for
+ * {@code POST}/{@code PUT} the JSON body the route would normally receive. {@code id} is echoed back so
+ * callers can match results without relying on their position.
+ */
+public class BatchOperation {
+    private String id;
+    private String method;
+    private String path;
+    private JsonNode body;
+
+    public BatchOperation() {
+    }
+
+    public BatchOperation(String id, String method, String path, JsonNode body) {
+        this.id = id;
+        this.method = method;
+        this.path = path;
+        this.body = body;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public void setMethod(String method) {
+        this.method = method;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public void setPath(String path) {
+        this.path = path;
+    }
+
+    public JsonNode getBody() {
+        return body;
+    }
+
+    public void setBody(JsonNode body) {
+        this.body = body;
+    }
+}
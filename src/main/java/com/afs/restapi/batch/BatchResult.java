@@ -0,0 +1,28 @@
+package com.afs.restapi.batch;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchResult {
+    private final String id;
+    private final int status;
+    private final Object body;
+
+    public BatchResult(String id, int status, Object body) {
+        this.id = id;
+        this.status = status;
+        this.body = body;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public Object getBody() {
+        return body;
+    }
+}
@@ -0,0 +1,80 @@
+package com.afs.restapi.bulkimport;
+
+/**
+ * A block of parsed CSV rows kept in parallel arrays, so a batch of thousands of rows costs a handful of
+ * allocations plus one {@code String} per name. {@code rejectReasons[i]} is null for rows that may be inserted.
+ */
+public class EmployeeBatch {
+
+    final String[] names;
+    final int[] ages;
+    final String[] genders;
+    final int[] salaries;
+    final long[] companyIds;
+    final boolean[] hasCompanyId;
+    final long[] lineNumbers;
+    final String[] rejectReasons;
+    int size;
+    long endOffset;
+    long endLineNumber;
+
+    public EmployeeBatch(int capacity) {
+        names = new String[capacity];
+        ages = new int[capacity];
+        genders = new String[capacity];
+        salaries = new int[capacity];
+        companyIds = new long[capacity];
+        hasCompanyId = new boolean[capacity];
+        lineNumbers = new long[capacity];
+        rejectReasons = new String[capacity];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isFull() {
+        return size == names.length;
+    }
+
+    public String getName(int row) {
+        return names[row];
+    }
+
+    public int getAge(int row) {
+        return ages[row];
+    }
+
+    public String getGender(int row) {
+        return genders[row];
+    }
+
+    public int getSalary(int row) {
+        return salaries[row];
+    }
+
+    public Long getCompanyId(int row) {
+        return hasCompanyId[row] ? companyIds[row] : null;
+    }
+
+    public long getLineNumber(int row) {
+        return lineNumbers[row];
+    }
+
+    public String getRejectReason(int row) {
+        return rejectReasons[row];
+    }
+
+    public void reject(int row, String reason) {
+        rejectReasons[row] = "line " + lineNumbers[row] + ": " + reason;
+    }
+
+    /** Byte offset just past the last row, i.e. where a resumed import continues. */
+    public long getEndOffset() {
+        return endOffset;
+    }
+
+    public long getEndLineNumber() {
+        return endLineNumber;
+    }
+}
@@ -0,0 +1,238 @@
+package com.afs.restapi.bulkimport;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads {@code name,age,gender,salary,companyId} rows from a file mapped into memory one window at a time.
+ * Numbers are parsed straight from the bytes and repeated gender values come from a small dictionary, so the
+ * only string created per row is the name. Quoted fields with {@code ""} escapes are supported.
+ */
+public class MappedCsvReader implements Closeable {
+
+    public static final int DEFAULT_WINDOW_SIZE = 64 * 1024 * 1024;
+
+    private static final int FIELD_COUNT = 5;
+    private static final int MAX_DICTIONARY_SIZE = 64;
+
+    private final FileChannel channel;
+    private final long fileSize;
+    private final int windowSize;
+    private final List<byte[]> dictionaryKeys = new ArrayList<>();
+    private final List<String> dictionaryValues = new ArrayList<>();
+    private final int[] fieldStarts = new int[FIELD_COUNT];
+    private final int[] fieldEnds = new int[FIELD_COUNT];
+    private MappedByteBuffer window;
+    private long windowStart;
+    private long position;
+    private long lineNumber;
+    private byte[] line = new byte[1024];
+    private int lineLength;
+
+    /**
+     * Opens the file at a checkpoint. Offset 0 means a fresh import, and the header line is skipped.
+     */
+    public MappedCsvReader(Path path, long startOffset, long startLineNumber, int windowSize) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.fileSize = channel.size();
+        this.windowSize = windowSize;
+        this.position = startOffset;
+        this.lineNumber = startLineNumber;
+        if (startOffset == 0) {
+            readLine();
+        }
+    }
+
+    public long getFileSize() {
+        return fileSize;
+    }
+
+    /**
+     * Refills the batch with up to its capacity of rows and returns false once the file is exhausted.
+     */
+    public boolean fill(EmployeeBatch batch) throws IOException {
+        batch.size = 0;
+        while (!batch.isFull() && readLine()) {
+            if (lineLength == 0) {
+                continue;
+            }
+            int row = batch.size++;
+            batch.lineNumbers[row] = lineNumber;
+            batch.rejectReasons[row] = null;
+            parseRow(batch, row);
+        }
+        batch.endOffset = position;
+        batch.endLineNumber = lineNumber;
+        return batch.size > 0;
+    }
+
+    @Override
+    public void close() throws IOException {
+        window = null;
+        channel.close();
+    }
+
+    private boolean readLine() throws IOException {
+        if (position >= fileSize) {
+            return false;
+        }
+        lineLength = 0;
+        while (position < fileSize) {
+            if (window == null || position >= windowStart + window.limit()) {
+                map(position);
+            }
+            byte b = window.get((int) (position - windowStart));
+            position++;
+            if (b == '\n') {
+                break;
+            }
+            if (lineLength == line.length) {
+                byte[] grown = new byte[line.length * 2];
+                System.arraycopy(line, 0, grown, 0, lineLength);
+                line = grown;
+            }
+            line[lineLength++] = b;
+        }
+        if (lineLength > 0 && line[lineLength - 1] == '\r') {
+            lineLength--;
+        }
+        lineNumber++;
+        return true;
+    }
+
+    private void map(long offset) throws IOException {
+        windowStart = offset;
+        window = channel.map(FileChannel.MapMode.READ_ONLY, offset, Math.min(windowSize, fileSize - offset));
+    }
+
+    private void parseRow(EmployeeBatch batch, int row) {
+        int fields = splitFields();
+        if (fields != FIELD_COUNT) {
+            batch.reject(row, "expected " + FIELD_COUNT + " fields but found " + fields);
+            return;
+        }
+        batch.names[row] = text(0);
+        batch.genders[row] = dictionaryText(2);
+        long age = number(1);
+        long salary = number(3);
+        if (age == Long.MIN_VALUE || age > Integer.MAX_VALUE || age < Integer.MIN_VALUE) {
+            batch.reject(row, "age is not a number");
+        } else if (salary == Long.MIN_VALUE || salary > Integer.MAX_VALUE || salary < Integer.MIN_VALUE) {
+            batch.reject(row, "salary is not a number");
+        } else if (batch.genders[row] == null) {
+            batch.reject(row, "gender is missing");
+        }
+        batch.ages[row] = (int) age;
+        batch.salaries[row] = (int) salary;
+        batch.hasCompanyId[row] = fieldEnds[4] > fieldStarts[4];
+        if (batch.hasCompanyId[row]) {
+            long companyId = number(4);
+            if (companyId == Long.MIN_VALUE) {
+                batch.reject(row, "companyId is not a number");
+            }
+            batch.companyIds[row] = companyId;
+        }
+    }
+
+    // records trimmed field bounds; quoted fields keep their quotes and are unescaped in text()
+    private int splitFields() {
+        int field = 0;
+        int cursor = 0;
+        while (cursor <= lineLength) {
+            if (field == FIELD_COUNT) {
+                return field + 1;
+            }
+            int start = cursor;
+            boolean quoted = false;
+            while (cursor < lineLength && (quoted || line[cursor] != ',')) {
+                if (line[cursor] == '"') {
+                    quoted = !quoted;
+                }
+                cursor++;
+            }
+            int end = cursor;
+            while (start < end && line[start] == ' ') {
+                start++;
+            }
+            while (end > start && line[end - 1] == ' ') {
+                end--;
+            }
+            fieldStarts[field] = start;
+            fieldEnds[field] = end;
+            field++;
+            cursor++;
+        }
+        return field;
+    }
+
+    private String text(int field) {
+        int start = fieldStarts[field];
+        int end = fieldEnds[field];
+        if (end - start >= 2 && line[start] == '"' && line[end - 1] == '"') {
+            return new String(line, start + 1, end - start - 2, StandardCharsets.UTF_8).replace("\"\"", "\"");
+        }
+        return new String(line, start, end - start, StandardCharsets.UTF_8);
+    }
+
+    private String dictionaryText(int field) {
+        int start = fieldStarts[field];
+        int length = fieldEnds[field] - start;
+        if (length == 0) {
+            return null;
+        }
+        for (int i = 0; i < dictionaryKeys.size(); i++) {
+            if (matches(dictionaryKeys.get(i), start, length)) {
+                return dictionaryValues.get(i);
+            }
+        }
+        String value = text(field);
+        if (dictionaryKeys.size() < MAX_DICTIONARY_SIZE) {
+            byte[] key = new byte[length];
+            System.arraycopy(line, start, key, 0, length);
+            dictionaryKeys.add(key);
+            dictionaryValues.add(value);
+        }
+        return value;
+    }
+
+    private boolean matches(byte[] key, int start, int length) {
+        if (key.length != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (key[i] != line[start + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Long.MIN_VALUE marks an empty or malformed number
+    private long number(int field) {
+        int cursor = fieldStarts[field];
+        int end = fieldEnds[field];
+        boolean negative = cursor < end && line[cursor] == '-';
+        if (negative) {
+            cursor++;
+        }
+        if (cursor == end || end - cursor > 18) {
+            return Long.MIN_VALUE;
+        }
+        long value = 0;
+        for (; cursor < end; cursor++) {
+            int digit = line[cursor] - '0';
+            if (digit < 0 || digit > 9) {
+                return Long.MIN_VALUE;
+            }
+            value = value * 10 + digit;
+        }
+        return negative ? -value : value;
+    }
+}
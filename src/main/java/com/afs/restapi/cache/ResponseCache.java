@@ -0,0 +1,199 @@
+package com.afs.restapi.cache;
+
+import com.afs.restapi.config.ResponseFormats;
+import com.afs.restapi.entity.Gender;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Keeps the serialized bytes of hot list responses so repeated reads skip both the query and Jackson.
+ * Entries are evicted least-recently-used once the total cached bytes exceed {@code response-cache.max-bytes};
+ * each negotiated format of a route is cached separately and invalidated together. Lists of at least
+ * {@code response-cache.stream-min-items} elements are not cached: they are written to the response an element at
+ * a time rather than encoded into one byte array per format.
+ */
+@Component
+public class ResponseCache {
+
+    private static final String COMPANY_EMPLOYEES_PREFIX = "companies/employees:";
+    private static final String EMPLOYEES_BY_GENDER_PREFIX = "employees/gender:";
+
+    private final ResponseFormats responseFormats;
+    private final long maxBytes;
+    private final int gzipMinBytes;
+    private final int streamMinItems;
+    private final LinkedHashMap<String, CachedResponse> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+    private long generation;
+
+    public ResponseCache(ResponseFormats responseFormats,
+                         @Value("${response-cache.max-bytes:67108864}") long maxBytes,
+                         @Value("${response-cache.gzip-min-bytes:1024}") int gzipMinBytes,
+                         @Value("${response-cache.stream-min-items:10000}") int streamMinItems) {
+        this.responseFormats = responseFormats;
+        this.maxBytes = maxBytes;
+        this.gzipMinBytes = gzipMinBytes;
+        this.streamMinItems = streamMinItems;
+    }
+
+    public static String companyEmployeesKey(Long companyId) {
+        return COMPANY_EMPLOYEES_PREFIX + companyId;
+    }
+
+    // filters match genders case-insensitively, so "female" and "Female" share one entry and one eviction
+    public static String employeesByGenderKey(String gender) {
+        Gender known = Gender.fromLabel(gender);
+        return EMPLOYEES_BY_GENDER_PREFIX + (known == null ? gender : known.getLabel());
+    }
+
+    public ResponseEntity<?> respond(String routeKey, String accept, String acceptEncoding, Supplier<?> loader) {
+        MediaType mediaType = responseFormats.negotiate(accept);
+        String key = key(routeKey, mediaType);
+        long loadGeneration;
+        synchronized (this) {
+            CachedResponse cached = entries.get(key);
+            if (cached != null) {
+                return cached.toResponseEntity(acceptEncoding);
+            }
+            loadGeneration = generation;
+        }
+        Object value = loader.get();
+        if (value instanceof Collection && ((Collection<?>) value).size() >= streamMinItems) {
+            return stream(mediaType, (Collection<?>) value, acceptEncoding);
+        }
+        return store(key, loadGeneration, mediaType, value).toResponseEntity(acceptEncoding);
+    }
+
+    public CachedResponse getOrLoad(String routeKey, MediaType mediaType, Supplier<?> loader) {
+        String key = key(routeKey, mediaType);
+        long loadGeneration;
+        synchronized (this) {
+            CachedResponse cached = entries.get(key);
+            if (cached != null) {
+                return cached;
+            }
+            loadGeneration = generation;
+        }
+        return store(key, loadGeneration, mediaType, loader.get());
+    }
+
+    public void evictCompanyEmployees(Long companyId) {
+        evictAfterCommit(() -> evict(companyEmployeesKey(companyId)));
+    }
+
+    public void evictEmployeesByGender(String gender) {
+        evictAfterCommit(() -> evict(employeesByGenderKey(gender)));
+    }
+
+    public void evictAllEmployeesByGender() {
+        evictAfterCommit(this::evictGenderEntries);
+    }
+
+    public synchronized void clear() {
+        generation++;
+        entries.clear();
+        totalBytes = 0;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long getTotalBytes() {
+        return totalBytes;
+    }
+
+    private static String key(String routeKey, MediaType mediaType) {
+        return routeKey + "#" + mediaType.getSubtype();
+    }
+
+    private CachedResponse store(String key, long loadGeneration, MediaType mediaType, Object value) {
+        CachedResponse loaded = new CachedResponse(mediaType, responseFormats.encode(mediaType, value), gzipMinBytes);
+        synchronized (this) {
+            // a write invalidated entries while we were loading, so the result may already be stale
+            if (loadGeneration == generation && loaded.size() <= maxBytes) {
+                put(key, loaded);
+            }
+        }
+        return loaded;
+    }
+
+    private ResponseEntity<StreamingResponseBody> stream(MediaType mediaType, Collection<?> values, String acceptEncoding) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(mediaType)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING);
+        if (!CachedResponse.acceptsGzip(acceptEncoding)) {
+            StreamingResponseBody body = outputStream -> responseFormats.writeArray(mediaType, values, outputStream);
+            return builder.body(body);
+        }
+        StreamingResponseBody gzippedBody = outputStream -> {
+            GZIPOutputStream gzipOutputStream = new GZIPOutputStream(outputStream);
+            responseFormats.writeArray(mediaType, values, gzipOutputStream);
+            gzipOutputStream.finish();
+        };
+        return builder.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(gzippedBody);
+    }
+
+    private void put(String key, CachedResponse response) {
+        CachedResponse previous = entries.put(key, response);
+        if (previous != null) {
+            totalBytes -= previous.size();
+        }
+        totalBytes += response.size();
+        Iterator<CachedResponse> eldest = entries.values().iterator();
+        while (totalBytes > maxBytes && eldest.hasNext()) {
+            totalBytes -= eldest.next().size();
+            eldest.remove();
+        }
+    }
+
+    // evicting before commit would let a concurrent miss load the pre-commit rows and cache them under the new
+    // generation; after commit, any load that started earlier sees the generation move and is not cached
+    private void evictAfterCommit(Runnable eviction) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            eviction.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                eviction.run();
+            }
+        });
+    }
+
+    private synchronized void evict(String routeKey) {
+        generation++;
+        for (MediaType mediaType : responseFormats.getMediaTypes()) {
+            CachedResponse removed = entries.remove(key(routeKey, mediaType));
+            if (removed != null) {
+                totalBytes -= removed.size();
+            }
+        }
+    }
+
+    private synchronized void evictGenderEntries() {
+        generation++;
+        Iterator<Map.Entry<String, CachedResponse>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, CachedResponse> entry = iterator.next();
+            if (entry.getKey().startsWith(EMPLOYEES_BY_GENDER_PREFIX)) {
+                totalBytes -= entry.getValue().size();
+                iterator.remove();
+            }
+        }
+    }
+}
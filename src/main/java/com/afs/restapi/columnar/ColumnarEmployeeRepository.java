@@ -0,0 +1,253 @@
+package com.afs.restapi.columnar;
+
+import com.afs.restapi.entity.Employee;
+import com.afs.restapi.entity.EmployeeChangeOperation;
+import com.afs.restapi.entity.Gender;
+import com.afs.restapi.exception.ReadOnlyRepositoryException;
+import com.afs.restapi.repository.EmployeeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A read-only employee repository for nodes that only serve reads. The whole table is loaded into an
+ * {@link EmployeeColumns} snapshot, then kept current by replaying the {@code employee_change} log that the
+ * writing nodes append to: each refresh reloads just the changed ids, or the whole table after a
+ * {@link EmployeeChangeOperation#RESET}. Reads never touch the database and may lag writes by one refresh interval.
+ * <p>
+ * Change ids are assigned when a writer logs a change, not when it commits, so a lower id can become visible after
+ * a higher one was already replayed. Each refresh therefore also re-reads the entries logged within the commit
+ * window and replays those it has not seen yet; a write whose transaction stays open longer than the window is
+ * only picked up by the next reload.
+ */
+public class ColumnarEmployeeRepository implements EmployeeRepository, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(ColumnarEmployeeRepository.class);
+
+    private static final String SELECT = "SELECT id, name, age, gender_code, salary, company_id FROM employee " +
+            "WHERE deleted_at IS NULL";
+    private static final int FETCH_SIZE = 10_000;
+    private static final String SELECT_CHANGES = "SELECT id, employee_id, operation, changed_at FROM employee_change " +
+            "WHERE id > :lastChangeId OR changed_at >= :since ORDER BY id";
+    private static final int MAX_IDS_PER_QUERY = 1000;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final ScheduledExecutorService refresher;
+    private final Duration commitWindow;
+    // entries inside the commit window that were already replayed, by change id, so the re-read skips them
+    private final Map<Long, Instant> replayedChanges = new HashMap<>();
+    private volatile EmployeeColumns columns;
+    private long lastChangeId;
+
+    public ColumnarEmployeeRepository(DataSource dataSource, Duration refreshInterval, Duration commitWindow) {
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+        template.setFetchSize(FETCH_SIZE);
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(template);
+        this.commitWindow = commitWindow;
+        reload();
+        this.refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "columnar-employee-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (!refreshInterval.isZero()) {
+            long millis = refreshInterval.toMillis();
+            refresher.scheduleWithFixedDelay(this::refreshQuietly, millis, millis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public List<Employee> findAll() {
+        EmployeeColumns snapshot = columns;
+        return snapshot.employees(0, snapshot.size());
+    }
+
+    @Override
+    public Page<Employee> findAll(Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(findAll());
+        }
+        if (pageable.getSort().isSorted()) {
+            throw new IllegalArgumentException("columnar employee pages are ordered by id only");
+        }
+        EmployeeColumns snapshot = columns;
+        int from = (int) Math.min(pageable.getOffset(), snapshot.size());
+        int to = Math.min(from + pageable.getPageSize(), snapshot.size());
+        return new PageImpl<>(snapshot.employees(from, to), pageable, snapshot.size());
+    }
+
+    @Override
+    public Optional<Employee> findById(Long id) {
+        EmployeeColumns snapshot = columns;
+        int row = snapshot.rowOf(id);
+        return row < 0 ? Optional.empty() : Optional.of(snapshot.employee(row));
+    }
+
+    @Override
+    public List<Employee> findAllByGender(String gender) {
+        Gender code = Gender.fromLabel(gender);
+        return code == null ? Collections.emptyList() : columns.findAllByGender(code.getLabel());
+    }
+
+    @Override
+    public List<Employee> findByCompanyId(Long id) {
+        return columns.findByCompanyId(id);
+    }
+
+    @Override
+    public <S extends Employee> S save(S employee) {
+        throw new ReadOnlyRepositoryException();
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        throw new ReadOnlyRepositoryException();
+    }
+
+    @Override
+    public void insertAll(List<Employee> employees) {
+        throw new ReadOnlyRepositoryException();
+    }
+
+    @Override
+    public int incrementSalary(Long id, int amount) {
+        throw new ReadOnlyRepositoryException();
+    }
+
+    @Override
+    public void deleteByCompanyId(Long companyId) {
+        throw new ReadOnlyRepositoryException();
+    }
+
+    @Override
+    public void deleteAll() {
+        throw new ReadOnlyRepositoryException();
+    }
+
+    @Override
+    public void destroy() {
+        refresher.shutdownNow();
+    }
+
+    public EmployeeColumns getColumns() {
+        return columns;
+    }
+
+    /**
+     * Applies the change log entries committed since the last refresh.
+     */
+    public synchronized void refresh() {
+        Instant since = Instant.now().minus(commitWindow);
+        MapSqlParameterSource parameters = new MapSqlParameterSource("lastChangeId", lastChangeId)
+                .addValue("since", Timestamp.from(since));
+        TreeMap<Long, Employee> changes = new TreeMap<>();
+        Map<Long, Instant> replayed = new HashMap<>();
+        long[] newest = {lastChangeId};
+        boolean[] reset = {false};
+        jdbcTemplate.query(SELECT_CHANGES, parameters, resultSet -> {
+            long changeId = resultSet.getLong("id");
+            if (replayedChanges.containsKey(changeId)) {
+                return;
+            }
+            replayed.put(changeId, changedAt(resultSet));
+            newest[0] = Math.max(newest[0], changeId);
+            if (EmployeeChangeOperation.RESET.name().equals(resultSet.getString("operation"))) {
+                reset[0] = true;
+            } else if (!reset[0]) {
+                changes.put(resultSet.getLong("employee_id"), null);
+            }
+        });
+        if (reset[0]) {
+            reload();
+            return;
+        }
+        if (!changes.isEmpty()) {
+            // ids that no longer have a row stay mapped to null and are dropped from the snapshot
+            List<Long> ids = new ArrayList<>(changes.keySet());
+            for (int from = 0; from < ids.size(); from += MAX_IDS_PER_QUERY) {
+                List<Long> chunk = ids.subList(from, Math.min(from + MAX_IDS_PER_QUERY, ids.size()));
+                jdbcTemplate.query(SELECT + " AND id IN (:ids)", new MapSqlParameterSource("ids", chunk), resultSet -> {
+                    Employee employee = new Employee(resultSet.getLong("id"), resultSet.getString("name"),
+                            resultSet.getObject("age", Integer.class), genderLabel(resultSet),
+                            resultSet.getObject("salary", Integer.class));
+                    employee.setCompanyId(resultSet.getObject("company_id", Long.class));
+                    changes.put(employee.getId(), employee);
+                });
+            }
+            columns = columns.withChanges(changes);
+        }
+        lastChangeId = newest[0];
+        replayedChanges.putAll(replayed);
+        replayedChanges.values().removeIf(changedAt -> changedAt.isBefore(since));
+    }
+
+    /**
+     * Replaces the snapshot with a full scan of the table. The change log position and the entries inside the
+     * commit window are read first, so changes committed during the scan are replayed again by the next refresh
+     * rather than missed.
+     */
+    public synchronized void reload() {
+        Instant since = Instant.now().minus(commitWindow);
+        long changeId = jdbcTemplate.getJdbcTemplate().queryForObject("SELECT COALESCE(MAX(id), 0) FROM employee_change", Long.class);
+        Map<Long, Instant> replayed = new HashMap<>();
+        jdbcTemplate.query("SELECT id, changed_at FROM employee_change WHERE id <= :changeId AND changed_at >= :since",
+                new MapSqlParameterSource("changeId", changeId).addValue("since", Timestamp.from(since)),
+                resultSet -> {
+                    replayed.put(resultSet.getLong("id"), changedAt(resultSet));
+                });
+        EmployeeColumns.Builder builder = new EmployeeColumns.Builder();
+        jdbcTemplate.getJdbcTemplate().query(SELECT + " ORDER BY id", resultSet -> {
+            builder.add(resultSet.getLong("id"), resultSet.getString("name"), resultSet.getObject("age", Integer.class),
+                    genderLabel(resultSet), resultSet.getObject("salary", Integer.class),
+                    resultSet.getObject("company_id", Long.class));
+        });
+        columns = builder.build();
+        lastChangeId = changeId;
+        replayedChanges.clear();
+        replayedChanges.putAll(replayed);
+        log.info("Loaded {} employees into columnar storage ({} bytes)", columns.size(), columns.getHeapBytes());
+    }
+
+    // entries logged before the change log had timestamps never fall inside the commit window
+    private static Instant changedAt(ResultSet resultSet) throws SQLException {
+        Timestamp changedAt = resultSet.getTimestamp("changed_at");
+        return changedAt == null ? Instant.EPOCH : changedAt.toInstant();
+    }
+
+    private static String genderLabel(ResultSet resultSet) throws SQLException {
+        Short code = resultSet.getObject("gender_code", Short.class);
+        return code == null ? null : Gender.fromCode(code).getLabel();
+    }
+
+    private void refreshQuietly() {
+        try {
+            refresh();
+        } catch (RuntimeException exception) {
+            // keep serving the current snapshot and try again on the next tick
+            log.warn("Columnar employee refresh failed", exception);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.afs.restapi.columnar;
+
+import com.afs.restapi.entity.EmployeeChange;
+import com.afs.restapi.entity.EmployeeChangeOperation;
+import com.afs.restapi.repository.EmployeeChangeJpaRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+/**
+ * The {@code employee_change} log that {@link ColumnarEmployeeRepository} nodes replay. Writers append to it in
+ * their own transaction, and only with {@code employee-change-log.enabled}, so deployments without columnar
+ * nodes do not pay an extra INSERT per write.
+ */
+@Component
+public class EmployeeChangeLog {
+
+    private final EmployeeChangeJpaRepository employeeChangeJpaRepository;
+
+    private final boolean enabled;
+
+    public EmployeeChangeLog(EmployeeChangeJpaRepository employeeChangeJpaRepository,
+                             @Value("${employee-change-log.enabled:false}") boolean enabled) {
+        this.employeeChangeJpaRepository = employeeChangeJpaRepository;
+        this.enabled = enabled;
+    }
+
+    public void recordUpsert(Long employeeId) {
+        record(employeeId, EmployeeChangeOperation.UPSERT);
+    }
+
+    public void recordDelete(Long employeeId) {
+        record(employeeId, EmployeeChangeOperation.DELETE);
+    }
+
+    /**
+     * Makes columnar nodes reload the whole table, for writes that touch too many employees to log one by one.
+     */
+    public void recordReset() {
+        record(null, EmployeeChangeOperation.RESET);
+    }
+
+    /**
+     * Deletes the entries logged before {@code cutoff} and returns how many were removed.
+     */
+    @Transactional
+    public int pruneChangedBefore(Instant cutoff) {
+        return employeeChangeJpaRepository.deleteChangedBefore(cutoff);
+    }
+
+    private void record(Long employeeId, EmployeeChangeOperation operation) {
+        if (enabled) {
+            employeeChangeJpaRepository.save(new EmployeeChange(employeeId, operation));
+        }
+    }
+}
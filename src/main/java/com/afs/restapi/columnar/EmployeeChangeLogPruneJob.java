@@ -0,0 +1,37 @@
+package com.afs.restapi.columnar;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Periodically deletes change log entries older than the retention period. Columnar nodes only replay recent
+ * entries and reload the whole table on startup, so older entries are never read again.
+ */
+public class EmployeeChangeLogPruneJob {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeChangeLogPruneJob.class);
+
+    private final EmployeeChangeLog employeeChangeLog;
+    private final Duration retention;
+
+    public EmployeeChangeLogPruneJob(EmployeeChangeLog employeeChangeLog, Duration retention) {
+        this.employeeChangeLog = employeeChangeLog;
+        this.retention = retention;
+    }
+
+    @Scheduled(initialDelayString = "${employee-change-log.prune-interval:PT10M}", fixedDelayString = "${employee-change-log.prune-interval:PT10M}")
+    public void run() {
+        try {
+            int pruned = employeeChangeLog.pruneChangedBefore(Instant.now().minus(retention));
+            if (pruned > 0) {
+                log.info("Pruned {} employee changes older than {}", pruned, retention);
+            }
+        } catch (RuntimeException exception) {
+            log.warn("Employee change log pruning failed", exception);
+        }
+    }
+}
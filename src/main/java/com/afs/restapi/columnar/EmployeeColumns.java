@@ -0,0 +1,264 @@
+package com.afs.restapi.columnar;
+
+import com.afs.restapi.entity.Employee;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+
+/**
+ * An immutable, id-ordered snapshot of the employee table held column by column in primitive arrays. Names share
+ * one UTF-8 byte pool, genders are one-byte codes into a small dictionary (code 0 is null), and nullable numbers
+ * use a sentinel, so a row costs roughly its raw field width instead of an entity plus four boxed wrappers and
+ * two strings. {@link Employee} objects are only created for the rows a query returns.
+ */
+public final class EmployeeColumns {
+
+    private static final int NULL_INT = Integer.MIN_VALUE;
+    private static final long NULL_LONG = Long.MIN_VALUE;
+    private static final int MAX_GENDERS = 255;
+
+    private final int size;
+    private final long[] ids;
+    private final int[] ages;
+    private final int[] salaries;
+    private final long[] companyIds;
+    private final byte[] genderCodes;
+    private final int[] nameOffsets;
+    private final byte[] namePool;
+    private final String[] genderDictionary;
+    private final Map<Long, int[]> rowsByCompany;
+
+    private EmployeeColumns(Builder builder) {
+        size = builder.size;
+        ids = Arrays.copyOf(builder.ids, size);
+        ages = Arrays.copyOf(builder.ages, size);
+        salaries = Arrays.copyOf(builder.salaries, size);
+        companyIds = Arrays.copyOf(builder.companyIds, size);
+        genderCodes = Arrays.copyOf(builder.genderCodes, size);
+        nameOffsets = Arrays.copyOf(builder.nameOffsets, size + 1);
+        namePool = Arrays.copyOf(builder.namePool, builder.nameOffsets[size]);
+        genderDictionary = builder.genderDictionary.toArray(new String[0]);
+        rowsByCompany = indexByCompany();
+    }
+
+    public static EmployeeColumns empty() {
+        return new Builder().build();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public Employee employee(int row) {
+        Employee employee = new Employee(ids[row],
+                new String(namePool, nameOffsets[row], nameOffsets[row + 1] - nameOffsets[row], StandardCharsets.UTF_8),
+                ages[row] == NULL_INT ? null : ages[row],
+                genderDictionary[genderCodes[row] & 0xFF],
+                salaries[row] == NULL_INT ? null : salaries[row]);
+        employee.setCompanyId(companyIds[row] == NULL_LONG ? null : companyIds[row]);
+        return employee;
+    }
+
+    public List<Employee> employees(int fromRow, int toRow) {
+        List<Employee> employees = new ArrayList<>(Math.max(0, toRow - fromRow));
+        for (int row = fromRow; row < toRow; row++) {
+            employees.add(employee(row));
+        }
+        return employees;
+    }
+
+    /** The row holding the id, or a negative number when there is none. */
+    public int rowOf(long id) {
+        return Arrays.binarySearch(ids, 0, size, id);
+    }
+
+    public List<Employee> findAllByGender(String gender) {
+        int code = gender == null ? 0 : Arrays.asList(genderDictionary).indexOf(gender);
+        if (code < 0) {
+            return Collections.emptyList();
+        }
+        byte wanted = (byte) code;
+        List<Employee> employees = new ArrayList<>();
+        for (int row = 0; row < size; row++) {
+            if (genderCodes[row] == wanted) {
+                employees.add(employee(row));
+            }
+        }
+        return employees;
+    }
+
+    public List<Employee> findByCompanyId(Long companyId) {
+        int[] rows = rowsByCompany.get(companyId);
+        if (rows == null) {
+            return Collections.emptyList();
+        }
+        List<Employee> employees = new ArrayList<>(rows.length);
+        for (int row : rows) {
+            employees.add(employee(row));
+        }
+        return employees;
+    }
+
+    /**
+     * Returns a new snapshot in which each id in {@code changes} is replaced by its new row, or dropped when it
+     * maps to null. The arrays are rebuilt in one ordered pass; unchanged names are copied as bytes.
+     */
+    public EmployeeColumns withChanges(NavigableMap<Long, Employee> changes) {
+        Builder builder = new Builder(genderDictionary);
+        Iterator<Map.Entry<Long, Employee>> pending = changes.entrySet().iterator();
+        Map.Entry<Long, Employee> change = pending.hasNext() ? pending.next() : null;
+        for (int row = 0; row < size; row++) {
+            while (change != null && change.getKey() < ids[row]) {
+                builder.add(change.getValue());
+                change = pending.hasNext() ? pending.next() : null;
+            }
+            if (change != null && change.getKey() == ids[row]) {
+                builder.add(change.getValue());
+                change = pending.hasNext() ? pending.next() : null;
+            } else {
+                builder.copy(this, row);
+            }
+        }
+        while (change != null) {
+            builder.add(change.getValue());
+            change = pending.hasNext() ? pending.next() : null;
+        }
+        return builder.build();
+    }
+
+    /** Bytes held by the column arrays and the company index, excluding object headers. */
+    public long getHeapBytes() {
+        long bytes = (long) size * (Long.BYTES + Integer.BYTES + Integer.BYTES + Long.BYTES + 1)
+                + (long) nameOffsets.length * Integer.BYTES + namePool.length;
+        for (int[] rows : rowsByCompany.values()) {
+            bytes += (long) rows.length * Integer.BYTES;
+        }
+        return bytes;
+    }
+
+    private Map<Long, int[]> indexByCompany() {
+        Map<Long, Integer> counts = new HashMap<>();
+        for (int row = 0; row < size; row++) {
+            if (companyIds[row] != NULL_LONG) {
+                counts.merge(companyIds[row], 1, Integer::sum);
+            }
+        }
+        Map<Long, int[]> index = new HashMap<>(counts.size() * 2);
+        Map<Long, int[]> fill = new HashMap<>(counts.size() * 2);
+        counts.forEach((companyId, count) -> {
+            index.put(companyId, new int[count]);
+            fill.put(companyId, new int[1]);
+        });
+        for (int row = 0; row < size; row++) {
+            if (companyIds[row] != NULL_LONG) {
+                index.get(companyIds[row])[fill.get(companyIds[row])[0]++] = row;
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Accumulates rows, which must arrive in ascending id order, into growable column arrays.
+     */
+    public static final class Builder {
+
+        private int size;
+        private long[] ids = new long[16];
+        private int[] ages = new int[16];
+        private int[] salaries = new int[16];
+        private long[] companyIds = new long[16];
+        private byte[] genderCodes = new byte[16];
+        private int[] nameOffsets = new int[17];
+        private byte[] namePool = new byte[256];
+        private final List<String> genderDictionary;
+
+        public Builder() {
+            genderDictionary = new ArrayList<>();
+            genderDictionary.add(null);
+        }
+
+        private Builder(String[] genderDictionary) {
+            this.genderDictionary = new ArrayList<>(Arrays.asList(genderDictionary));
+        }
+
+        public Builder add(long id, String name, Integer age, String gender, Integer salary, Long companyId) {
+            if (size > 0 && id <= ids[size - 1]) {
+                throw new IllegalArgumentException("rows must be added in ascending id order");
+            }
+            ensureCapacity();
+            byte[] nameBytes = name == null ? new byte[0] : name.getBytes(StandardCharsets.UTF_8);
+            appendName(nameBytes, 0, nameBytes.length);
+            ids[size] = id;
+            ages[size] = age == null ? NULL_INT : age;
+            salaries[size] = salary == null ? NULL_INT : salary;
+            companyIds[size] = companyId == null ? NULL_LONG : companyId;
+            genderCodes[size] = genderCode(gender);
+            size++;
+            return this;
+        }
+
+        public EmployeeColumns build() {
+            return new EmployeeColumns(this);
+        }
+
+        private void add(Employee employee) {
+            if (employee != null) {
+                add(employee.getId(), employee.getName(), employee.getAge(), employee.getGender(),
+                        employee.getSalary(), employee.getCompanyId());
+            }
+        }
+
+        // the dictionary starts as a copy of the source snapshot's, so gender codes carry over unchanged
+        private void copy(EmployeeColumns source, int row) {
+            ensureCapacity();
+            appendName(source.namePool, source.nameOffsets[row], source.nameOffsets[row + 1] - source.nameOffsets[row]);
+            ids[size] = source.ids[row];
+            ages[size] = source.ages[row];
+            salaries[size] = source.salaries[row];
+            companyIds[size] = source.companyIds[row];
+            genderCodes[size] = source.genderCodes[row];
+            size++;
+        }
+
+        private byte genderCode(String gender) {
+            int code = genderDictionary.indexOf(gender);
+            if (code < 0) {
+                if (genderDictionary.size() > MAX_GENDERS) {
+                    throw new IllegalStateException("more than " + MAX_GENDERS + " distinct genders");
+                }
+                code = genderDictionary.size();
+                genderDictionary.add(gender);
+            }
+            return (byte) code;
+        }
+
+        private void appendName(byte[] source, int offset, int length) {
+            int start = nameOffsets[size];
+            if (start + length > namePool.length) {
+                namePool = Arrays.copyOf(namePool, Math.max(namePool.length * 2, start + length));
+            }
+            System.arraycopy(source, offset, namePool, start, length);
+            nameOffsets[size + 1] = start + length;
+        }
+
+        private void ensureCapacity() {
+            if (size < ids.length) {
+                return;
+            }
+            int capacity = ids.length * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            ages = Arrays.copyOf(ages, capacity);
+            salaries = Arrays.copyOf(salaries, capacity);
+            companyIds = Arrays.copyOf(companyIds, capacity);
+            genderCodes = Arrays.copyOf(genderCodes, capacity);
+            nameOffsets = Arrays.copyOf(nameOffsets, capacity + 1);
+        }
+    }
+}
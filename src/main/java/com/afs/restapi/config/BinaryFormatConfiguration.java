@@ -0,0 +1,21 @@
+package com.afs.restapi.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+@Configuration
+public class BinaryFormatConfiguration {
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(ResponseFormats responseFormats) {
+        return new MappingJackson2CborHttpMessageConverter(responseFormats.mapperFor(MediaType.APPLICATION_CBOR));
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(ResponseFormats responseFormats) {
+        return new MappingJackson2SmileHttpMessageConverter(responseFormats.mapperFor(ResponseFormats.APPLICATION_SMILE));
+    }
+}
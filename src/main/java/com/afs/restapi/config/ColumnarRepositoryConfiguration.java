@@ -0,0 +1,22 @@
+package com.afs.restapi.config;
+
+import com.afs.restapi.columnar.ColumnarEmployeeRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import javax.sql.DataSource;
+
+@Configuration
+@EnableConfigurationProperties(ColumnarRepositoryProperties.class)
+@ConditionalOnProperty(name = "columnar-repository.enabled", havingValue = "true")
+public class ColumnarRepositoryConfiguration {
+
+    @Bean
+    @Primary
+    public ColumnarEmployeeRepository columnarEmployeeRepository(DataSource dataSource, ColumnarRepositoryProperties properties) {
+        return new ColumnarEmployeeRepository(dataSource, properties.getRefreshInterval(), properties.getCommitWindow());
+    }
+}
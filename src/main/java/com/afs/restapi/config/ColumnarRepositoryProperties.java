@@ -0,0 +1,39 @@
+package com.afs.restapi.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties("columnar-repository")
+public class ColumnarRepositoryProperties {
+
+    private boolean enabled;
+    // zero disables the background refresh
+    private Duration refreshInterval = Duration.ofSeconds(5);
+    // how long a writer's transaction may stay open after logging a change and still be replayed
+    private Duration commitWindow = Duration.ofMinutes(1);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getRefreshInterval() {
+        return refreshInterval;
+    }
+
+    public void setRefreshInterval(Duration refreshInterval) {
+        this.refreshInterval = refreshInterval;
+    }
+
+    public Duration getCommitWindow() {
+        return commitWindow;
+    }
+
+    public void setCommitWindow(Duration commitWindow) {
+        this.commitWindow = commitWindow;
+    }
+}
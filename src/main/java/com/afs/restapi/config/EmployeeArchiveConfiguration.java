@@ -0,0 +1,32 @@
+package com.afs.restapi.config;
+
+import com.afs.restapi.archive.EmployeeArchiveJob;
+import com.afs.restapi.archive.EmployeeArchiver;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Soft-delete plus archival: {@code EmployeeService.delete} only marks employees deleted, and
+ * {@link EmployeeArchiveJob} moves them to the archive table once the retention period has passed.
+ */
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(EmployeeArchiveProperties.class)
+@ConditionalOnProperty(name = "employee-archive.enabled", havingValue = "true")
+public class EmployeeArchiveConfiguration {
+
+    // a lazily initialized job would never be created, and so never scheduled, under the fast-startup profile
+    @Bean
+    public static LazyInitializationExcludeFilter employeeArchiveJobEagerInitialization() {
+        return LazyInitializationExcludeFilter.forBeanTypes(EmployeeArchiveJob.class);
+    }
+
+    @Bean
+    public EmployeeArchiveJob employeeArchiveJob(EmployeeArchiver employeeArchiver, EmployeeArchiveProperties properties) {
+        return new EmployeeArchiveJob(employeeArchiver, properties.getRetention(), properties.getBatchSize());
+    }
+}
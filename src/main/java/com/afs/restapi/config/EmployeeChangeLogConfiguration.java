@@ -0,0 +1,33 @@
+package com.afs.restapi.config;
+
+import com.afs.restapi.columnar.EmployeeChangeLog;
+import com.afs.restapi.columnar.EmployeeChangeLogPruneJob;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enabled on the writing nodes of a deployment that also runs read-only columnar nodes: writes are appended to
+ * the {@link EmployeeChangeLog} those nodes replay, and {@link EmployeeChangeLogPruneJob} keeps the log short.
+ */
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(EmployeeChangeLogProperties.class)
+@ConditionalOnProperty(name = "employee-change-log.enabled", havingValue = "true")
+public class EmployeeChangeLogConfiguration {
+
+    // a lazily initialized job would never be created, and so never scheduled, under the fast-startup profile
+    @Bean
+    public static LazyInitializationExcludeFilter employeeChangeLogPruneJobEagerInitialization() {
+        return LazyInitializationExcludeFilter.forBeanTypes(EmployeeChangeLogPruneJob.class);
+    }
+
+    @Bean
+    public EmployeeChangeLogPruneJob employeeChangeLogPruneJob(EmployeeChangeLog employeeChangeLog,
+                                                               EmployeeChangeLogProperties properties) {
+        return new EmployeeChangeLogPruneJob(employeeChangeLog, properties.getRetention());
+    }
+}
@@ -0,0 +1,39 @@
+package com.afs.restapi.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties("employee-change-log")
+public class EmployeeChangeLogProperties {
+
+    private boolean enabled;
+    // must comfortably exceed how long a columnar node may go without a successful refresh
+    private Duration retention = Duration.ofDays(1);
+    // ISO-8601, because @Scheduled reads it as well
+    private Duration pruneInterval = Duration.ofMinutes(10);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getRetention() {
+        return retention;
+    }
+
+    public void setRetention(Duration retention) {
+        this.retention = retention;
+    }
+
+    public Duration getPruneInterval() {
+        return pruneInterval;
+    }
+
+    public void setPruneInterval(Duration pruneInterval) {
+        this.pruneInterval = pruneInterval;
+    }
+}
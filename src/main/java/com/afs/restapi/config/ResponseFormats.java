@@ -0,0 +1,88 @@
+package com.afs.restapi.config;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The wire formats the API can emit. CBOR and Smile mappers are built from the same builder as the JSON one,
+ * so every format carries exactly the same field names and shapes.
+ */
+@Component
+public class ResponseFormats {
+
+    public static final MediaType APPLICATION_SMILE = new MediaType("application", "x-jackson-smile");
+
+    private final Map<MediaType, ObjectMapper> mappers = new LinkedHashMap<>();
+
+    public ResponseFormats(ObjectMapper objectMapper, Jackson2ObjectMapperBuilder objectMapperBuilder) {
+        mappers.put(MediaType.APPLICATION_JSON, objectMapper);
+        mappers.put(MediaType.APPLICATION_CBOR, objectMapperBuilder.factory(new CBORFactory()).build());
+        mappers.put(APPLICATION_SMILE, objectMapperBuilder.factory(new SmileFactory()).build());
+    }
+
+    public Set<MediaType> getMediaTypes() {
+        return mappers.keySet();
+    }
+
+    public ObjectMapper mapperFor(MediaType mediaType) {
+        return mappers.get(mediaType);
+    }
+
+    public MediaType negotiate(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return MediaType.APPLICATION_JSON;
+        }
+        List<MediaType> acceptedTypes;
+        try {
+            acceptedTypes = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException exception) {
+            return MediaType.APPLICATION_JSON;
+        }
+        MediaType.sortBySpecificityAndQuality(acceptedTypes);
+        for (MediaType acceptedType : acceptedTypes) {
+            for (MediaType mediaType : mappers.keySet()) {
+                if (acceptedType.includes(mediaType)) {
+                    return mediaType;
+                }
+            }
+        }
+        return MediaType.APPLICATION_JSON;
+    }
+
+    public byte[] encode(MediaType mediaType, Object value) {
+        try {
+            return mapperFor(mediaType).writeValueAsBytes(value);
+        } catch (JsonProcessingException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    /**
+     * Writes {@code values} as one array, an element at a time, so the encoded list is never held in memory.
+     * The stream is left open.
+     */
+    public void writeArray(MediaType mediaType, Iterable<?> values, OutputStream outputStream) throws IOException {
+        try (SequenceWriter sequenceWriter = mapperFor(mediaType).writer()
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .writeValuesAsArray(outputStream)) {
+            for (Object value : values) {
+                sequenceWriter.write(value);
+            }
+        }
+    }
+}
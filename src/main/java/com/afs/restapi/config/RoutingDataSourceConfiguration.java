@@ -0,0 +1,45 @@
+package com.afs.restapi.config;
+
+import com.afs.restapi.datasource.ReadWriteRoutingDataSource;
+import com.afs.restapi.datasource.ReadYourWritesFilter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Configuration
+@EnableConfigurationProperties(RoutingDataSourceProperties.class)
+@ConditionalOnProperty(name = "datasource-routing.enabled", havingValue = "true")
+public class RoutingDataSourceConfiguration {
+
+    @Bean
+    public DataSource dataSource(DataSourceProperties dataSourceProperties, RoutingDataSourceProperties routingProperties) {
+        DataSource primary = dataSourceProperties.initializeDataSourceBuilder().build();
+        List<DataSource> replicas = routingProperties.getReplicas().stream()
+                .map(replica -> DataSourceBuilder.create()
+                        .url(replica.getUrl())
+                        .username(replica.getUsername())
+                        .password(replica.getPassword())
+                        .build())
+                .collect(Collectors.toList());
+        return new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(primary, replicas,
+                routingProperties.getSelection().createSelector()));
+    }
+
+    @Bean
+    public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter(RoutingDataSourceProperties routingProperties) {
+        FilterRegistrationBean<ReadYourWritesFilter> registration =
+                new FilterRegistrationBean<>(new ReadYourWritesFilter(routingProperties.getReadYourWritesWindow()));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
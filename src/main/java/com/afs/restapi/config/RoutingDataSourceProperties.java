@@ -0,0 +1,90 @@
+package com.afs.restapi.config;
+
+import com.afs.restapi.datasource.LeastBusyReplicaSelector;
+import com.afs.restapi.datasource.ReplicaSelector;
+import com.afs.restapi.datasource.RoundRobinReplicaSelector;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@ConfigurationProperties("datasource-routing")
+public class RoutingDataSourceProperties {
+
+    private boolean enabled;
+    private Selection selection = Selection.ROUND_ROBIN;
+    private Duration readYourWritesWindow = Duration.ofSeconds(2);
+    private List<Replica> replicas = new ArrayList<>();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Selection getSelection() {
+        return selection;
+    }
+
+    public void setSelection(Selection selection) {
+        this.selection = selection;
+    }
+
+    public Duration getReadYourWritesWindow() {
+        return readYourWritesWindow;
+    }
+
+    public void setReadYourWritesWindow(Duration readYourWritesWindow) {
+        this.readYourWritesWindow = readYourWritesWindow;
+    }
+
+    public List<Replica> getReplicas() {
+        return replicas;
+    }
+
+    public void setReplicas(List<Replica> replicas) {
+        this.replicas = replicas;
+    }
+
+    public enum Selection {
+        ROUND_ROBIN,
+        LEAST_BUSY;
+
+        public ReplicaSelector createSelector() {
+            return this == LEAST_BUSY ? new LeastBusyReplicaSelector() : new RoundRobinReplicaSelector();
+        }
+    }
+
+    public static class Replica {
+        private String url;
+        private String username;
+        private String password;
+
+        public String getUrl() {
+            return url;
+        }
+
+        public void setUrl(String url) {
+            this.url = url;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public void setUsername(String username) {
+            this.username = username;
+        }
+
+        public String getPassword() {
+            return password;
+        }
+
+        public void setPassword(String password) {
+            this.password = password;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.afs.restapi.config;
+
+import com.afs.restapi.increment.SalaryIncrementAccumulator;
+import com.afs.restapi.service.EmployeeService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(SalaryAccumulatorProperties.class)
+@ConditionalOnProperty(name = "salary-accumulator.enabled", havingValue = "true")
+public class SalaryAccumulatorConfiguration {
+
+    @Bean
+    public SalaryIncrementAccumulator salaryIncrementAccumulator(EmployeeService employeeService,
+                                                                 SalaryAccumulatorProperties properties) {
+        return new SalaryIncrementAccumulator(employeeService::incrementSalary, properties.getStripes(),
+                properties.getFlushInterval());
+    }
+}
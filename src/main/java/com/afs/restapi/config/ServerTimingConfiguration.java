@@ -0,0 +1,48 @@
+package com.afs.restapi.config;
+
+import com.afs.restapi.timing.ServerTimingFilter;
+import com.afs.restapi.timing.SlowRequestLog;
+import com.afs.restapi.timing.TimingDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Times the employee and company endpoints. Off by default: the timed requests buffer their bodies and go
+ * through JDBC proxies.
+ */
+@Configuration
+@EnableConfigurationProperties(ServerTimingProperties.class)
+@ConditionalOnProperty(name = "server-timing.enabled", havingValue = "true")
+public class ServerTimingConfiguration {
+
+    @Bean
+    public static BeanPostProcessor timingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof DataSource && !(bean instanceof TimingDataSource)
+                        ? new TimingDataSource((DataSource) bean) : bean;
+            }
+        };
+    }
+
+    @Bean
+    public SlowRequestLog slowRequestLog(ServerTimingProperties properties) {
+        return new SlowRequestLog(properties.getSlowRequestCapacity());
+    }
+
+    @Bean
+    public FilterRegistrationBean<ServerTimingFilter> serverTimingFilter(SlowRequestLog slowRequestLog,
+                                                                        ServerTimingProperties properties) {
+        FilterRegistrationBean<ServerTimingFilter> registration = new FilterRegistrationBean<>(new ServerTimingFilter(
+                slowRequestLog, properties.getSlowThreshold(), properties.getMaxStatementsPerRequest()));
+        registration.addUrlPatterns("/employees/*", "/companies/*");
+        return registration;
+    }
+}
@@ -0,0 +1,46 @@
+package com.afs.restapi.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties("server-timing")
+public class ServerTimingProperties {
+
+    private boolean enabled;
+    private Duration slowThreshold = Duration.ofMillis(500);
+    private int slowRequestCapacity = 100;
+    private int maxStatementsPerRequest = 50;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getSlowThreshold() {
+        return slowThreshold;
+    }
+
+    public void setSlowThreshold(Duration slowThreshold) {
+        this.slowThreshold = slowThreshold;
+    }
+
+    public int getSlowRequestCapacity() {
+        return slowRequestCapacity;
+    }
+
+    public void setSlowRequestCapacity(int slowRequestCapacity) {
+        this.slowRequestCapacity = slowRequestCapacity;
+    }
+
+    public int getMaxStatementsPerRequest() {
+        return maxStatementsPerRequest;
+    }
+
+    public void setMaxStatementsPerRequest(int maxStatementsPerRequest) {
+        this.maxStatementsPerRequest = maxStatementsPerRequest;
+    }
+}
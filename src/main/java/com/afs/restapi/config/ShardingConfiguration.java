@@ -0,0 +1,47 @@
+package com.afs.restapi.config;
+
+import com.afs.restapi.sharding.ModuloShardResolver;
+import com.afs.restapi.sharding.ShardResolver;
+import com.afs.restapi.sharding.ShardSchema;
+import com.afs.restapi.sharding.ShardedEmployeeRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Configuration
+@EnableConfigurationProperties(ShardingProperties.class)
+@ConditionalOnProperty(name = "employee-sharding.enabled", havingValue = "true")
+public class ShardingConfiguration {
+
+    @Bean
+    public ShardResolver shardResolver() {
+        return new ModuloShardResolver();
+    }
+
+    @Bean
+    @Primary
+    public ShardedEmployeeRepository shardedEmployeeRepository(ShardingProperties shardingProperties, ShardResolver shardResolver,
+                                                               @Value("${employee-archive.enabled:false}") boolean archiveEnabled) {
+        // shard tables have no deleted_at column, so a soft delete would leave the employee visible
+        if (archiveEnabled) {
+            throw new IllegalStateException("employee-archive.enabled cannot be combined with employee-sharding.enabled");
+        }
+        List<DataSource> dataSources = shardingProperties.getShards().stream()
+                .map(shard -> DataSourceBuilder.create()
+                        .url(shard.getUrl())
+                        .username(shard.getUsername())
+                        .password(shard.getPassword())
+                        .build())
+                .collect(Collectors.toList());
+        dataSources.forEach(ShardSchema::migrate);
+        return new ShardedEmployeeRepository(dataSources, shardResolver);
+    }
+}
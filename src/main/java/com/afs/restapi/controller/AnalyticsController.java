@@ -0,0 +1,33 @@
+package com.afs.restapi.controller;
+
+import com.afs.restapi.analytics.EmployeeAnalytics;
+import com.afs.restapi.service.dto.EmployeeAnalyticsResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/analytics")
+public class AnalyticsController {
+
+    private final EmployeeAnalytics employeeAnalytics;
+
+    public AnalyticsController(EmployeeAnalytics employeeAnalytics) {
+        this.employeeAnalytics = employeeAnalytics;
+    }
+
+    @GetMapping("/employees")
+    public EmployeeAnalyticsResponse getOrgWideEmployeeAnalytics() {
+        return employeeAnalytics.orgWide();
+    }
+
+    @GetMapping("/companies/{id}/employees")
+    public EmployeeAnalyticsResponse getCompanyEmployeeAnalytics(@PathVariable Long id) {
+        return employeeAnalytics.forCompany(id);
+    }
+
+    @PostMapping("/rebuild")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void rebuildAnalytics() {
+        employeeAnalytics.rebuild();
+    }
+}
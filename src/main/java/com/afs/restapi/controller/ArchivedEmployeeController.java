@@ -0,0 +1,30 @@
+package com.afs.restapi.controller;
+
+import com.afs.restapi.service.ArchivedEmployeeService;
+import com.afs.restapi.service.dto.ArchivedEmployeeResponse;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/archived-employees")
+public class ArchivedEmployeeController {
+
+    private final ArchivedEmployeeService archivedEmployeeService;
+
+    public ArchivedEmployeeController(ArchivedEmployeeService archivedEmployeeService) {
+        this.archivedEmployeeService = archivedEmployeeService;
+    }
+
+    @GetMapping(params = {"pageNumber", "pageSize"})
+    public List<ArchivedEmployeeResponse> findArchivedEmployeesByPage(@RequestParam(required = false) Long companyId,
+                                                                      @RequestParam Integer pageNumber,
+                                                                      @RequestParam Integer pageSize) {
+        return archivedEmployeeService.findByPage(companyId, pageNumber, pageSize);
+    }
+
+    @GetMapping("/{id}")
+    public ArchivedEmployeeResponse getArchivedEmployeeById(@PathVariable Long id) {
+        return archivedEmployeeService.findById(id);
+    }
+}
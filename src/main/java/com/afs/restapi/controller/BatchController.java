@@ -0,0 +1,24 @@
+package com.afs.restapi.controller;
+
+import com.afs.restapi.batch.BatchDispatcher;
+import com.afs.restapi.batch.BatchOperation;
+import com.afs.restapi.batch.BatchResult;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/batch")
+public class BatchController {
+
+    private final BatchDispatcher batchDispatcher;
+
+    public BatchController(BatchDispatcher batchDispatcher) {
+        this.batchDispatcher = batchDispatcher;
+    }
+
+    @PostMapping
+    public List<BatchResult> executeBatch(@RequestBody List<BatchOperation> operations) {
+        return batchDispatcher.execute(operations);
+    }
+}
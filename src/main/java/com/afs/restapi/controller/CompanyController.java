@@ -1,9 +1,13 @@
 package com.afs.restapi.controller;
 
+import com.afs.restapi.cache.ResponseCache;
 import com.afs.restapi.entity.Company;
 import com.afs.restapi.service.CompanyService;
-import com.afs.restapi.entity.Employee;
+import com.afs.restapi.service.dto.CompanyResponse;
+import com.afs.restapi.service.mapper.EmployeeMapper;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -14,22 +18,25 @@ public class CompanyController {
 
     private final CompanyService companyService;
 
-    public CompanyController(CompanyService companyService) {
+    private final ResponseCache responseCache;
+
+    public CompanyController(CompanyService companyService, ResponseCache responseCache) {
         this.companyService = companyService;
+        this.responseCache = responseCache;
     }
 
     @GetMapping
-    public List<Company> getAllCompanies() {
+    public List<CompanyResponse> getAllCompanies() {
         return companyService.findAll();
     }
 
     @GetMapping(params = {"pageNumber", "pageSize"})
-    public List<Company> getCompaniesByPage(@RequestParam Integer pageNumber, @RequestParam Integer pageSize) {
-        return companyService.findByPage(pageNumber, pageSize);
+    public ResponseEntity<List<CompanyResponse>> getCompaniesByPage(@RequestParam Integer pageNumber, @RequestParam Integer pageSize) {
+        return PageHeaders.ok(companyService.findByPage(pageNumber, pageSize));
     }
 
     @GetMapping("/{id}")
-    public Company getCompanyById(@PathVariable Long id) {
+    public CompanyResponse getCompanyById(@PathVariable Long id) {
         return companyService.findById(id);
     }
 
@@ -47,13 +54,16 @@ public class CompanyController {
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
-    public Company createCompany(@RequestBody Company company) {
+    public CompanyResponse createCompany(@RequestBody Company company) {
         return companyService.create(company);
     }
 
     @GetMapping("/{id}/employees")
-    public List<Employee> getEmployeesByCompanyId(@PathVariable Long id) {
-        return companyService.findEmployeesByCompanyId(id);
+    public ResponseEntity<?> getEmployeesByCompanyId(@PathVariable Long id,
+                                                     @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+                                                     @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return responseCache.respond(ResponseCache.companyEmployeesKey(id), accept, acceptEncoding,
+                () -> EmployeeMapper.toResponse(companyService.findEmployeesByCompanyId(id)));
     }
 
 }
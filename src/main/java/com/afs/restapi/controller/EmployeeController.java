@@ -1,8 +1,17 @@
 package com.afs.restapi.controller;
 
+import com.afs.restapi.cache.ResponseCache;
 import com.afs.restapi.entity.Employee;
+import com.afs.restapi.increment.SalaryIncrementAccumulator;
 import com.afs.restapi.service.EmployeeService;
+import com.afs.restapi.service.dto.EmployeeNameMatch;
+import com.afs.restapi.service.dto.EmployeeResponse;
+import com.afs.restapi.service.dto.SalaryIncrementRequest;
+import com.afs.restapi.service.mapper.EmployeeMapper;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -13,18 +22,32 @@ public class EmployeeController {
 
     private final EmployeeService employeeService;
 
-    public EmployeeController(EmployeeService employeeService) {
+    private final ResponseCache responseCache;
+
+    private final SalaryIncrementAccumulator salaryIncrementAccumulator;
+
+    public EmployeeController(EmployeeService employeeService, ResponseCache responseCache,
+                              ObjectProvider<SalaryIncrementAccumulator> salaryIncrementAccumulator) {
         this.employeeService = employeeService;
+        this.responseCache = responseCache;
+        this.salaryIncrementAccumulator = salaryIncrementAccumulator.getIfAvailable();
     }
 
     @GetMapping
-    public List<Employee> getAllEmployees() {
-        return employeeService.findAll();
+    public List<EmployeeResponse> getAllEmployees() {
+        return EmployeeMapper.toResponse(employeeService.findAll());
+    }
+
+    @GetMapping("/search")
+    public List<EmployeeNameMatch> searchEmployeesByName(@RequestParam String name,
+                                                         @RequestParam(required = false) Long companyId,
+                                                         @RequestParam(defaultValue = "10") int limit) {
+        return employeeService.searchByName(name, companyId, limit);
     }
 
     @GetMapping("/{id}")
-    public Employee getEmployeeById(@PathVariable Long id) {
-        return employeeService.findById(id);
+    public EmployeeResponse getEmployeeById(@PathVariable Long id) {
+        return EmployeeMapper.toResponse(employeeService.findById(id));
     }
 
     @PutMapping("/{id}")
@@ -33,6 +56,16 @@ public class EmployeeController {
         employeeService.update(id, employee);
     }
 
+    @PostMapping("/{id}/salary:increment")
+    public ResponseEntity<EmployeeResponse> incrementSalary(@PathVariable Long id, @RequestBody SalaryIncrementRequest request) {
+        if (salaryIncrementAccumulator != null) {
+            employeeService.checkSalaryIncrement(id, request.getAmount());
+            salaryIncrementAccumulator.add(id, request.getAmount());
+            return ResponseEntity.accepted().build();
+        }
+        return ResponseEntity.ok(EmployeeMapper.toResponse(employeeService.incrementSalary(id, request.getAmount())));
+    }
+
     @DeleteMapping("/{id}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
     public void deleteEmployee(@PathVariable Long id) {
@@ -40,19 +73,22 @@ public class EmployeeController {
     }
 
     @GetMapping(params = "gender")
-    public List<Employee> getEmployeesByGender(@RequestParam String gender) {
-        return employeeService.findAllByGender(gender);
+    public ResponseEntity<?> getEmployeesByGender(@RequestParam String gender,
+                                                  @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+                                                  @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return responseCache.respond(ResponseCache.employeesByGenderKey(gender), accept, acceptEncoding,
+                () -> EmployeeMapper.toResponse(employeeService.findAllByGender(gender)));
     }
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
-    public Employee createEmployee(@RequestBody Employee employee) {
-        return employeeService.create(employee);
+    public EmployeeResponse createEmployee(@RequestBody Employee employee) {
+        return EmployeeMapper.toResponse(employeeService.create(employee));
     }
 
     @GetMapping(params = {"pageNumber", "pageSize"})
-    public List<Employee> findEmployeesByPage(@RequestParam Integer pageNumber, @RequestParam Integer pageSize) {
-        return employeeService.findByPage(pageNumber, pageSize);
+    public ResponseEntity<List<EmployeeResponse>> findEmployeesByPage(@RequestParam Integer pageNumber, @RequestParam Integer pageSize) {
+        return PageHeaders.ok(employeeService.findByPage(pageNumber, pageSize).map(EmployeeMapper::toResponse));
     }
 
 }
@@ -0,0 +1,36 @@
+package com.afs.restapi.controller;
+
+import com.afs.restapi.entity.ImportJob;
+import com.afs.restapi.service.EmployeeImportService;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/imports")
+public class ImportController {
+
+    private final EmployeeImportService employeeImportService;
+
+    public ImportController(EmployeeImportService employeeImportService) {
+        this.employeeImportService = employeeImportService;
+    }
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public ImportJob startImport(@RequestBody Map<String, String> request) {
+        return employeeImportService.start(request.get("path"));
+    }
+
+    @GetMapping("/{id}")
+    public ImportJob getImportJob(@PathVariable Long id) {
+        return employeeImportService.findById(id);
+    }
+
+    @PostMapping("/{id}/resume")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public ImportJob resumeImport(@PathVariable Long id) {
+        return employeeImportService.resume(id);
+    }
+}
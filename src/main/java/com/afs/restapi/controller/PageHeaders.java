@@ -0,0 +1,25 @@
+package com.afs.restapi.controller;
+
+import com.afs.restapi.service.dto.PageResponse;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+/**
+ * Paged responses keep their array body and carry the total in headers, which existing clients ignore.
+ */
+final class PageHeaders {
+
+    static final String TOTAL_COUNT = "X-Total-Count";
+    static final String TOTAL_COUNT_EXACT = "X-Total-Count-Exact";
+
+    private PageHeaders() {
+    }
+
+    static <T> ResponseEntity<List<T>> ok(PageResponse<T> page) {
+        return ResponseEntity.ok()
+                .header(TOTAL_COUNT, String.valueOf(page.getTotal().getValue()))
+                .header(TOTAL_COUNT_EXACT, String.valueOf(page.getTotal().isExact()))
+                .body(page.getContent());
+    }
+}
@@ -0,0 +1,32 @@
+package com.afs.restapi.controller;
+
+import com.afs.restapi.timing.SlowRequest;
+import com.afs.restapi.timing.SlowRequestLog;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/admin/slow-requests")
+@ConditionalOnProperty(name = "server-timing.enabled", havingValue = "true")
+public class SlowRequestController {
+
+    private final SlowRequestLog slowRequestLog;
+
+    public SlowRequestController(SlowRequestLog slowRequestLog) {
+        this.slowRequestLog = slowRequestLog;
+    }
+
+    @GetMapping
+    public List<SlowRequest> getSlowRequests() {
+        return slowRequestLog.newestFirst();
+    }
+
+    @DeleteMapping
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void clearSlowRequests() {
+        slowRequestLog.clear();
+    }
+}
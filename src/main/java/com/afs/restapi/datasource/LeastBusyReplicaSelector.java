@@ -0,0 +1,20 @@
+package com.afs.restapi.datasource;
+
+import java.util.List;
+
+public class LeastBusyReplicaSelector implements ReplicaSelector {
+
+    @Override
+    public int select(List<ActiveConnectionCountingDataSource> replicas) {
+        int selected = 0;
+        int fewestActive = Integer.MAX_VALUE;
+        for (int i = 0; i < replicas.size(); i++) {
+            int active = replicas.get(i).getActiveConnections();
+            if (active < fewestActive) {
+                selected = i;
+                fewestActive = active;
+            }
+        }
+        return selected;
+    }
+}
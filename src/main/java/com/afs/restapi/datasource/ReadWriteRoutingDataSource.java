@@ -0,0 +1,107 @@
+package com.afs.restapi.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Sends read-only transactions to a replica and everything else to the primary. A client whose writes
+ * committed within the read-your-writes window, as tracked by {@link ReadYourWrites}, also reads from the
+ * primary so it sees its own writes despite replication lag; only transactions that actually send a modifying
+ * statement count as writes. Must be wrapped in a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}
+ * so the read-only flag is known by the time a connection is fetched.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final String PRIMARY = "primary";
+    private static final String REPLICA_PREFIX = "replica-";
+
+    private final List<ActiveConnectionCountingDataSource> replicas = new ArrayList<>();
+    private final ReplicaSelector replicaSelector;
+
+    public ReadWriteRoutingDataSource(DataSource primary, List<DataSource> replicaDataSources, ReplicaSelector replicaSelector) {
+        this.replicaSelector = replicaSelector;
+        Map<Object, Object> targetDataSources = new HashMap<>();
+        targetDataSources.put(PRIMARY, primary);
+        for (DataSource replicaDataSource : replicaDataSources) {
+            ActiveConnectionCountingDataSource replica = new ActiveConnectionCountingDataSource(replicaDataSource);
+            targetDataSources.put(REPLICA_PREFIX + replicas.size(), replica);
+            replicas.add(replica);
+        }
+        setTargetDataSources(targetDataSources);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return trackWrites(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return trackWrites(super.getConnection(username, password));
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                || replicas.isEmpty() || ReadYourWrites.readsPinnedToPrimary()) {
+            return PRIMARY;
+        }
+        return REPLICA_PREFIX + replicaSelector.select(replicas);
+    }
+
+    private static Connection trackWrites(Connection connection) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()
+                || TransactionSynchronizationManager.isCurrentTransactionReadOnly() || ReadYourWrites.current() == null) {
+            return connection;
+        }
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    String name = method.getName();
+                    if ((name.equals("prepareStatement") || name.equals("prepareCall")) && isModifying((String) args[0])) {
+                        ReadYourWrites.recordWrite();
+                    }
+                    Object result = invoke(connection, method, args);
+                    return name.equals("createStatement") ? trackWrites((Statement) result) : result;
+                });
+    }
+
+    // plain statements only see their SQL when it is executed or batched
+    private static Statement trackWrites(Statement statement) {
+        return (Statement) Proxy.newProxyInstance(Statement.class.getClassLoader(), new Class<?>[]{Statement.class},
+                (proxy, method, args) -> {
+                    if (method.getName().startsWith("execute") || method.getName().equals("addBatch")) {
+                        if (args != null && args.length > 0 && args[0] instanceof String && isModifying((String) args[0])) {
+                            ReadYourWrites.recordWrite();
+                        }
+                    }
+                    return invoke(statement, method, args);
+                });
+    }
+
+    private static boolean isModifying(String sql) {
+        return !sql.trim().toLowerCase(Locale.ROOT).startsWith("select");
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException exception) {
+            throw exception.getTargetException();
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.afs.restapi.datasource;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.function.Supplier;
+
+/**
+ * The client a thread is currently working for, as far as read-your-writes routing is concerned. A client whose
+ * writes committed recently has its reads served by the primary; everyone else keeps reading from replicas.
+ * {@link ReadYourWritesFilter} binds one per HTTP request; threads without a client never pin reads.
+ */
+public final class ReadYourWrites {
+
+    private static final ThreadLocal<Client> CURRENT = new ThreadLocal<>();
+
+    private ReadYourWrites() {
+    }
+
+    public static Client current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Runs {@code work} on behalf of {@code client}, for work a request hands to other threads.
+     */
+    public static <T> T callAs(Client client, Supplier<T> work) {
+        Client previous = CURRENT.get();
+        bind(client);
+        try {
+            return work.get();
+        } finally {
+            bind(previous);
+        }
+    }
+
+    static void bind(Client client) {
+        if (client == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(client);
+        }
+    }
+
+    static boolean readsPinnedToPrimary() {
+        Client client = CURRENT.get();
+        return client != null && client.isPinned();
+    }
+
+    /**
+     * Called when the current transaction sends a modifying statement: once it commits, the client's later
+     * reads go to the primary.
+     */
+    static void recordWrite() {
+        Client client = CURRENT.get();
+        if (client == null || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                client.committedWrite();
+            }
+        });
+    }
+
+    public static class Client {
+        private final Runnable onCommittedWrite;
+        private boolean pinned;
+        private boolean announced;
+
+        public Client(boolean pinned, Runnable onCommittedWrite) {
+            this.pinned = pinned;
+            this.onCommittedWrite = onCommittedWrite;
+        }
+
+        synchronized boolean isPinned() {
+            return pinned;
+        }
+
+        // a transaction registers one callback per modifying statement; the client is told once
+        private synchronized void committedWrite() {
+            pinned = true;
+            if (!announced) {
+                announced = true;
+                onCommittedWrite.run();
+            }
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.afs.restapi.datasource;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.Cookie;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Scopes the read-your-writes window to the client that wrote. A request whose writes commit gets a cookie
+ * holding the time until which that client's reads stay on the primary; requests carrying an unexpired cookie
+ * read from the primary, all others from the replicas.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    public static final String COOKIE = "primary-reads-until";
+
+    private final Duration window;
+
+    public ReadYourWritesFilter(Duration window) {
+        this.window = window;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        ReadYourWrites.Client client = new ReadYourWrites.Client(pinnedUntil(request) > System.currentTimeMillis(),
+                () -> addCookie(response));
+        ReadYourWrites.bind(client);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            ReadYourWrites.bind(null);
+        }
+    }
+
+    private void addCookie(HttpServletResponse response) {
+        if (response.isCommitted()) {
+            return;
+        }
+        Cookie cookie = new Cookie(COOKIE, String.valueOf(System.currentTimeMillis() + window.toMillis()));
+        cookie.setPath("/");
+        cookie.setHttpOnly(true);
+        cookie.setMaxAge((int) Math.max(1, (window.toMillis() + 999) / 1000));
+        response.addCookie(cookie);
+    }
+
+    private static long pinnedUntil(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return 0;
+        }
+        for (Cookie cookie : cookies) {
+            if (COOKIE.equals(cookie.getName())) {
+                try {
+                    return Long.parseLong(cookie.getValue());
+                } catch (NumberFormatException exception) {
+                    return 0;
+                }
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,8 @@
+package com.afs.restapi.datasource;
+
+import java.util.List;
+
+public interface ReplicaSelector {
+
+    int select(List<ActiveConnectionCountingDataSource> replicas);
+}
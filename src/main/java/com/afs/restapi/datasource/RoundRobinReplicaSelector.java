@@ -0,0 +1,14 @@
+package com.afs.restapi.datasource;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class RoundRobinReplicaSelector implements ReplicaSelector {
+
+    private final AtomicInteger next = new AtomicInteger();
+
+    @Override
+    public int select(List<ActiveConnectionCountingDataSource> replicas) {
+        return Math.floorMod(next.getAndIncrement(), replicas.size());
+    }
+}
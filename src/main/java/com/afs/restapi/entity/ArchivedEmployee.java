@@ -0,0 +1,64 @@
+package com.afs.restapi.entity;
+
+import javax.persistence.Column;
+import javax.persistence.Convert;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
+import java.time.Instant;
+
+/**
+ * An employee moved out of {@code employee} by {@code EmployeeArchiver}, keeping its original id. Read-only:
+ * rows are only ever inserted by the archiver.
+ */
+@Entity
+@Table(name = "employee_archive", indexes = @Index(name = "idx_employee_archive_company_id", columnList = "company_id"))
+public class ArchivedEmployee {
+    @Id
+    private Long id;
+    private String name;
+    private Integer age;
+    @Convert(converter = GenderConverter.class)
+    @Column(name = "gender_code")
+    private Gender gender;
+    private Integer salary;
+    private Long companyId;
+    private Instant deletedAt;
+    private Instant archivedAt;
+
+    protected ArchivedEmployee() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Integer getAge() {
+        return age;
+    }
+
+    public String getGender() {
+        return gender == null ? null : gender.getLabel();
+    }
+
+    public Integer getSalary() {
+        return salary;
+    }
+
+    public Long getCompanyId() {
+        return companyId;
+    }
+
+    public Instant getDeletedAt() {
+        return deletedAt;
+    }
+
+    public Instant getArchivedAt() {
+        return archivedAt;
+    }
+}
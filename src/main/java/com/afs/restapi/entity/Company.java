@@ -1,5 +1,8 @@
 package com.afs.restapi.entity;
 
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Where;
+
 import javax.persistence.*;
 import java.util.List;
 @Entity
@@ -11,6 +14,8 @@ public class Company {
 
     @OneToMany(orphanRemoval = true)
     @JoinColumn(name = "companyId")
+    @BatchSize(size = 100)
+    @Where(clause = "deleted_at IS NULL")
     private List<Employee> employees;
     public Company() {
     }
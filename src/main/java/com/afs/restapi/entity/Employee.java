@@ -1,21 +1,38 @@
 package com.afs.restapi.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import org.hibernate.annotations.Where;
+
+import javax.persistence.Column;
+import javax.persistence.Convert;
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
+import java.time.Instant;
 
 @Entity
+@Table(indexes = {@Index(name = "idx_employee_gender_code", columnList = "gender_code"),
+        @Index(name = "idx_employee_deleted_at", columnList = "deleted_at")})
+// soft-deleted employees wait in the table for the archiver, invisible to every entity query
+@Where(clause = "deleted_at IS NULL")
 public class Employee {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
     private String name;
     private Integer age;
-    private String gender;
+    @Convert(converter = GenderConverter.class)
+    @Column(name = "gender_code")
+    private Gender gender;
     private Integer salary;
     private Long companyId;
 
+    @JsonIgnore
+    private Instant deletedAt;
+
     public Employee() {
     }
 
@@ -23,7 +40,7 @@ public class Employee {
         this.id = id;
         this.name = name;
         this.age = age;
-        this.gender = gender;
+        setGender(gender);
         this.salary = salary;
     }
 
@@ -39,8 +56,9 @@ public class Employee {
         this.age = age;
     }
 
+    // the API keeps speaking gender labels; only the column holds the code
     public void setGender(String gender) {
-        this.gender = gender;
+        this.gender = gender == null ? null : Gender.parse(gender);
     }
 
     public void setSalary(Integer salary) {
@@ -60,7 +78,7 @@ public class Employee {
     }
 
     public String getGender() {
-        return gender;
+        return gender == null ? null : gender.getLabel();
     }
 
     public Integer getSalary() {
@@ -74,4 +92,12 @@ public class Employee {
     public void setCompanyId(Long companyId) {
         this.companyId = companyId;
     }
+
+    public Instant getDeletedAt() {
+        return deletedAt;
+    }
+
+    public void setDeletedAt(Instant deletedAt) {
+        this.deletedAt = deletedAt;
+    }
 }
@@ -0,0 +1,61 @@
+package com.afs.restapi.entity;
+
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import java.time.Instant;
+
+@Entity
+public class EmployeeChange {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    private Long employeeId;
+    @Enumerated(EnumType.STRING)
+    private EmployeeChangeOperation operation;
+    private Instant changedAt;
+
+    public EmployeeChange() {
+    }
+
+    public EmployeeChange(Long employeeId, EmployeeChangeOperation operation) {
+        this.employeeId = employeeId;
+        this.operation = operation;
+        this.changedAt = Instant.now();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getEmployeeId() {
+        return employeeId;
+    }
+
+    public void setEmployeeId(Long employeeId) {
+        this.employeeId = employeeId;
+    }
+
+    public EmployeeChangeOperation getOperation() {
+        return operation;
+    }
+
+    public void setOperation(EmployeeChangeOperation operation) {
+        this.operation = operation;
+    }
+
+    public Instant getChangedAt() {
+        return changedAt;
+    }
+
+    public void setChangedAt(Instant changedAt) {
+        this.changedAt = changedAt;
+    }
+}
@@ -0,0 +1,8 @@
+package com.afs.restapi.entity;
+
+public enum EmployeeChangeOperation {
+    UPSERT,
+    DELETE,
+    // many rows changed at once, readers should reload everything
+    RESET
+}
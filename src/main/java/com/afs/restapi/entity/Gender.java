@@ -0,0 +1,56 @@
+package com.afs.restapi.entity;
+
+/**
+ * Employee gender, stored as a small integer code and exchanged over the API as its label. Labels are matched
+ * case-insensitively, so legacy values such as {@code "female"} still parse.
+ */
+public enum Gender {
+    MALE((short) 1, "Male"),
+    FEMALE((short) 2, "Female"),
+    OTHER((short) 3, "Other");
+
+    public static final String LABEL_RULE_MESSAGE = "gender must be one of Male, Female, Other";
+
+    private final short code;
+    private final String label;
+
+    Gender(short code, String label) {
+        this.code = code;
+        this.label = label;
+    }
+
+    public short getCode() {
+        return code;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public static Gender fromCode(short code) {
+        for (Gender gender : values()) {
+            if (gender.code == code) {
+                return gender;
+            }
+        }
+        throw new IllegalArgumentException("unknown gender code " + code);
+    }
+
+    /** Returns null for a label that names no gender. */
+    public static Gender fromLabel(String label) {
+        for (Gender gender : values()) {
+            if (gender.label.equalsIgnoreCase(label)) {
+                return gender;
+            }
+        }
+        return null;
+    }
+
+    public static Gender parse(String label) {
+        Gender gender = fromLabel(label);
+        if (gender == null) {
+            throw new IllegalArgumentException(LABEL_RULE_MESSAGE);
+        }
+        return gender;
+    }
+}
@@ -0,0 +1,18 @@
+package com.afs.restapi.entity;
+
+import javax.persistence.AttributeConverter;
+import javax.persistence.Converter;
+
+@Converter
+public class GenderConverter implements AttributeConverter<Gender, Short> {
+
+    @Override
+    public Short convertToDatabaseColumn(Gender gender) {
+        return gender == null ? null : gender.getCode();
+    }
+
+    @Override
+    public Gender convertToEntityAttribute(Short code) {
+        return code == null ? null : Gender.fromCode(code);
+    }
+}
@@ -0,0 +1,139 @@
+package com.afs.restapi.entity;
+
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Transient;
+import java.util.ArrayList;
+import java.util.List;
+
+@Entity
+public class ImportJob {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    private String path;
+    @Enumerated(EnumType.STRING)
+    private ImportJobStatus status;
+    private Long fileSize;
+    private Long byteOffset;
+    private Long lineNumber;
+    private Long rowsImported;
+    private Long rowsRejected;
+    private Long elapsedMillis;
+    private String failureMessage;
+    @Transient
+    private List<String> sampleRejects = new ArrayList<>();
+
+    public ImportJob() {
+    }
+
+    public ImportJob(String path, long fileSize) {
+        this.path = path;
+        this.fileSize = fileSize;
+        this.status = ImportJobStatus.QUEUED;
+        this.byteOffset = 0L;
+        this.lineNumber = 0L;
+        this.rowsImported = 0L;
+        this.rowsRejected = 0L;
+        this.elapsedMillis = 0L;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public void setPath(String path) {
+        this.path = path;
+    }
+
+    public ImportJobStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(ImportJobStatus status) {
+        this.status = status;
+    }
+
+    public Long getFileSize() {
+        return fileSize;
+    }
+
+    public void setFileSize(Long fileSize) {
+        this.fileSize = fileSize;
+    }
+
+    public Long getByteOffset() {
+        return byteOffset;
+    }
+
+    public void setByteOffset(Long byteOffset) {
+        this.byteOffset = byteOffset;
+    }
+
+    public Long getLineNumber() {
+        return lineNumber;
+    }
+
+    public void setLineNumber(Long lineNumber) {
+        this.lineNumber = lineNumber;
+    }
+
+    public Long getRowsImported() {
+        return rowsImported;
+    }
+
+    public void setRowsImported(Long rowsImported) {
+        this.rowsImported = rowsImported;
+    }
+
+    public Long getRowsRejected() {
+        return rowsRejected;
+    }
+
+    public void setRowsRejected(Long rowsRejected) {
+        this.rowsRejected = rowsRejected;
+    }
+
+    public Long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public void setElapsedMillis(Long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public String getFailureMessage() {
+        return failureMessage;
+    }
+
+    public void setFailureMessage(String failureMessage) {
+        this.failureMessage = failureMessage;
+    }
+
+    public List<String> getSampleRejects() {
+        return sampleRejects;
+    }
+
+    public void setSampleRejects(List<String> sampleRejects) {
+        this.sampleRejects = sampleRejects;
+    }
+
+    public double getRowsPerSecond() {
+        if (elapsedMillis == null || elapsedMillis == 0) {
+            return 0;
+        }
+        return (rowsImported + rowsRejected) * 1000.0 / elapsedMillis;
+    }
+}
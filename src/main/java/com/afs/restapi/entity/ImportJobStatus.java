@@ -0,0 +1,9 @@
+package com.afs.restapi.entity;
+
+public enum ImportJobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED,
+    INTERRUPTED
+}
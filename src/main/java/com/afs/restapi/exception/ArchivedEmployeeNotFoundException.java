@@ -0,0 +1,11 @@
+package com.afs.restapi.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.NOT_FOUND)
+public class ArchivedEmployeeNotFoundException extends RuntimeException {
+    public ArchivedEmployeeNotFoundException() {
+        super("archived employee id not found");
+    }
+}
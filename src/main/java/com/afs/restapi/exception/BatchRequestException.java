@@ -0,0 +1,12 @@
+package com.afs.restapi.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class BatchRequestException extends RuntimeException {
+
+    public BatchRequestException(String message) {
+        super(message);
+    }
+}
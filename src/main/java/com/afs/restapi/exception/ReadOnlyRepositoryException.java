@@ -0,0 +1,12 @@
+package com.afs.restapi.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class ReadOnlyRepositoryException extends UnsupportedOperationException {
+
+    public ReadOnlyRepositoryException() {
+        super("this node serves employees read-only; send writes to a writing node");
+    }
+}
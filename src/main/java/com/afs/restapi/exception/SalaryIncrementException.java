@@ -0,0 +1,12 @@
+package com.afs.restapi.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.CONFLICT)
+public class SalaryIncrementException extends RuntimeException {
+
+    public SalaryIncrementException(String message) {
+        super(message);
+    }
+}
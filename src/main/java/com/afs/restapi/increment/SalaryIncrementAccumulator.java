@@ -0,0 +1,99 @@
+package com.afs.restapi.increment;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * Collects salary increments in memory and applies the sum per employee on each flush, so a burst of increments
+ * to a hot row costs one UPDATE per flush interval instead of one per request. Callers add to one of several
+ * stripes picked by their thread, so concurrent increments rarely wait on each other even for the same employee;
+ * a flush swaps every stripe for an empty one and adds up what it took.
+ * <p>
+ * Increments are acknowledged before they reach the database: they are lost if the process dies before the next
+ * flush. Callers check each increment against the current row before adding it, but a sum whose employee was deleted
+ * meanwhile, or that leaves the salary out of range once combined, is still dropped with a warning.
+ */
+public class SalaryIncrementAccumulator implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(SalaryIncrementAccumulator.class);
+
+    private final ObjIntConsumer<Long> target;
+    private final Stripe[] stripes;
+    private final ScheduledExecutorService flusher;
+
+    public SalaryIncrementAccumulator(ObjIntConsumer<Long> target, int stripeCount, Duration flushInterval) {
+        this.target = target;
+        // a power of two, so a thread's stripe is its id masked
+        this.stripes = new Stripe[stripeCount <= 1 ? 1 : Integer.highestOneBit(stripeCount - 1) << 1];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new Stripe();
+        }
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "salary-increment-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (!flushInterval.isZero()) {
+            long millis = flushInterval.toMillis();
+            flusher.scheduleWithFixedDelay(this::flush, millis, millis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public void add(Long id, int amount) {
+        Stripe stripe = stripes[(int) Thread.currentThread().getId() & (stripes.length - 1)];
+        synchronized (stripe) {
+            stripe.deltas.merge(id, (long) amount, Long::sum);
+        }
+    }
+
+    /**
+     * Applies everything added so far. Flushes run one at a time, so a scheduled flush and the one at shutdown
+     * never apply the same sum twice.
+     */
+    public synchronized void flush() {
+        Map<Long, Long> totals = new HashMap<>();
+        for (Stripe stripe : stripes) {
+            Map<Long, Long> drained;
+            synchronized (stripe) {
+                drained = stripe.deltas;
+                stripe.deltas = new HashMap<>();
+            }
+            drained.forEach((id, delta) -> totals.merge(id, delta, Long::sum));
+        }
+        totals.forEach(this::apply);
+    }
+
+    @Override
+    public void destroy() {
+        flusher.shutdownNow();
+        flush();
+    }
+
+    private void apply(Long id, long total) {
+        long remaining = total;
+        while (remaining != 0) {
+            // sums beyond the int range go in several increments
+            int amount = (int) Math.max(Integer.MIN_VALUE + 1, Math.min(Integer.MAX_VALUE, remaining));
+            try {
+                target.accept(id, amount);
+            } catch (RuntimeException exception) {
+                log.warn("Dropped salary increment of {} for employee {}: {}", remaining, id, exception.getMessage());
+                return;
+            }
+            remaining -= amount;
+        }
+    }
+
+    private static final class Stripe {
+        private Map<Long, Long> deltas = new HashMap<>();
+    }
+}
@@ -0,0 +1,19 @@
+package com.afs.restapi.paging;
+
+public class PageTotal {
+    private final long value;
+    private final boolean exact;
+
+    public PageTotal(long value, boolean exact) {
+        this.value = value;
+        this.exact = exact;
+    }
+
+    public long getValue() {
+        return value;
+    }
+
+    public boolean isExact() {
+        return exact;
+    }
+}
@@ -0,0 +1,128 @@
+package com.afs.restapi.paging;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Slice;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Row totals for paged responses, so a page costs one query and no {@code COUNT(*)}. Each table is counted when
+ * the application is ready and again every {@code page-totals.refresh-interval}; in between, the writes of this
+ * process move the total as they commit. Writes from other nodes, and company deletes, which remove an unknown
+ * number of employees, only show up at the next count, so a counted total is reported as approximate. A page
+ * that reaches the end of the table proves the total, which is then exact.
+ */
+@Component
+public class PageTotals implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(PageTotals.class);
+
+    public enum Table {
+        EMPLOYEE("SELECT COUNT(*) FROM employee WHERE deleted_at IS NULL"),
+        COMPANY("SELECT COUNT(*) FROM company");
+
+        private final String countQuery;
+
+        Table(String countQuery) {
+            this.countQuery = countQuery;
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Duration refreshInterval;
+    // -1 until the first count
+    private final Map<Table, AtomicLong> totals = new EnumMap<>(Table.class);
+    private final ScheduledExecutorService refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "page-totals-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public PageTotals(JdbcTemplate jdbcTemplate, @Value("${page-totals.refresh-interval:60s}") Duration refreshInterval) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.refreshInterval = refreshInterval;
+        for (Table table : Table.values()) {
+            totals.put(table, new AtomicLong(-1));
+        }
+    }
+
+    // counting waits for the schema, which Hibernate or Flyway may still be creating before the application is ready
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        refresher.submit(this::refreshQuietly);
+        if (!refreshInterval.isZero()) {
+            long millis = refreshInterval.toMillis();
+            refresher.scheduleWithFixedDelay(this::refreshQuietly, millis, millis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public void refresh() {
+        for (Table table : Table.values()) {
+            totals.get(table).set(jdbcTemplate.queryForObject(table.countQuery, Long.class));
+        }
+    }
+
+    /**
+     * The total for a page of the table: exact when the page reaches the end of the table, otherwise the maintained
+     * count, raised to what the page itself proves exists.
+     */
+    public PageTotal totalOf(Table table, Slice<?> slice) {
+        long offset = slice.getPageable().isPaged() ? slice.getPageable().getOffset() : 0;
+        long seen = offset + slice.getNumberOfElements();
+        if (!slice.hasNext() && (slice.hasContent() || offset == 0)) {
+            return new PageTotal(seen, true);
+        }
+        long counted = totals.get(table).get();
+        if (!slice.hasContent()) {
+            // past the end: the table has at most offset rows
+            return new PageTotal(Math.min(Math.max(counted, 0), offset), false);
+        }
+        return new PageTotal(Math.max(counted, seen + 1), false);
+    }
+
+    /**
+     * Adds {@code delta} rows to the table's total once the current transaction commits.
+     */
+    public void recordChange(Table table, long delta) {
+        Runnable change = () -> totals.get(table).getAndUpdate(total -> total < 0 ? total : Math.max(0, total + delta));
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            change.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                change.run();
+            }
+        });
+    }
+
+    @Override
+    public void destroy() {
+        refresher.shutdownNow();
+    }
+
+    private void refreshQuietly() {
+        try {
+            refresh();
+        } catch (RuntimeException exception) {
+            // keep the maintained totals and count again on the next tick
+            log.warn("Counting rows for page totals failed", exception);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.afs.restapi.repository;
+
+import com.afs.restapi.entity.ArchivedEmployee;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ArchivedEmployeeJpaRepository extends JpaRepository<ArchivedEmployee, Long> {
+
+    Page<ArchivedEmployee> findByCompanyId(Long companyId, Pageable pageable);
+}
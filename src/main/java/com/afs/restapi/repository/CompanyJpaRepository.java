@@ -1,7 +1,10 @@
 package com.afs.restapi.repository;
 
 import com.afs.restapi.entity.Company;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 public interface CompanyJpaRepository extends JpaRepository<Company,Long> {
+    Slice<Company> findAllBy(Pageable pageable);
 }
@@ -0,0 +1,14 @@
+package com.afs.restapi.repository;
+
+import com.afs.restapi.entity.Employee;
+
+import java.util.List;
+
+/**
+ * Bulk insert for the employee table, implemented with one JDBC batch by {@link EmployeeBulkInsertImpl}
+ * instead of persisting an entity per row.
+ */
+public interface EmployeeBulkInsert {
+
+    void insertAll(List<Employee> employees);
+}
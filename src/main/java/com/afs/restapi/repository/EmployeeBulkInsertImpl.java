@@ -0,0 +1,32 @@
+package com.afs.restapi.repository;
+
+import com.afs.restapi.entity.Employee;
+import com.afs.restapi.entity.Gender;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Types;
+import java.util.List;
+import java.util.stream.Collectors;
+
+class EmployeeBulkInsertImpl implements EmployeeBulkInsert {
+
+    private static final String INSERT_EMPLOYEE =
+            "INSERT INTO employee (name, age, gender_code, salary, company_id) VALUES (?, ?, ?, ?, ?)";
+    private static final int[] TYPES = {Types.VARCHAR, Types.INTEGER, Types.SMALLINT, Types.INTEGER, Types.BIGINT};
+
+    private final JdbcTemplate jdbcTemplate;
+
+    EmployeeBulkInsertImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void insertAll(List<Employee> employees) {
+        List<Object[]> rows = employees.stream()
+                .map(employee -> new Object[]{employee.getName(), employee.getAge(),
+                        employee.getGender() == null ? null : Gender.parse(employee.getGender()).getCode(),
+                        employee.getSalary(), employee.getCompanyId()})
+                .collect(Collectors.toList());
+        jdbcTemplate.batchUpdate(INSERT_EMPLOYEE, rows, TYPES);
+    }
+}
@@ -0,0 +1,16 @@
+package com.afs.restapi.repository;
+
+import com.afs.restapi.entity.EmployeeChange;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+
+public interface EmployeeChangeJpaRepository extends JpaRepository<EmployeeChange, Long> {
+
+    @Modifying
+    @Query("DELETE FROM EmployeeChange c WHERE c.changedAt < :cutoff")
+    int deleteChangedBefore(@Param("cutoff") Instant cutoff);
+}
@@ -0,0 +1,62 @@
+package com.afs.restapi.repository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Fills {@code gender_code} for employees written while gender was still a VARCHAR label. Databases migrated by
+ * Flyway get this from V5, but {@code ddl-auto: update} only adds an empty column, which would leave those
+ * employees without a gender and out of every gender filter. The backfill runs once the schema is up to date and
+ * before requests are served, and only touches rows that have a label but no code, so later starts find nothing.
+ */
+@Component
+// Hibernate adds gender_code while the entity manager factory starts
+@DependsOn("entityManagerFactory")
+public class EmployeeGenderBackfill implements InitializingBean {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeGenderBackfill.class);
+
+    private static final String BACKFILL = "UPDATE employee SET gender_code = CASE " +
+            "WHEN LOWER(TRIM(gender)) IN ('male', 'm') THEN 1 " +
+            "WHEN LOWER(TRIM(gender)) IN ('female', 'f') THEN 2 " +
+            "ELSE 3 END " +
+            "WHERE gender_code IS NULL AND gender IS NOT NULL";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public EmployeeGenderBackfill(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (!Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) EmployeeGenderBackfill::hasLegacyGenderColumn))) {
+            return;
+        }
+        int updated = jdbcTemplate.update(BACKFILL);
+        if (updated > 0) {
+            log.info("Converted the gender of {} employees to gender codes", updated);
+        }
+    }
+
+    private static boolean hasLegacyGenderColumn(Connection connection) throws SQLException {
+        // identifiers are stored upper case by H2 and as written by MySQL
+        for (String[] names : new String[][]{{"employee", "gender"}, {"EMPLOYEE", "GENDER"}}) {
+            try (ResultSet columns = connection.getMetaData().getColumns(connection.getCatalog(), null, names[0], names[1])) {
+                if (columns.next()) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
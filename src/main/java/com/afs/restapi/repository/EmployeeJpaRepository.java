@@ -1,14 +1,64 @@
 package com.afs.restapi.repository;
 
 import com.afs.restapi.entity.Employee;
+import com.afs.restapi.entity.Gender;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.util.Collections;
 import java.util.List;
 
+import static org.hibernate.jpa.QueryHints.HINT_FLUSH_MODE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
+
 @Repository
-public interface EmployeeJpaRepository extends JpaRepository<Employee,Long> {
-    List<Employee> findAllByGender(String gender);
+public interface EmployeeJpaRepository extends JpaRepository<Employee,Long>, EmployeeRepository, EmployeeBulkInsert {
+    // list finders only serve reads, so their results skip snapshots even outside a read-only transaction;
+    // findById is left writable because update() modifies the entity it returns
+    @QueryHints({@QueryHint(name = HINT_READONLY, value = "true"), @QueryHint(name = HINT_FLUSH_MODE, value = "COMMIT")})
+    List<Employee> findAllByGender(Gender gender);
+
+    @Override
+    default List<Employee> findAllByGender(String gender) {
+        Gender code = Gender.fromLabel(gender);
+        return code == null ? Collections.emptyList() : findAllByGender(code);
+    }
 
+    @QueryHints({@QueryHint(name = HINT_READONLY, value = "true"), @QueryHint(name = HINT_FLUSH_MODE, value = "COMMIT")})
     List<Employee> findByCompanyId(Long id);
+
+    @QueryHints({@QueryHint(name = HINT_READONLY, value = "true"), @QueryHint(name = HINT_FLUSH_MODE, value = "COMMIT")})
+    Slice<Employee> findAllBy(Pageable pageable);
+
+    @Override
+    default Slice<Employee> findSlice(Pageable pageable) {
+        return findAllBy(pageable);
+    }
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Employee e SET e.salary = e.salary + :amount " +
+            "WHERE e.id = :id AND e.salary BETWEEN :lowestSalary AND :highestSalary")
+    int incrementSalary(@Param("id") Long id, @Param("amount") int amount,
+                        @Param("lowestSalary") int lowestSalary, @Param("highestSalary") int highestSalary);
+
+    @Override
+    default int incrementSalary(Long id, int amount) {
+        if (amount == Integer.MIN_VALUE) {
+            return 0;
+        }
+        return incrementSalary(id, amount, EmployeeRepository.lowestSalaryToIncrement(amount),
+                EmployeeRepository.highestSalaryToIncrement(amount));
+    }
+
+    // orphan removal on Company.employees already deletes these rows together with the company
+    @Override
+    default void deleteByCompanyId(Long companyId) {
+    }
 }
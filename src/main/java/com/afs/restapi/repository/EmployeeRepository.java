@@ -0,0 +1,69 @@
+package com.afs.restapi.repository;
+
+import com.afs.restapi.entity.Employee;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * The employee operations the services rely on. {@link EmployeeJpaRepository} is the default implementation;
+ * alternative storage layouts implement this contract and are registered as the primary bean.
+ */
+public interface EmployeeRepository {
+
+    List<Employee> findAll();
+
+    Page<Employee> findAll(Pageable pageable);
+
+    /**
+     * A page without its total. Implementations that would otherwise count the table on every page override this
+     * to read one row past the page instead.
+     */
+    default Slice<Employee> findSlice(Pageable pageable) {
+        return findAll(pageable);
+    }
+
+    Optional<Employee> findById(Long id);
+
+    List<Employee> findAllByGender(String gender);
+
+    List<Employee> findByCompanyId(Long id);
+
+    <S extends Employee> S save(S employee);
+
+    void deleteById(Long id);
+
+    /**
+     * Inserts new employees in bulk, in the caller's transaction, without returning their ids.
+     */
+    void insertAll(List<Employee> employees);
+
+    /**
+     * Adds {@code amount} to the salary with one conditional UPDATE, so concurrent increments cannot overwrite each
+     * other. Returns 0 and changes nothing when the employee is missing, has no salary, or the result would fall
+     * outside 0..{@link Integer#MAX_VALUE}. The UPDATE runs in the caller's transaction, and reads made later in
+     * that transaction go through the same connection, so the row stays locked and its salary is exactly this
+     * increment's result until the transaction ends.
+     */
+    int incrementSalary(Long id, int amount);
+
+    /**
+     * Deletes the employees of a company that is being deleted, in the caller's transaction.
+     */
+    void deleteByCompanyId(Long companyId);
+
+    void deleteAll();
+
+    // incrementSalary bounds the current salary rather than the sum, which could overflow in SQL;
+    // callers skip Integer.MIN_VALUE, which no salary can absorb
+    static int lowestSalaryToIncrement(int amount) {
+        return amount >= 0 ? 0 : -amount;
+    }
+
+    static int highestSalaryToIncrement(int amount) {
+        return amount >= 0 ? Integer.MAX_VALUE - amount : Integer.MAX_VALUE;
+    }
+}
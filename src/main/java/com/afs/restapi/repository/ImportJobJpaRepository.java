@@ -0,0 +1,11 @@
+package com.afs.restapi.repository;
+
+import com.afs.restapi.entity.ImportJob;
+import com.afs.restapi.entity.ImportJobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface ImportJobJpaRepository extends JpaRepository<ImportJob, Long> {
+    List<ImportJob> findAllByStatusIn(List<ImportJobStatus> statuses);
+}
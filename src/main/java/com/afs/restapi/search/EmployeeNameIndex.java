@@ -0,0 +1,256 @@
+package com.afs.restapi.search;
+
+import com.afs.restapi.service.dto.EmployeeNameMatch;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Finds employees by part of their name without touching the database. Names are compared case- and
+ * accent-insensitively. Two structures answer a query:
+ * <ul>
+ *     <li>a sorted map of names, overall and per company, which returns prefix matches in name order with one
+ *     range lookup;</li>
+ *     <li>trigram posting lists, which find names containing the query anywhere: the query's rarest trigram
+ *     supplies the candidates and each is checked against the full name.</li>
+ * </ul>
+ * Prefix matches come first; substring matches fill the rest of the limit, so queries shorter than three
+ * characters match prefixes only. Both stop at the limit, so a query reads about {@code limit} entries
+ * when matches are common. When they are not, the substring search checks the rarest posting list, or the
+ * company's names if that is shorter, but never more than {@link #DEFAULT_MAX_SUBSTRING_CANDIDATES} names: a
+ * query made only of very common trigrams may then miss substring matches rather than walk most of the index.
+ */
+public class EmployeeNameIndex {
+
+    public static final int DEFAULT_MAX_SUBSTRING_CANDIDATES = 10_000;
+
+    private static final int GRAM = 3;
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private final NavigableMap<String, Long> names = new TreeMap<>();
+    private final Map<Long, NavigableMap<String, Long>> companyNames = new HashMap<>();
+    private final Map<Long, Posting> postings = new HashMap<>();
+    private final int maxSubstringCandidates;
+
+    public EmployeeNameIndex() {
+        this(DEFAULT_MAX_SUBSTRING_CANDIDATES);
+    }
+
+    public EmployeeNameIndex(int maxSubstringCandidates) {
+        this.maxSubstringCandidates = maxSubstringCandidates;
+    }
+
+    public void put(Long id, String name, Long companyId) {
+        lock.writeLock().lock();
+        try {
+            Entry previous = entries.get(id);
+            if (previous != null && previous.name.equals(name) && Objects.equals(previous.companyId, companyId)) {
+                return;
+            }
+            removeEntry(id);
+            if (name != null) {
+                addEntry(id, new Entry(name, normalize(name), companyId, id));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            removeEntry(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeCompany(Long companyId) {
+        lock.writeLock().lock();
+        try {
+            NavigableMap<String, Long> employees = companyNames.get(companyId);
+            if (employees != null) {
+                new ArrayList<>(employees.values()).forEach(this::removeEntry);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns up to {@code limit} employees whose name contains {@code query}, optionally only those of one company.
+     */
+    public List<EmployeeNameMatch> search(String query, Long companyId, int limit) {
+        String normalized = query == null ? "" : normalize(query.trim());
+        if (normalized.isEmpty() || limit <= 0) {
+            return Collections.emptyList();
+        }
+        lock.readLock().lock();
+        try {
+            Set<Long> ids = new LinkedHashSet<>();
+            NavigableMap<String, Long> scope = companyId == null ? names : companyNames.get(companyId);
+            if (scope == null) {
+                return Collections.emptyList();
+            }
+            for (Long id : scope.subMap(normalized, true, normalized + Character.MAX_VALUE, false).values()) {
+                if (ids.size() == limit) {
+                    break;
+                }
+                ids.add(id);
+            }
+            if (ids.size() < limit && normalized.length() >= GRAM) {
+                addSubstringMatches(normalized, companyId, limit, ids);
+            }
+            List<EmployeeNameMatch> matches = new ArrayList<>(ids.size());
+            for (Long id : ids) {
+                Entry entry = entries.get(id);
+                matches.add(new EmployeeNameMatch(id, entry.name, entry.companyId));
+            }
+            return matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void addSubstringMatches(String normalized, Long companyId, int limit, Set<Long> ids) {
+        Posting rarest = null;
+        for (long gram : grams(normalized)) {
+            Posting posting = postings.get(gram);
+            if (posting == null) {
+                return;
+            }
+            if (rarest == null || posting.size < rarest.size) {
+                rarest = posting;
+            }
+        }
+        NavigableMap<String, Long> company = companyId == null ? null : companyNames.get(companyId);
+        if (company != null && company.size() < rarest.size) {
+            int checked = 0;
+            for (Long id : company.values()) {
+                if (ids.size() == limit || checked++ == maxSubstringCandidates) {
+                    return;
+                }
+                if (entries.get(id).normalized.contains(normalized)) {
+                    ids.add(id);
+                }
+            }
+            return;
+        }
+        int candidates = Math.min(rarest.size, maxSubstringCandidates);
+        for (int i = 0; i < candidates && ids.size() < limit; i++) {
+            Entry entry = entries.get(rarest.ids[i]);
+            if ((companyId == null || companyId.equals(entry.companyId)) && entry.normalized.contains(normalized)) {
+                ids.add(rarest.ids[i]);
+            }
+        }
+    }
+
+    private void addEntry(Long id, Entry entry) {
+        entries.put(id, entry);
+        names.put(entry.key, id);
+        if (entry.companyId != null) {
+            companyNames.computeIfAbsent(entry.companyId, key -> new TreeMap<>()).put(entry.key, id);
+        }
+        for (long gram : grams(entry.normalized)) {
+            postings.computeIfAbsent(gram, key -> new Posting()).add(id);
+        }
+    }
+
+    private void removeEntry(Long id) {
+        Entry entry = entries.remove(id);
+        if (entry == null) {
+            return;
+        }
+        names.remove(entry.key);
+        if (entry.companyId != null) {
+            NavigableMap<String, Long> employees = companyNames.get(entry.companyId);
+            employees.remove(entry.key);
+            if (employees.isEmpty()) {
+                companyNames.remove(entry.companyId);
+            }
+        }
+        for (long gram : grams(entry.normalized)) {
+            Posting posting = postings.get(gram);
+            posting.remove(id);
+            if (posting.size == 0) {
+                postings.remove(gram);
+            }
+        }
+    }
+
+    static String normalize(String name) {
+        return MARKS.matcher(Normalizer.normalize(name, Normalizer.Form.NFD)).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    // the distinct trigrams of a name, each packed into the low 48 bits of a long
+    private static Set<Long> grams(String normalized) {
+        Set<Long> grams = new HashSet<>();
+        for (int i = 0; i + GRAM <= normalized.length(); i++) {
+            grams.add(((long) normalized.charAt(i) << 32) | ((long) normalized.charAt(i + 1) << 16) | normalized.charAt(i + 2));
+        }
+        return grams;
+    }
+
+    private static final class Entry {
+        private final String name;
+        private final String normalized;
+        private final Long companyId;
+        // sorts by name; the id keeps namesakes apart
+        private final String key;
+
+        private Entry(String name, String normalized, Long companyId, Long id) {
+            this.name = name;
+            this.normalized = normalized;
+            this.companyId = companyId;
+            this.key = normalized + '\0' + id;
+        }
+    }
+
+    // ids in no particular order; removal moves the last id into the gap
+    private static final class Posting {
+        private long[] ids = new long[4];
+        private int size;
+
+        private void add(long id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+        }
+
+        private void remove(long id) {
+            for (int i = 0; i < size; i++) {
+                if (ids[i] == id) {
+                    ids[i] = ids[--size];
+                    return;
+                }
+            }
+        }
+    }
+}
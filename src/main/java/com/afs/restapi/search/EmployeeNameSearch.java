@@ -0,0 +1,99 @@
+package com.afs.restapi.search;
+
+import com.afs.restapi.service.dto.EmployeeNameMatch;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Keeps an {@link EmployeeNameIndex} of every employee. One streaming scan of {@code employee} fills it at
+ * startup and after each bulk import; {@code EmployeeService} and {@code CompanyService} report each committed
+ * change. A change committed while a scan runs is applied to the current index and replayed onto the scanned one
+ * before it takes over; replaying is safe because every change sets an employee's final entry. The scan reads only
+ * the primary employee table.
+ */
+@Component
+public class EmployeeNameSearch {
+
+    public static final int MAX_LIMIT = 100;
+
+    private static final int FETCH_SIZE = 10_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Object rebuildLock = new Object();
+    private volatile EmployeeNameIndex index = new EmployeeNameIndex();
+    // changes committed while a rebuild scans; null when no rebuild runs
+    private List<Consumer<EmployeeNameIndex>> changesDuringRebuild;
+
+    public EmployeeNameSearch(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            synchronized (this) {
+                changesDuringRebuild = new ArrayList<>();
+            }
+            try {
+                EmployeeNameIndex scanned = new EmployeeNameIndex();
+                JdbcTemplate streaming = new JdbcTemplate(jdbcTemplate.getDataSource());
+                streaming.setFetchSize(FETCH_SIZE);
+                streaming.query("SELECT id, name, company_id FROM employee WHERE deleted_at IS NULL", resultSet -> {
+                    scanned.put(resultSet.getLong("id"), resultSet.getString("name"), resultSet.getObject("company_id", Long.class));
+                });
+                synchronized (this) {
+                    changesDuringRebuild.forEach(change -> change.accept(scanned));
+                    index = scanned;
+                }
+            } finally {
+                synchronized (this) {
+                    changesDuringRebuild = null;
+                }
+            }
+        }
+    }
+
+    public List<EmployeeNameMatch> search(String name, Long companyId, int limit) {
+        return index.search(name, companyId, Math.min(limit, MAX_LIMIT));
+    }
+
+    public void recordSaved(Long id, String name, Long companyId) {
+        afterCommit(target -> target.put(id, name, companyId));
+    }
+
+    public void recordDeleted(Long id) {
+        afterCommit(target -> target.remove(id));
+    }
+
+    public void recordCompanyDeleted(Long companyId) {
+        afterCommit(target -> target.removeCompany(companyId));
+    }
+
+    private void afterCommit(Consumer<EmployeeNameIndex> change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(change);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply(change);
+            }
+        });
+    }
+
+    private synchronized void apply(Consumer<EmployeeNameIndex> change) {
+        change.accept(index);
+        if (changesDuringRebuild != null) {
+            changesDuringRebuild.add(change);
+        }
+    }
+}
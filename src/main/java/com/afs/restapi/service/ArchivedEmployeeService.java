@@ -0,0 +1,39 @@
+package com.afs.restapi.service;
+
+import com.afs.restapi.exception.ArchivedEmployeeNotFoundException;
+import com.afs.restapi.repository.ArchivedEmployeeJpaRepository;
+import com.afs.restapi.service.dto.ArchivedEmployeeResponse;
+import com.afs.restapi.service.mapper.ArchivedEmployeeMapper;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Reads the cold {@code employee_archive} table, which only the archiver writes.
+ */
+@Service
+public class ArchivedEmployeeService {
+
+    private final ArchivedEmployeeJpaRepository archivedEmployeeJpaRepository;
+
+    public ArchivedEmployeeService(ArchivedEmployeeJpaRepository archivedEmployeeJpaRepository) {
+        this.archivedEmployeeJpaRepository = archivedEmployeeJpaRepository;
+    }
+
+    @Transactional(readOnly = true)
+    public ArchivedEmployeeResponse findById(Long id) {
+        return ArchivedEmployeeMapper.toResponse(archivedEmployeeJpaRepository.findById(id)
+                .orElseThrow(ArchivedEmployeeNotFoundException::new));
+    }
+
+    @Transactional(readOnly = true)
+    public List<ArchivedEmployeeResponse> findByPage(Long companyId, Integer pageNumber, Integer pageSize) {
+        PageRequest page = PageRequest.of(pageNumber, pageSize, Sort.by("id"));
+        return ArchivedEmployeeMapper.toResponse(companyId == null
+                ? archivedEmployeeJpaRepository.findAll(page).toList()
+                : archivedEmployeeJpaRepository.findByCompanyId(companyId, page).toList());
+    }
+}
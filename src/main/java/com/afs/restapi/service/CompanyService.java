@@ -1,55 +1,124 @@
 package com.afs.restapi.service;
 
+import com.afs.restapi.analytics.EmployeeAnalytics;
+import com.afs.restapi.archive.EmployeeArchiver;
+import com.afs.restapi.cache.ResponseCache;
+import com.afs.restapi.columnar.EmployeeChangeLog;
 import com.afs.restapi.entity.Company;
 import com.afs.restapi.exception.CompanyNotFoundException;
+import com.afs.restapi.paging.PageTotals;
 import com.afs.restapi.repository.CompanyJpaRepository;
-import com.afs.restapi.repository.EmployeeJpaRepository;
+import com.afs.restapi.repository.EmployeeRepository;
+import com.afs.restapi.search.EmployeeNameSearch;
 import com.afs.restapi.entity.Employee;
+import com.afs.restapi.service.dto.CompanyResponse;
+import com.afs.restapi.service.dto.PageResponse;
+import com.afs.restapi.service.mapper.CompanyMapper;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
+/**
+ * Every public method is one transaction. Reads are read-only, so Hibernate skips dirty checking and keeps no
+ * snapshots, and companies are mapped to {@link CompanyResponse} before the transaction ends because
+ * open-session-in-view is off and their employees load lazily.
+ */
 @Service
 public class CompanyService {
 
     private final CompanyJpaRepository companyJpaRepository;
 
-    private final EmployeeJpaRepository employeeJpaRepository;
+    private final EmployeeRepository employeeRepository;
 
-    public CompanyService(CompanyJpaRepository companyJpaRepository, EmployeeJpaRepository employeeJpaRepository) {
+    private final ResponseCache responseCache;
+
+    private final EmployeeChangeLog employeeChangeLog;
+
+    private final EmployeeAnalytics employeeAnalytics;
+
+    private final EmployeeNameSearch employeeNameSearch;
+
+    private final EmployeeArchiver employeeArchiver;
+
+    private final PageTotals pageTotals;
+
+    private final boolean softDelete;
+
+    public CompanyService(CompanyJpaRepository companyJpaRepository, EmployeeRepository employeeRepository,
+                          ResponseCache responseCache, EmployeeChangeLog employeeChangeLog,
+                          EmployeeAnalytics employeeAnalytics, EmployeeNameSearch employeeNameSearch,
+                          EmployeeArchiver employeeArchiver, PageTotals pageTotals,
+                          @Value("${employee-archive.enabled:false}") boolean softDelete) {
         this.companyJpaRepository = companyJpaRepository;
-        this.employeeJpaRepository = employeeJpaRepository;
+        this.employeeRepository = employeeRepository;
+        this.responseCache = responseCache;
+        this.employeeChangeLog = employeeChangeLog;
+        this.employeeAnalytics = employeeAnalytics;
+        this.employeeNameSearch = employeeNameSearch;
+        this.employeeArchiver = employeeArchiver;
+        this.pageTotals = pageTotals;
+        this.softDelete = softDelete;
     }
 
-    public List<Company> findAll() {
-        return companyJpaRepository.findAll();
+    @Transactional(readOnly = true)
+    public List<CompanyResponse> findAll() {
+        return CompanyMapper.toResponse(companyJpaRepository.findAll());
     }
 
-    public List<Company> findByPage(Integer pageNumber, Integer pageSize) {
-        return companyJpaRepository.findAll(PageRequest.of(pageNumber,pageSize)).toList();
+    @Transactional(readOnly = true)
+    public PageResponse<CompanyResponse> findByPage(Integer pageNumber, Integer pageSize) {
+        Slice<Company> page = companyJpaRepository.findAllBy(PageRequest.of(pageNumber,pageSize));
+        return new PageResponse<>(CompanyMapper.toResponse(page.getContent()),
+                pageTotals.totalOf(PageTotals.Table.COMPANY, page));
     }
 
-    public Company findById(Long id) {
-        Company company = companyJpaRepository.findById(id).orElseThrow(CompanyNotFoundException::new);
-        return company;
+    @Transactional(readOnly = true)
+    public CompanyResponse findById(Long id) {
+        return CompanyMapper.toResponse(getCompany(id));
     }
 
+    @Transactional
     public void update(Long id, Company company) {
-        Company toBeUpdatedCompany = findById(id);
+        Company toBeUpdatedCompany = getCompany(id);
         toBeUpdatedCompany.setName(company.getName());
         companyJpaRepository.save(toBeUpdatedCompany);
     }
 
-    public Company create(Company company) {
-        return companyJpaRepository.save(company);
+    @Transactional
+    public CompanyResponse create(Company company) {
+        Company savedCompany = companyJpaRepository.save(company);
+        pageTotals.recordChange(PageTotals.Table.COMPANY, 1);
+        return CompanyMapper.toResponse(savedCompany);
     }
 
+    @Transactional(readOnly = true)
     public List<Employee> findEmployeesByCompanyId(Long id) {
-        return employeeJpaRepository.findByCompanyId(id);
+        return employeeRepository.findByCompanyId(id);
     }
 
+    @Transactional
     public void delete(Long id) {
+        if (softDelete) {
+            // soft-deleted employees are outside the orphan-removed collection but still reference the company
+            employeeArchiver.archiveDeletedOfCompany(id);
+        }
         companyJpaRepository.deleteById(id);
+        employeeRepository.deleteByCompanyId(id);
+        // orphan removal, or the sharded repository, deleted the company's employees, which may appear in any gender list
+        responseCache.evictCompanyEmployees(id);
+        responseCache.evictAllEmployeesByGender();
+        employeeChangeLog.recordReset();
+        employeeAnalytics.recordCompanyDeleted(id);
+        employeeNameSearch.recordCompanyDeleted(id);
+        // the employees removed with the company are only counted again by the next refresh
+        pageTotals.recordChange(PageTotals.Table.COMPANY, -1);
+    }
+
+    private Company getCompany(Long id) {
+        return companyJpaRepository.findById(id).orElseThrow(CompanyNotFoundException::new);
     }
 }
@@ -0,0 +1,296 @@
+package com.afs.restapi.service;
+
+import com.afs.restapi.analytics.EmployeeAnalytics;
+import com.afs.restapi.bulkimport.EmployeeBatch;
+import com.afs.restapi.bulkimport.MappedCsvReader;
+import com.afs.restapi.cache.ResponseCache;
+import com.afs.restapi.columnar.EmployeeChangeLog;
+import com.afs.restapi.entity.Employee;
+import com.afs.restapi.entity.Gender;
+import com.afs.restapi.entity.ImportJob;
+import com.afs.restapi.entity.ImportJobStatus;
+import com.afs.restapi.exception.ImportJobNotFoundException;
+import com.afs.restapi.exception.ImportRequestException;
+import com.afs.restapi.paging.PageTotals;
+import com.afs.restapi.repository.EmployeeRepository;
+import com.afs.restapi.repository.ImportJobJpaRepository;
+import com.afs.restapi.search.EmployeeNameSearch;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+/**
+ * Imports employee CSV files that already sit on the server. Each batch is inserted through
+ * {@link EmployeeRepository#insertAll} in the same transaction that advances the job's checkpoint, so a failed
+ * or interrupted job resumes from the last committed row without duplicating any. Rows that would break a
+ * constraint, such as an unknown company, are rejected one by one rather than failing their batch.
+ */
+@Service
+public class EmployeeImportService implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeImportService.class);
+
+    private static final int MAX_SAMPLE_REJECTS = 100;
+    private static final int MAX_IDS_PER_QUERY = 1000;
+    private static final String UPDATE_CHECKPOINT = "UPDATE import_job SET byte_offset = ?, line_number = ?, " +
+            "rows_imported = rows_imported + ?, rows_rejected = rows_rejected + ?, elapsed_millis = elapsed_millis + ? " +
+            "WHERE id = ?";
+
+    private final ImportJobJpaRepository importJobJpaRepository;
+
+    private final EmployeeRepository employeeRepository;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ResponseCache responseCache;
+
+    private final EmployeeChangeLog employeeChangeLog;
+
+    private final EmployeeAnalytics employeeAnalytics;
+
+    private final EmployeeNameSearch employeeNameSearch;
+
+    private final PageTotals pageTotals;
+
+    private final Path importDirectory;
+
+    private final int batchSize;
+
+    private final ExecutorService jobExecutor = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "bulk-import"));
+
+    private final ExecutorService insertExecutor = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "bulk-import-insert"));
+
+    private final Map<Long, List<String>> sampleRejects = new ConcurrentHashMap<>();
+
+    public EmployeeImportService(ImportJobJpaRepository importJobJpaRepository, EmployeeRepository employeeRepository,
+                                 JdbcTemplate jdbcTemplate,
+                                 PlatformTransactionManager transactionManager, ResponseCache responseCache,
+                                 EmployeeChangeLog employeeChangeLog,
+                                 EmployeeAnalytics employeeAnalytics, EmployeeNameSearch employeeNameSearch,
+                                 PageTotals pageTotals,
+                                 @Value("${bulk-import.directory:imports}") String importDirectory,
+                                 @Value("${bulk-import.batch-size:5000}") int batchSize) {
+        this.importJobJpaRepository = importJobJpaRepository;
+        this.employeeRepository = employeeRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.responseCache = responseCache;
+        this.employeeChangeLog = employeeChangeLog;
+        this.employeeAnalytics = employeeAnalytics;
+        this.employeeNameSearch = employeeNameSearch;
+        this.pageTotals = pageTotals;
+        this.importDirectory = Paths.get(importDirectory).toAbsolutePath().normalize();
+        this.batchSize = batchSize;
+    }
+
+    public ImportJob start(String path) {
+        Path file = resolve(path);
+        try {
+            ImportJob job = importJobJpaRepository.save(new ImportJob(importDirectory.relativize(file).toString(), Files.size(file)));
+            submit(job.getId());
+            return job;
+        } catch (IOException exception) {
+            throw new ImportRequestException("cannot read " + path);
+        }
+    }
+
+    public ImportJob resume(Long id) {
+        ImportJob job = findById(id);
+        if (job.getStatus() != ImportJobStatus.FAILED && job.getStatus() != ImportJobStatus.INTERRUPTED) {
+            throw new ImportRequestException("only failed or interrupted import jobs can be resumed");
+        }
+        job.setStatus(ImportJobStatus.QUEUED);
+        job.setFailureMessage(null);
+        importJobJpaRepository.save(job);
+        submit(id);
+        return job;
+    }
+
+    public ImportJob findById(Long id) {
+        ImportJob job = importJobJpaRepository.findById(id).orElseThrow(ImportJobNotFoundException::new);
+        job.setSampleRejects(sampleRejects.getOrDefault(id, Collections.emptyList()));
+        return job;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void markAbandonedJobsInterrupted() {
+        // jobs still queued or running belonged to a process that is gone; they resume from their checkpoint
+        for (ImportJob job : importJobJpaRepository.findAllByStatusIn(Arrays.asList(ImportJobStatus.QUEUED, ImportJobStatus.RUNNING))) {
+            job.setStatus(ImportJobStatus.INTERRUPTED);
+            importJobJpaRepository.save(job);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        jobExecutor.shutdownNow();
+        insertExecutor.shutdownNow();
+    }
+
+    private Path resolve(String path) {
+        if (path == null || path.isBlank()) {
+            throw new ImportRequestException("path is required");
+        }
+        Path file = importDirectory.resolve(path).normalize();
+        if (!file.startsWith(importDirectory) || !Files.isRegularFile(file)) {
+            throw new ImportRequestException("path must name a file inside the import directory");
+        }
+        return file;
+    }
+
+    private void submit(Long id) {
+        jobExecutor.submit(() -> run(id));
+    }
+
+    private void run(Long id) {
+        ImportJob job = importJobJpaRepository.findById(id).orElseThrow(ImportJobNotFoundException::new);
+        job.setStatus(ImportJobStatus.RUNNING);
+        importJobJpaRepository.save(job);
+        long rowsImportedBefore = job.getRowsImported();
+        sampleRejects.computeIfAbsent(id, key -> Collections.synchronizedList(new ArrayList<>()));
+        try (MappedCsvReader reader = new MappedCsvReader(importDirectory.resolve(job.getPath()), job.getByteOffset(),
+                job.getLineNumber(), MappedCsvReader.DEFAULT_WINDOW_SIZE)) {
+            // two batches alternate: one is parsed and validated while the other is being inserted
+            EmployeeBatch[] batches = {new EmployeeBatch(batchSize), new EmployeeBatch(batchSize)};
+            Future<?> pendingInsert = null;
+            long batchStart = System.nanoTime();
+            for (int turn = 0; ; turn++) {
+                EmployeeBatch batch = batches[turn % 2];
+                if (!reader.fill(batch)) {
+                    break;
+                }
+                validate(batch);
+                if (pendingInsert != null) {
+                    pendingInsert.get();
+                }
+                long parseMillis = (System.nanoTime() - batchStart) / 1_000_000;
+                pendingInsert = insertExecutor.submit(() -> insert(id, batch, parseMillis));
+                batchStart = System.nanoTime();
+            }
+            if (pendingInsert != null) {
+                pendingInsert.get();
+            }
+            finish(id, rowsImportedBefore, ImportJobStatus.COMPLETED, null);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            finish(id, rowsImportedBefore, ImportJobStatus.INTERRUPTED, null);
+        } catch (Exception exception) {
+            log.warn("Import job {} failed", id, exception);
+            finish(id, rowsImportedBefore, ImportJobStatus.FAILED, String.valueOf(exception.getMessage()));
+        }
+    }
+
+    private void validate(EmployeeBatch batch) {
+        IntStream.range(0, batch.size()).parallel().forEach(row -> {
+            if (batch.getRejectReason(row) != null) {
+                return;
+            }
+            if (!EmployeeService.isAllowedAge(batch.getAge(row))) {
+                batch.reject(row, EmployeeService.AGE_RULE_MESSAGE);
+            } else if (Gender.fromLabel(batch.getGender(row)) == null) {
+                batch.reject(row, Gender.LABEL_RULE_MESSAGE);
+            } else if (batch.getSalary(row) < 0) {
+                batch.reject(row, EmployeeService.SALARY_RULE_MESSAGE);
+            }
+        });
+        Set<Long> companyIds = existingCompanyIds(batch);
+        for (int row = 0; row < batch.size(); row++) {
+            Long companyId = batch.getCompanyId(row);
+            if (batch.getRejectReason(row) == null && companyId != null && !companyIds.contains(companyId)) {
+                batch.reject(row, "company " + companyId + " does not exist");
+            }
+        }
+    }
+
+    // one lookup per batch; a single row with a missing company would otherwise roll back the whole batch
+    private Set<Long> existingCompanyIds(EmployeeBatch batch) {
+        Set<Long> referenced = new HashSet<>();
+        for (int row = 0; row < batch.size(); row++) {
+            if (batch.getRejectReason(row) == null && batch.getCompanyId(row) != null) {
+                referenced.add(batch.getCompanyId(row));
+            }
+        }
+        List<Long> ids = new ArrayList<>(referenced);
+        Set<Long> existing = new HashSet<>();
+        NamedParameterJdbcTemplate namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        for (int from = 0; from < ids.size(); from += MAX_IDS_PER_QUERY) {
+            List<Long> chunk = ids.subList(from, Math.min(from + MAX_IDS_PER_QUERY, ids.size()));
+            existing.addAll(namedJdbcTemplate.queryForList("SELECT id FROM company WHERE id IN (:ids)",
+                    new MapSqlParameterSource("ids", chunk), Long.class));
+        }
+        return existing;
+    }
+
+    private void insert(Long id, EmployeeBatch batch, long parseMillis) {
+        long start = System.nanoTime();
+        List<Employee> employees = new ArrayList<>(batch.size());
+        int rejected = 0;
+        for (int row = 0; row < batch.size(); row++) {
+            if (batch.getRejectReason(row) != null) {
+                rejected++;
+                List<String> samples = sampleRejects.get(id);
+                if (samples.size() < MAX_SAMPLE_REJECTS) {
+                    samples.add(batch.getRejectReason(row));
+                }
+                continue;
+            }
+            Employee employee = new Employee(null, batch.getName(row), batch.getAge(row), batch.getGender(row), batch.getSalary(row));
+            employee.setCompanyId(batch.getCompanyId(row));
+            employees.add(employee);
+        }
+        int imported = employees.size();
+        int rejectedRows = rejected;
+        transactionTemplate.executeWithoutResult(status -> {
+            employeeRepository.insertAll(employees);
+            long elapsedMillis = parseMillis + (System.nanoTime() - start) / 1_000_000;
+            jdbcTemplate.update(UPDATE_CHECKPOINT, batch.getEndOffset(), batch.getEndLineNumber(), imported,
+                    rejectedRows, elapsedMillis, id);
+            // one marker per batch instead of a change row per employee; columnar replicas reload the table
+            employeeChangeLog.recordReset();
+        });
+        responseCache.clear();
+        for (Employee employee : employees) {
+            employeeAnalytics.recordCreated(employee.getCompanyId(), employee.getAge(), employee.getSalary());
+        }
+        pageTotals.recordChange(PageTotals.Table.EMPLOYEE, imported);
+    }
+
+    private void finish(Long id, long rowsImportedBefore, ImportJobStatus status, String failureMessage) {
+        ImportJob job = importJobJpaRepository.findById(id).orElseThrow(ImportJobNotFoundException::new);
+        // batch inserts do not return their ids, so imported names become searchable with one rescan per run
+        if (job.getRowsImported() > rowsImportedBefore) {
+            employeeNameSearch.rebuild();
+        }
+        job.setStatus(status);
+        job.setFailureMessage(failureMessage == null || failureMessage.length() <= 255 ? failureMessage : failureMessage.substring(0, 255));
+        importJobJpaRepository.save(job);
+    }
+}
@@ -1,60 +1,203 @@
 package com.afs.restapi.service;
 
+import com.afs.restapi.analytics.EmployeeAnalytics;
+import com.afs.restapi.cache.ResponseCache;
+import com.afs.restapi.columnar.EmployeeChangeLog;
 import com.afs.restapi.entity.Employee;
 import com.afs.restapi.exception.EmployeeCreateException;
 import com.afs.restapi.exception.EmployeeNotFoundException;
-import com.afs.restapi.repository.EmployeeJpaRepository;
+import com.afs.restapi.exception.SalaryIncrementException;
+import com.afs.restapi.paging.PageTotals;
+import com.afs.restapi.repository.EmployeeRepository;
+import com.afs.restapi.search.EmployeeNameSearch;
+import com.afs.restapi.service.dto.EmployeeNameMatch;
+import com.afs.restapi.service.dto.PageResponse;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
 
+/**
+ * Each public method is a single transaction; the read methods are read-only, which makes Hibernate load
+ * entities without snapshots and never flush.
+ */
 @Service
 public class EmployeeService {
 
-    private final EmployeeJpaRepository employeeJpaRepository;
+    public static final String AGE_RULE_MESSAGE = "Employee must be 18-65";
+    public static final String SALARY_RULE_MESSAGE = "Salary must stay between 0 and " + Integer.MAX_VALUE;
 
-    public EmployeeService(EmployeeJpaRepository employeeJpaRepository) {
-        this.employeeJpaRepository = employeeJpaRepository;
+    private static final int MIN_AGE = 18;
+    private static final int MAX_AGE = 65;
+
+    private final EmployeeRepository employeeRepository;
+
+    private final ResponseCache responseCache;
+
+    private final EmployeeChangeLog employeeChangeLog;
+
+    private final EmployeeAnalytics employeeAnalytics;
+
+    private final EmployeeNameSearch employeeNameSearch;
+
+    private final PageTotals pageTotals;
+
+    private final boolean softDelete;
+
+    public EmployeeService(EmployeeRepository employeeRepository, ResponseCache responseCache,
+                           EmployeeChangeLog employeeChangeLog, EmployeeAnalytics employeeAnalytics,
+                           EmployeeNameSearch employeeNameSearch, PageTotals pageTotals,
+                           @Value("${employee-archive.enabled:false}") boolean softDelete) {
+        this.employeeRepository = employeeRepository;
+        this.responseCache = responseCache;
+        this.employeeChangeLog = employeeChangeLog;
+        this.employeeAnalytics = employeeAnalytics;
+        this.employeeNameSearch = employeeNameSearch;
+        this.pageTotals = pageTotals;
+        this.softDelete = softDelete;
     }
 
+    @Transactional(readOnly = true)
     public List<Employee> findAll() {
-        return employeeJpaRepository.findAll();
+        return employeeRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
     public Employee findById(Long id) {
-        return employeeJpaRepository.findById(id)
+        return employeeRepository.findById(id)
                 .orElseThrow(EmployeeNotFoundException::new);
     }
 
+    @Transactional
     public void update(Long id, Employee employee) {
         Employee toBeUpdatedEmployee = findById(id);
+        Integer oldAge = toBeUpdatedEmployee.getAge();
+        Integer oldSalary = toBeUpdatedEmployee.getSalary();
         if (employee.getSalary() != null) {
             toBeUpdatedEmployee.setSalary(employee.getSalary());
         }
         if (employee.getAge() != null) {
             toBeUpdatedEmployee.setAge(employee.getAge());
         }
-        employeeJpaRepository.save(toBeUpdatedEmployee);
+        employeeRepository.save(toBeUpdatedEmployee);
+        evictCachedResponses(toBeUpdatedEmployee);
+        employeeChangeLog.recordUpsert(id);
+        employeeAnalytics.recordUpdated(toBeUpdatedEmployee.getCompanyId(), oldAge, oldSalary,
+                toBeUpdatedEmployee.getCompanyId(), toBeUpdatedEmployee.getAge(), toBeUpdatedEmployee.getSalary());
+        employeeNameSearch.recordSaved(id, toBeUpdatedEmployee.getName(), toBeUpdatedEmployee.getCompanyId());
+    }
+
+    /**
+     * Adds {@code amount} to the salary with a single conditional UPDATE instead of reading, modifying and saving
+     * the row, so concurrent increments are never lost and only hold the row lock for this short transaction.
+     */
+    @Transactional
+    public Employee incrementSalary(Long id, int amount) {
+        if (employeeRepository.incrementSalary(id, amount) == 0) {
+            Employee employee = findById(id);
+            throw new SalaryIncrementException(employee.getSalary() == null ? "Employee has no salary" : SALARY_RULE_MESSAGE);
+        }
+        // the repository keeps the row locked until commit (shards join this transaction through ShardTransaction),
+        // so this read sees exactly this increment applied and salary - amount is the salary it replaced
+        Employee employee = findById(id);
+        evictCachedResponses(employee);
+        employeeChangeLog.recordUpsert(id);
+        employeeAnalytics.recordUpdated(employee.getCompanyId(), employee.getAge(), employee.getSalary() - amount,
+                employee.getCompanyId(), employee.getAge(), employee.getSalary());
+        return employee;
     }
 
+    /**
+     * Rejects an increment that could not be applied to the employee as it is now, so a deferred increment is only
+     * accepted for an existing employee whose salary it keeps in range. Pending increments and writes made before
+     * the flush can still make the applied sum fail.
+     */
+    @Transactional(readOnly = true)
+    public void checkSalaryIncrement(Long id, int amount) {
+        Employee employee = findById(id);
+        if (employee.getSalary() == null) {
+            throw new SalaryIncrementException("Employee has no salary");
+        }
+        long incremented = (long) employee.getSalary() + amount;
+        if (incremented < 0 || incremented > Integer.MAX_VALUE) {
+            throw new SalaryIncrementException(SALARY_RULE_MESSAGE);
+        }
+    }
+
+    /**
+     * Type-ahead on names, answered from the in-memory name index: prefix matches first, then names containing
+     * {@code name} elsewhere, at most {@link EmployeeNameSearch#MAX_LIMIT}.
+     */
+    public List<EmployeeNameMatch> searchByName(String name, Long companyId, int limit) {
+        return employeeNameSearch.search(name, companyId, limit);
+    }
+
+    @Transactional(readOnly = true)
     public List<Employee> findAllByGender(String gender) {
-        return employeeJpaRepository.findAllByGender(gender);
+        return employeeRepository.findAllByGender(gender);
     }
 
+    @Transactional
     public Employee create(Employee employee) {
-        if (employee.getAge() < 18 || employee.getAge() > 65) {
-            throw new EmployeeCreateException("Employee must be 18-65");
+        if (!isAllowedAge(employee.getAge())) {
+            throw new EmployeeCreateException(AGE_RULE_MESSAGE);
         }
-        return employeeJpaRepository.save(employee);
+        Employee savedEmployee = employeeRepository.save(employee);
+        evictCachedResponses(employee);
+        employeeChangeLog.recordUpsert(savedEmployee.getId());
+        employeeAnalytics.recordCreated(savedEmployee.getCompanyId(), savedEmployee.getAge(), savedEmployee.getSalary());
+        employeeNameSearch.recordSaved(savedEmployee.getId(), savedEmployee.getName(), savedEmployee.getCompanyId());
+        pageTotals.recordChange(PageTotals.Table.EMPLOYEE, 1);
+        return savedEmployee;
     }
 
-    public List<Employee> findByPage(Integer pageNumber, Integer pageSize) {
-        return employeeJpaRepository.findAll(PageRequest.of(pageNumber,pageSize)).toList();
+    public static boolean isAllowedAge(int age) {
+        return age >= MIN_AGE && age <= MAX_AGE;
     }
 
+    /**
+     * One page of employees with the total from {@link PageTotals}, so paging never counts the table.
+     */
+    @Transactional(readOnly = true)
+    public PageResponse<Employee> findByPage(Integer pageNumber, Integer pageSize) {
+        Slice<Employee> page = employeeRepository.findSlice(PageRequest.of(pageNumber,pageSize));
+        return new PageResponse<>(page.getContent(), pageTotals.totalOf(PageTotals.Table.EMPLOYEE, page));
+    }
+
+    /**
+     * Deletes the employee, or with {@code employee-archive.enabled} only marks it deleted: the row then stays
+     * hidden in the table until the archive job moves it to {@code employee_archive}.
+     */
+    @Transactional
     public void delete(Long id) {
-        employeeJpaRepository.deleteById(id);
+        Optional<Employee> employee = employeeRepository.findById(id);
+        employee.ifPresent(deleted -> {
+            evictCachedResponses(deleted);
+            employeeAnalytics.recordDeleted(deleted.getCompanyId(), deleted.getAge(), deleted.getSalary());
+            pageTotals.recordChange(PageTotals.Table.EMPLOYEE, -1);
+        });
+        employeeNameSearch.recordDeleted(id);
+        if (softDelete) {
+            employee.ifPresent(deleted -> {
+                deleted.setDeletedAt(Instant.now());
+                employeeRepository.save(deleted);
+            });
+        } else {
+            employeeRepository.deleteById(id);
+        }
+        employeeChangeLog.recordDelete(id);
+    }
+
+    private void evictCachedResponses(Employee employee) {
+        if (employee.getCompanyId() != null) {
+            responseCache.evictCompanyEmployees(employee.getCompanyId());
+        }
+        responseCache.evictEmployeesByGender(employee.getGender());
     }
 }
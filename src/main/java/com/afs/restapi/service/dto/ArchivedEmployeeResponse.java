@@ -0,0 +1,58 @@
+package com.afs.restapi.service.dto;
+
+import java.time.Instant;
+
+public class ArchivedEmployeeResponse {
+    private final Long id;
+    private final String name;
+    private final Integer age;
+    private final String gender;
+    private final Integer salary;
+    private final Long companyId;
+    private final Instant deletedAt;
+    private final Instant archivedAt;
+
+    public ArchivedEmployeeResponse(Long id, String name, Integer age, String gender, Integer salary, Long companyId,
+                                    Instant deletedAt, Instant archivedAt) {
+        this.id = id;
+        this.name = name;
+        this.age = age;
+        this.gender = gender;
+        this.salary = salary;
+        this.companyId = companyId;
+        this.deletedAt = deletedAt;
+        this.archivedAt = archivedAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Integer getAge() {
+        return age;
+    }
+
+    public String getGender() {
+        return gender;
+    }
+
+    public Integer getSalary() {
+        return salary;
+    }
+
+    public Long getCompanyId() {
+        return companyId;
+    }
+
+    public Instant getDeletedAt() {
+        return deletedAt;
+    }
+
+    public Instant getArchivedAt() {
+        return archivedAt;
+    }
+}
@@ -0,0 +1,37 @@
+package com.afs.restapi.service.dto;
+
+import com.afs.restapi.analytics.AgeHistogram;
+
+import java.util.List;
+import java.util.Map;
+
+public class EmployeeAnalyticsResponse {
+    private final long salaryCount;
+    private final Map<String, Double> salaryQuantiles;
+    private final double salaryRelativeError;
+    private final List<AgeHistogram.Bin> ageHistogram;
+
+    public EmployeeAnalyticsResponse(long salaryCount, Map<String, Double> salaryQuantiles, double salaryRelativeError,
+                                     List<AgeHistogram.Bin> ageHistogram) {
+        this.salaryCount = salaryCount;
+        this.salaryQuantiles = salaryQuantiles;
+        this.salaryRelativeError = salaryRelativeError;
+        this.ageHistogram = ageHistogram;
+    }
+
+    public long getSalaryCount() {
+        return salaryCount;
+    }
+
+    public Map<String, Double> getSalaryQuantiles() {
+        return salaryQuantiles;
+    }
+
+    public double getSalaryRelativeError() {
+        return salaryRelativeError;
+    }
+
+    public List<AgeHistogram.Bin> getAgeHistogram() {
+        return ageHistogram;
+    }
+}
@@ -0,0 +1,25 @@
+package com.afs.restapi.service.dto;
+
+public class EmployeeNameMatch {
+    private final Long id;
+    private final String name;
+    private final Long companyId;
+
+    public EmployeeNameMatch(Long id, String name, Long companyId) {
+        this.id = id;
+        this.name = name;
+        this.companyId = companyId;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Long getCompanyId() {
+        return companyId;
+    }
+}
@@ -0,0 +1,29 @@
+package com.afs.restapi.service.dto;
+
+import com.afs.restapi.paging.PageTotal;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+public class PageResponse<T> {
+    private final List<T> content;
+    private final PageTotal total;
+
+    public PageResponse(List<T> content, PageTotal total) {
+        this.content = content;
+        this.total = total;
+    }
+
+    public List<T> getContent() {
+        return content;
+    }
+
+    public PageTotal getTotal() {
+        return total;
+    }
+
+    public <R> PageResponse<R> map(Function<T, R> mapper) {
+        return new PageResponse<>(content.stream().map(mapper).collect(Collectors.toList()), total);
+    }
+}
@@ -0,0 +1,20 @@
+package com.afs.restapi.service.dto;
+
+public class SalaryIncrementRequest {
+    private int amount;
+
+    public SalaryIncrementRequest() {
+    }
+
+    public SalaryIncrementRequest(int amount) {
+        this.amount = amount;
+    }
+
+    public int getAmount() {
+        return amount;
+    }
+
+    public void setAmount(int amount) {
+        this.amount = amount;
+    }
+}
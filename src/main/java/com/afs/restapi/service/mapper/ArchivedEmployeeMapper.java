@@ -0,0 +1,22 @@
+package com.afs.restapi.service.mapper;
+
+import com.afs.restapi.entity.ArchivedEmployee;
+import com.afs.restapi.service.dto.ArchivedEmployeeResponse;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class ArchivedEmployeeMapper {
+
+    private ArchivedEmployeeMapper() {
+    }
+
+    public static ArchivedEmployeeResponse toResponse(ArchivedEmployee employee) {
+        return new ArchivedEmployeeResponse(employee.getId(), employee.getName(), employee.getAge(), employee.getGender(),
+                employee.getSalary(), employee.getCompanyId(), employee.getDeletedAt(), employee.getArchivedAt());
+    }
+
+    public static List<ArchivedEmployeeResponse> toResponse(List<ArchivedEmployee> employees) {
+        return employees.stream().map(ArchivedEmployeeMapper::toResponse).collect(Collectors.toList());
+    }
+}
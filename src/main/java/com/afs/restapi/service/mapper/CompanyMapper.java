@@ -0,0 +1,26 @@
+package com.afs.restapi.service.mapper;
+
+import com.afs.restapi.entity.Company;
+import com.afs.restapi.service.dto.CompanyResponse;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Copies a company and its employees into plain response objects. Call it inside the transaction that loaded
+ * the company: reading {@code employees} may trigger the (batched) lazy load, which fails once the session is closed.
+ */
+public class CompanyMapper {
+
+    private CompanyMapper() {
+    }
+
+    public static CompanyResponse toResponse(Company company) {
+        return new CompanyResponse(company.getId(), company.getName(),
+                company.getEmployees() == null ? null : EmployeeMapper.toResponse(company.getEmployees()));
+    }
+
+    public static List<CompanyResponse> toResponse(List<Company> companies) {
+        return companies.stream().map(CompanyMapper::toResponse).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,22 @@
+package com.afs.restapi.service.mapper;
+
+import com.afs.restapi.entity.Employee;
+import com.afs.restapi.service.dto.EmployeeResponse;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class EmployeeMapper {
+
+    private EmployeeMapper() {
+    }
+
+    public static EmployeeResponse toResponse(Employee employee) {
+        return new EmployeeResponse(employee.getId(), employee.getName(), employee.getAge(), employee.getGender(),
+                employee.getSalary(), employee.getCompanyId());
+    }
+
+    public static List<EmployeeResponse> toResponse(List<Employee> employees) {
+        return employees.stream().map(EmployeeMapper::toResponse).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,9 @@
+package com.afs.restapi.sharding;
+
+public class ModuloShardResolver implements ShardResolver {
+
+    @Override
+    public int shardFor(Long companyId, int shardCount) {
+        return companyId == null ? 0 : (int) Math.floorMod(companyId, (long) shardCount);
+    }
+}
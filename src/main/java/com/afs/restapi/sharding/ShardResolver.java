@@ -0,0 +1,6 @@
+package com.afs.restapi.sharding;
+
+public interface ShardResolver {
+
+    int shardFor(Long companyId, int shardCount);
+}
@@ -0,0 +1,30 @@
+package com.afs.restapi.sharding;
+
+import org.flywaydb.core.Flyway;
+
+import javax.sql.DataSource;
+
+/**
+ * Brings a shard's employee table up to date with the Java migrations in {@code sharding.migration}. Shards keep
+ * their own history table, so a shard that shares a database with the primary does not clash with its history.
+ * Shards set up before the migrations existed are baselined at version 0, so every migration still runs on them
+ * and each one checks what is already in place.
+ */
+public final class ShardSchema {
+
+    private static final String LOCATION = "classpath:com/afs/restapi/sharding/migration";
+
+    private ShardSchema() {
+    }
+
+    public static void migrate(DataSource dataSource) {
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations(LOCATION)
+                .table("shard_schema_history")
+                .baselineOnMigrate(true)
+                .baselineVersion("0")
+                .load()
+                .migrate();
+    }
+}
@@ -0,0 +1,100 @@
+package com.afs.restapi.sharding;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.jdbc.datasource.ConnectionHolder;
+import org.springframework.transaction.TransactionSystemException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * A shard connection enlisted in the current Spring transaction. The connection is bound to the shard's data
+ * source, so every {@code JdbcTemplate} call on that shard from the same thread uses it and sees its own writes.
+ * It commits just before the primary transaction, so a shard commit that fails rolls the primary back, and it
+ * rolls back whenever the primary does not get that far, so a failing service method leaves no shard rows behind.
+ * The commits are still not atomic: when the primary commit itself fails, or a later shard of the same transaction
+ * fails to commit, the shards already committed keep their rows. That case is logged as an error.
+ */
+final class ShardTransaction implements TransactionSynchronization {
+
+    private static final Logger log = LoggerFactory.getLogger(ShardTransaction.class);
+
+    private final DataSource dataSource;
+    private final ConnectionHolder connectionHolder;
+    private boolean committed;
+
+    private ShardTransaction(DataSource dataSource, ConnectionHolder connectionHolder) {
+        this.dataSource = dataSource;
+        this.connectionHolder = connectionHolder;
+    }
+
+    /**
+     * Enlists the shard in the current read-write transaction, once; without one, shard writes auto-commit.
+     */
+    static void join(DataSource dataSource) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                || TransactionSynchronizationManager.hasResource(dataSource)) {
+            return;
+        }
+        Connection connection;
+        try {
+            connection = dataSource.getConnection();
+            connection.setAutoCommit(false);
+        } catch (SQLException exception) {
+            throw new CannotGetJdbcConnectionException("Could not open a shard transaction", exception);
+        }
+        ConnectionHolder connectionHolder = new ConnectionHolder(connection, true);
+        connectionHolder.setSynchronizedWithTransaction(true);
+        TransactionSynchronizationManager.bindResource(dataSource, connectionHolder);
+        TransactionSynchronizationManager.registerSynchronization(new ShardTransaction(dataSource, connectionHolder));
+    }
+
+    @Override
+    public void suspend() {
+        TransactionSynchronizationManager.unbindResource(dataSource);
+    }
+
+    @Override
+    public void resume() {
+        TransactionSynchronizationManager.bindResource(dataSource, connectionHolder);
+    }
+
+    @Override
+    public void beforeCommit(boolean readOnly) {
+        try {
+            connectionHolder.getConnection().commit();
+        } catch (SQLException exception) {
+            throw new TransactionSystemException("Shard commit failed, rolling back the primary transaction", exception);
+        }
+        committed = true;
+    }
+
+    @Override
+    public void afterCompletion(int status) {
+        TransactionSynchronizationManager.unbindResourceIfPossible(dataSource);
+        Connection connection = connectionHolder.getConnection();
+        try {
+            if (status != STATUS_COMMITTED && committed) {
+                log.error("Shard committed but the primary transaction did not; the shard writes were kept");
+            } else if (status != STATUS_COMMITTED) {
+                connection.rollback();
+            }
+        } catch (SQLException exception) {
+            log.warn("Shard rollback failed", exception);
+        } finally {
+            connectionHolder.clear();
+            try {
+                connection.setAutoCommit(true);
+                connection.close();
+            } catch (SQLException exception) {
+                log.debug("Could not close shard connection", exception);
+            }
+        }
+    }
+}
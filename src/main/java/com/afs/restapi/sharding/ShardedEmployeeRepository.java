@@ -0,0 +1,299 @@
+package com.afs.restapi.sharding;
+
+import com.afs.restapi.entity.Employee;
+import com.afs.restapi.entity.Gender;
+import com.afs.restapi.repository.EmployeeRepository;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Spreads employees over several databases by company id. Company-scoped operations touch one shard; global
+ * reads query every shard in parallel and merge the id-ordered results.
+ * <p>
+ * Each shard numbers its rows with its own identity column, and the public id is {@code localId * shardCount + shard},
+ * so ids stay unique and {@link #findById} can go straight to the owning shard. The shard count therefore cannot
+ * change without renumbering existing rows.
+ * <p>
+ * Writes made inside a Spring transaction join it through a {@link ShardTransaction}: they commit just before the
+ * primary transaction and roll back with it, but the two commits are not atomic. The tables are created by
+ * {@link ShardSchema}.
+ */
+public class ShardedEmployeeRepository implements EmployeeRepository, DisposableBean {
+
+    private static final String INSERT = "INSERT INTO employee (name, age, gender_code, salary, company_id) " +
+            "VALUES (:name, :age, :genderCode, :salary, :companyId)";
+    private static final String SELECT = "SELECT id, name, age, gender_code, salary, company_id FROM employee";
+
+    private final List<DataSource> dataSources;
+    private final List<NamedParameterJdbcTemplate> shards;
+    private final ShardResolver shardResolver;
+    private final ExecutorService executor;
+
+    public ShardedEmployeeRepository(List<DataSource> dataSources, ShardResolver shardResolver) {
+        if (dataSources.isEmpty()) {
+            throw new IllegalArgumentException("employee-sharding.enabled needs at least one entry in employee-sharding.shards");
+        }
+        this.dataSources = dataSources;
+        this.shards = dataSources.stream().map(NamedParameterJdbcTemplate::new).collect(Collectors.toList());
+        this.shardResolver = shardResolver;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(shards.size(), runnable -> {
+            Thread thread = new Thread(runnable, "employee-shard-" + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public List<Employee> findAll() {
+        return merge(scatter(shard -> queryShard(shard, SELECT + " ORDER BY id", new MapSqlParameterSource())), Integer.MAX_VALUE);
+    }
+
+    @Override
+    public Page<Employee> findAll(Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(findAll());
+        }
+        List<Employee> merged = firstRows(pageable, pageable.getOffset() + pageable.getPageSize());
+        List<Employee> content = merged.subList((int) Math.min(pageable.getOffset(), merged.size()), merged.size());
+        long total = scatter(shard -> shards.get(shard).getJdbcTemplate().queryForObject("SELECT COUNT(*) FROM employee", Long.class))
+                .stream().mapToLong(Long::longValue).sum();
+        return new PageImpl<>(new ArrayList<>(content), pageable, total);
+    }
+
+    @Override
+    public Slice<Employee> findSlice(Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return new SliceImpl<>(findAll());
+        }
+        // one row past the page tells whether another follows, so no shard is counted
+        long end = pageable.getOffset() + pageable.getPageSize();
+        List<Employee> merged = firstRows(pageable, end + 1);
+        List<Employee> content = merged.subList((int) Math.min(pageable.getOffset(), merged.size()), (int) Math.min(end, merged.size()));
+        return new SliceImpl<>(new ArrayList<>(content), pageable, merged.size() > end);
+    }
+
+    @Override
+    public Optional<Employee> findById(Long id) {
+        int shard = shardOfId(id);
+        List<Employee> employees = queryShard(shard, SELECT + " WHERE id = :id",
+                new MapSqlParameterSource("id", localId(id)));
+        return employees.stream().findFirst();
+    }
+
+    @Override
+    public List<Employee> findAllByGender(String gender) {
+        Gender code = Gender.fromLabel(gender);
+        if (code == null) {
+            return Collections.emptyList();
+        }
+        MapSqlParameterSource parameters = new MapSqlParameterSource("genderCode", code.getCode());
+        return merge(scatter(shard -> queryShard(shard, SELECT + " WHERE gender_code = :genderCode ORDER BY id", parameters)), Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<Employee> findByCompanyId(Long id) {
+        return queryShard(shardOfCompany(id), SELECT + " WHERE company_id = :companyId ORDER BY id",
+                new MapSqlParameterSource("companyId", id));
+    }
+
+    @Override
+    public <S extends Employee> S save(S employee) {
+        int shard = shardOfCompany(employee.getCompanyId());
+        MapSqlParameterSource parameters = parameters(employee);
+        if (employee.getId() != null && shardOfId(employee.getId()) == shard) {
+            parameters.addValue("id", localId(employee.getId()));
+            int updated = writer(shard).update("UPDATE employee SET name = :name, age = :age, gender_code = :genderCode, " +
+                    "salary = :salary, company_id = :companyId WHERE id = :id", parameters);
+            if (updated > 0) {
+                return employee;
+            }
+        } else if (employee.getId() != null && findById(employee.getId()).isPresent()) {
+            throw new IllegalArgumentException("moving an employee to a company on another shard is not supported");
+        }
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        writer(shard).update(INSERT, parameters, keyHolder, new String[]{"id"});
+        employee.setId(globalId(keyHolder.getKey().longValue(), shard));
+        return employee;
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        int deleted = writer(shardOfId(id)).update("DELETE FROM employee WHERE id = :id",
+                new MapSqlParameterSource("id", localId(id)));
+        if (deleted == 0) {
+            throw new EmptyResultDataAccessException(String.format("No %s entity with id %s exists!", Employee.class, id), 1);
+        }
+    }
+
+    @Override
+    public void insertAll(List<Employee> employees) {
+        Map<Integer, List<MapSqlParameterSource>> rowsByShard = new TreeMap<>();
+        for (Employee employee : employees) {
+            rowsByShard.computeIfAbsent(shardOfCompany(employee.getCompanyId()), shard -> new ArrayList<>())
+                    .add(parameters(employee));
+        }
+        rowsByShard.forEach((shard, rows) -> writer(shard).batchUpdate(INSERT, rows.toArray(new MapSqlParameterSource[0])));
+    }
+
+    @Override
+    public int incrementSalary(Long id, int amount) {
+        if (amount == Integer.MIN_VALUE) {
+            return 0;
+        }
+        return writer(shardOfId(id)).update("UPDATE employee SET salary = salary + :amount " +
+                        "WHERE id = :id AND salary BETWEEN :lowestSalary AND :highestSalary",
+                new MapSqlParameterSource("id", localId(id))
+                        .addValue("amount", amount)
+                        .addValue("lowestSalary", EmployeeRepository.lowestSalaryToIncrement(amount))
+                        .addValue("highestSalary", EmployeeRepository.highestSalaryToIncrement(amount)));
+    }
+
+    @Override
+    public void deleteByCompanyId(Long companyId) {
+        writer(shardOfCompany(companyId)).update("DELETE FROM employee WHERE company_id = :companyId",
+                new MapSqlParameterSource("companyId", companyId));
+    }
+
+    @Override
+    public void deleteAll() {
+        scatter(shard -> shards.get(shard).getJdbcTemplate().update("DELETE FROM employee"));
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        executor.shutdown();
+        for (DataSource dataSource : dataSources) {
+            if (dataSource instanceof AutoCloseable) {
+                ((AutoCloseable) dataSource).close();
+            }
+        }
+    }
+
+    public int getShardCount() {
+        return shards.size();
+    }
+
+    private <T> List<T> scatter(IntFunction<T> query) {
+        List<CompletableFuture<T>> futures = IntStream.range(0, shards.size())
+                .mapToObj(shard -> CompletableFuture.supplyAsync(() -> query.apply(shard), executor))
+                .collect(Collectors.toList());
+        try {
+            return futures.stream().map(CompletableFuture::join).collect(Collectors.toList());
+        } catch (CompletionException exception) {
+            if (exception.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) exception.getCause();
+            }
+            throw exception;
+        }
+    }
+
+    // every shard may own the whole page, so each returns its first rows up to the limit
+    private List<Employee> firstRows(Pageable pageable, long limit) {
+        if (pageable.getSort().isSorted()) {
+            throw new IllegalArgumentException("sharded employee pages are ordered by id only");
+        }
+        MapSqlParameterSource parameters = new MapSqlParameterSource("limit", limit);
+        List<List<Employee>> shardRows = scatter(shard -> queryShard(shard, SELECT + " ORDER BY id LIMIT :limit", parameters));
+        return merge(shardRows, (int) Math.min(limit, Integer.MAX_VALUE));
+    }
+
+    private static MapSqlParameterSource parameters(Employee employee) {
+        return new MapSqlParameterSource()
+                .addValue("name", employee.getName())
+                .addValue("age", employee.getAge())
+                .addValue("genderCode", employee.getGender() == null ? null : Gender.parse(employee.getGender()).getCode())
+                .addValue("salary", employee.getSalary())
+                .addValue("companyId", employee.getCompanyId());
+    }
+
+    private NamedParameterJdbcTemplate writer(int shard) {
+        ShardTransaction.join(dataSources.get(shard));
+        return shards.get(shard);
+    }
+
+    private List<Employee> queryShard(int shard, String sql, MapSqlParameterSource parameters) {
+        return shards.get(shard).query(sql, parameters, rowMapper(shard));
+    }
+
+    private RowMapper<Employee> rowMapper(int shard) {
+        return (resultSet, rowNumber) -> {
+            Employee employee = new Employee(globalId(resultSet.getLong("id"), shard), resultSet.getString("name"),
+                    resultSet.getObject("age", Integer.class), genderLabel(resultSet.getObject("gender_code", Short.class)),
+                    resultSet.getObject("salary", Integer.class));
+            employee.setCompanyId(resultSet.getObject("company_id", Long.class));
+            return employee;
+        };
+    }
+
+    // k-way merge of per-shard lists that are each already ordered by id
+    private static List<Employee> merge(List<List<Employee>> shardRows, int limit) {
+        PriorityQueue<int[]> cursors = new PriorityQueue<>(Comparator.comparingLong(
+                (int[] cursor) -> shardRows.get(cursor[0]).get(cursor[1]).getId()));
+        int total = 0;
+        for (int shard = 0; shard < shardRows.size(); shard++) {
+            total += shardRows.get(shard).size();
+            if (!shardRows.get(shard).isEmpty()) {
+                cursors.add(new int[]{shard, 0});
+            }
+        }
+        List<Employee> merged = new ArrayList<>(Math.min(total, limit));
+        while (!cursors.isEmpty() && merged.size() < limit) {
+            int[] cursor = cursors.poll();
+            List<Employee> rows = shardRows.get(cursor[0]);
+            merged.add(rows.get(cursor[1]));
+            if (++cursor[1] < rows.size()) {
+                cursors.add(cursor);
+            }
+        }
+        return merged;
+    }
+
+    private static String genderLabel(Short code) {
+        return code == null ? null : Gender.fromCode(code).getLabel();
+    }
+
+    private int shardOfCompany(Long companyId) {
+        return shardResolver.shardFor(companyId, shards.size());
+    }
+
+    private int shardOfId(Long id) {
+        return (int) Math.floorMod(id, (long) shards.size());
+    }
+
+    private long localId(Long id) {
+        return Math.floorDiv(id, (long) shards.size());
+    }
+
+    private long globalId(long localId, int shard) {
+        return localId * shards.size() + shard;
+    }
+}
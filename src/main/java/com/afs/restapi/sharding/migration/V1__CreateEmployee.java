@@ -0,0 +1,41 @@
+package com.afs.restapi.sharding.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Creates the shard's employee table. Shards created by earlier releases already have one, so this checks first.
+ */
+public class V1__CreateEmployee extends BaseJavaMigration {
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        Connection connection = context.getConnection();
+        if (tableExists(connection, "employee")) {
+            return;
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE employee (id BIGINT AUTO_INCREMENT PRIMARY KEY, name VARCHAR(255), age INT, " +
+                    "gender_code SMALLINT, salary INT, company_id BIGINT)");
+            statement.execute("CREATE INDEX idx_employee_gender_code ON employee (gender_code)");
+            statement.execute("CREATE INDEX idx_employee_company_id ON employee (company_id)");
+        }
+    }
+
+    static boolean tableExists(Connection connection, String table) throws SQLException {
+        // identifiers are stored upper case by H2 and as written by MySQL
+        for (String name : new String[]{table, table.toUpperCase()}) {
+            try (ResultSet tables = connection.getMetaData().getTables(connection.getCatalog(), null, name, new String[]{"TABLE"})) {
+                if (tables.next()) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,45 @@
+package com.afs.restapi.sharding.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Moves shards created before gender became a code from the {@code gender} label to {@code gender_code}, the
+ * shard counterpart of the primary's V5. The label column is left in place, as on the primary.
+ */
+public class V2__EncodeGender extends BaseJavaMigration {
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        Connection connection = context.getConnection();
+        if (columnExists(connection, "employee", "gender_code")) {
+            return;
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ALTER TABLE employee ADD COLUMN gender_code SMALLINT");
+            statement.execute("UPDATE employee SET gender_code = CASE " +
+                    "WHEN LOWER(TRIM(gender)) IN ('male', 'm') THEN 1 " +
+                    "WHEN LOWER(TRIM(gender)) IN ('female', 'f') THEN 2 " +
+                    "ELSE 3 END " +
+                    "WHERE gender IS NOT NULL");
+            statement.execute("CREATE INDEX idx_employee_gender_code ON employee (gender_code)");
+        }
+    }
+
+    static boolean columnExists(Connection connection, String table, String column) throws SQLException {
+        // identifiers are stored upper case by H2 and as written by MySQL
+        for (String[] names : new String[][]{{table, column}, {table.toUpperCase(), column.toUpperCase()}}) {
+            try (ResultSet columns = connection.getMetaData().getColumns(connection.getCatalog(), null, names[0], names[1])) {
+                if (columns.next()) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
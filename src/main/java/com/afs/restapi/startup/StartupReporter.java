@@ -0,0 +1,35 @@
+package com.afs.restapi.startup;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Logs JVM uptime once the application is ready. With {@code startup.exit-on-ready=true} the JVM exits right
+ * after, which is how the class-data-sharing archive is trained.
+ */
+@Component
+public class StartupReporter implements ApplicationListener<ApplicationReadyEvent> {
+
+    private static final Logger log = LoggerFactory.getLogger(StartupReporter.class);
+
+    private final boolean exitOnReady;
+
+    public StartupReporter(@Value("${startup.exit-on-ready:false}") boolean exitOnReady) {
+        this.exitOnReady = exitOnReady;
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        log.info("Ready {} ms after JVM start", ManagementFactory.getRuntimeMXBean().getUptime());
+        if (exitOnReady) {
+            System.exit(SpringApplication.exit(event.getApplicationContext()));
+        }
+    }
+}
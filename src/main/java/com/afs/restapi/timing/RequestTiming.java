@@ -0,0 +1,85 @@
+package com.afs.restapi.timing;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Where the time of one request went. {@link ServerTimingFilter} starts it on the request thread,
+ * {@link TimingDataSource} adds the time spent executing statements and reading their rows, and
+ * {@link SerializationTimingAdvice} marks the moment the controller's return value is handed to the message
+ * converter; everything from there to the end of the request counts as serialization.
+ */
+public final class RequestTiming {
+
+    private static final ThreadLocal<RequestTiming> CURRENT = new ThreadLocal<>();
+
+    private final long startNanos = System.nanoTime();
+    private final int maxStatements;
+    private final List<StatementTiming> statements = new ArrayList<>();
+    private int statementCount;
+    private long dbNanos;
+    private long serializationStartNanos;
+    private long serializationNanos;
+    private long totalNanos;
+
+    private RequestTiming(int maxStatements) {
+        this.maxStatements = maxStatements;
+    }
+
+    static RequestTiming start(int maxStatements) {
+        RequestTiming timing = new RequestTiming(maxStatements);
+        CURRENT.set(timing);
+        return timing;
+    }
+
+    static void stop() {
+        CURRENT.remove();
+    }
+
+    static RequestTiming current() {
+        return CURRENT.get();
+    }
+
+    void recordStatement(String sql, long nanos) {
+        statementCount++;
+        dbNanos += nanos;
+        if (statements.size() < maxStatements) {
+            statements.add(new StatementTiming(sql, millis(nanos)));
+        }
+    }
+
+    void recordFetch(long nanos) {
+        dbNanos += nanos;
+    }
+
+    void serializationStarted() {
+        serializationStartNanos = System.nanoTime();
+    }
+
+    void finish() {
+        long now = System.nanoTime();
+        totalNanos = now - startNanos;
+        if (serializationStartNanos != 0) {
+            serializationNanos = now - serializationStartNanos;
+        }
+    }
+
+    long getTotalNanos() {
+        return totalNanos;
+    }
+
+    SlowRequest toSlowRequest(String method, String path, int status) {
+        return new SlowRequest(method, path, status, millis(totalNanos), millis(dbNanos), millis(serializationNanos),
+                statementCount, statements);
+    }
+
+    String toHeader() {
+        return String.format(Locale.ROOT, "db;dur=%.2f;desc=\"%d statements\", serialization;dur=%.2f, total;dur=%.2f",
+                millis(dbNanos), statementCount, millis(serializationNanos), millis(totalNanos));
+    }
+
+    private static double millis(long nanos) {
+        return Math.round(nanos / 10_000.0) / 100.0;
+    }
+}
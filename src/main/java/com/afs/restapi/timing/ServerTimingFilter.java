@@ -0,0 +1,51 @@
+package com.afs.restapi.timing;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Adds a {@code Server-Timing} header splitting the request into db, serialization and total time, with the
+ * number of SQL statements, and keeps requests slower than the threshold in a {@link SlowRequestLog}. The body
+ * is buffered so the header can still be set once serialization has finished.
+ */
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    public static final String SERVER_TIMING = "Server-Timing";
+
+    private final SlowRequestLog slowRequestLog;
+    private final long slowThresholdNanos;
+    private final int maxStatementsPerRequest;
+
+    public ServerTimingFilter(SlowRequestLog slowRequestLog, Duration slowThreshold, int maxStatementsPerRequest) {
+        this.slowRequestLog = slowRequestLog;
+        this.slowThresholdNanos = slowThreshold.toNanos();
+        this.maxStatementsPerRequest = maxStatementsPerRequest;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        ContentCachingResponseWrapper bufferedResponse = new ContentCachingResponseWrapper(response);
+        RequestTiming timing = RequestTiming.start(maxStatementsPerRequest);
+        try {
+            chain.doFilter(request, bufferedResponse);
+        } finally {
+            timing.finish();
+            RequestTiming.stop();
+        }
+        bufferedResponse.setHeader(SERVER_TIMING, timing.toHeader());
+        if (timing.getTotalNanos() >= slowThresholdNanos) {
+            String path = request.getQueryString() == null ? request.getRequestURI()
+                    : request.getRequestURI() + "?" + request.getQueryString();
+            slowRequestLog.add(timing.toSlowRequest(request.getMethod(), path, bufferedResponse.getStatus()));
+        }
+        bufferedResponse.copyBodyToResponse();
+    }
+}
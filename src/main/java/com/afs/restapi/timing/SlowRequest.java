@@ -0,0 +1,65 @@
+package com.afs.restapi.timing;
+
+import java.time.Instant;
+import java.util.List;
+
+public class SlowRequest {
+    private final Instant finishedAt = Instant.now();
+    private final String method;
+    private final String path;
+    private final int status;
+    private final double totalMillis;
+    private final double dbMillis;
+    private final double serializationMillis;
+    private final int statementCount;
+    // the first server-timing.max-statements-per-request statements only
+    private final List<StatementTiming> statements;
+
+    public SlowRequest(String method, String path, int status, double totalMillis, double dbMillis,
+                       double serializationMillis, int statementCount, List<StatementTiming> statements) {
+        this.method = method;
+        this.path = path;
+        this.status = status;
+        this.totalMillis = totalMillis;
+        this.dbMillis = dbMillis;
+        this.serializationMillis = serializationMillis;
+        this.statementCount = statementCount;
+        this.statements = statements;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public double getTotalMillis() {
+        return totalMillis;
+    }
+
+    public double getDbMillis() {
+        return dbMillis;
+    }
+
+    public double getSerializationMillis() {
+        return serializationMillis;
+    }
+
+    public int getStatementCount() {
+        return statementCount;
+    }
+
+    public List<StatementTiming> getStatements() {
+        return statements;
+    }
+}
@@ -0,0 +1,42 @@
+package com.afs.restapi.timing;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The most recent slow requests in a fixed ring buffer; once full, each new entry overwrites the oldest.
+ */
+public class SlowRequestLog {
+
+    private final SlowRequest[] entries;
+    private int next;
+    private int size;
+
+    public SlowRequestLog(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("slow request capacity must be positive");
+        }
+        this.entries = new SlowRequest[capacity];
+    }
+
+    public synchronized void add(SlowRequest request) {
+        entries[next] = request;
+        next = (next + 1) % entries.length;
+        size = Math.min(size + 1, entries.length);
+    }
+
+    public synchronized List<SlowRequest> newestFirst() {
+        List<SlowRequest> requests = new ArrayList<>(size);
+        for (int i = 1; i <= size; i++) {
+            requests.add(entries[(next - i + entries.length) % entries.length]);
+        }
+        return requests;
+    }
+
+    public synchronized void clear() {
+        Arrays.fill(entries, null);
+        next = 0;
+        size = 0;
+    }
+}
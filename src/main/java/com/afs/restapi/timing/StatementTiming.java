@@ -0,0 +1,19 @@
+package com.afs.restapi.timing;
+
+public class StatementTiming {
+    private final String sql;
+    private final double millis;
+
+    public StatementTiming(String sql, double millis) {
+        this.sql = sql;
+        this.millis = millis;
+    }
+
+    public String getSql() {
+        return sql;
+    }
+
+    public double getMillis() {
+        return millis;
+    }
+}
@@ -0,0 +1,104 @@
+package com.afs.restapi.timing;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Times statement execution and row fetching for the {@link RequestTiming} of the calling thread. Connections
+ * taken outside a timed request are returned unwrapped, so background work pays nothing.
+ */
+public class TimingDataSource extends DelegatingDataSource {
+
+    public TimingDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return timed(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return timed(super.getConnection(username, password));
+    }
+
+    private static Connection timed(Connection connection) {
+        if (RequestTiming.current() == null) {
+            return connection;
+        }
+        return proxy(Connection.class, connection, (method, args) -> {
+            Object result = invoke(connection, method, args);
+            if (result instanceof CallableStatement) {
+                return timedStatement(CallableStatement.class, (Statement) result, (String) args[0]);
+            }
+            if (result instanceof PreparedStatement) {
+                return timedStatement(PreparedStatement.class, (Statement) result, (String) args[0]);
+            }
+            if (result instanceof Statement) {
+                return timedStatement(Statement.class, (Statement) result, null);
+            }
+            return result;
+        });
+    }
+
+    private static <T extends Statement> T timedStatement(Class<T> type, Statement statement, String preparedSql) {
+        return proxy(type, statement, (method, args) -> {
+            if (!method.getName().startsWith("execute")) {
+                Object result = invoke(statement, method, args);
+                return "getResultSet".equals(method.getName()) && result != null ? timedResultSet((ResultSet) result) : result;
+            }
+            long start = System.nanoTime();
+            Object result = invoke(statement, method, args);
+            RequestTiming timing = RequestTiming.current();
+            if (timing != null) {
+                timing.recordStatement(preparedSql != null ? preparedSql
+                        : args != null && args.length > 0 ? String.valueOf(args[0]) : "batch", System.nanoTime() - start);
+            }
+            return result instanceof ResultSet ? timedResultSet((ResultSet) result) : result;
+        });
+    }
+
+    private static ResultSet timedResultSet(ResultSet resultSet) {
+        return proxy(ResultSet.class, resultSet, (method, args) -> {
+            if (!"next".equals(method.getName())) {
+                return invoke(resultSet, method, args);
+            }
+            long start = System.nanoTime();
+            Object result = invoke(resultSet, method, args);
+            RequestTiming timing = RequestTiming.current();
+            if (timing != null) {
+                timing.recordFetch(System.nanoTime() - start);
+            }
+            return result;
+        });
+    }
+
+    private interface Invocation {
+        Object apply(Method method, Object[] args) throws Throwable;
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException exception) {
+            throw exception.getTargetException();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, Object target, Invocation invocation) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> invocation.apply(method, args));
+    }
+}
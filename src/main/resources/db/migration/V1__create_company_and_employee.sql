@@ -0,0 +1,18 @@
+CREATE TABLE company
+(
+    id   BIGINT NOT NULL AUTO_INCREMENT,
+    name VARCHAR(255),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE employee
+(
+    id         BIGINT NOT NULL AUTO_INCREMENT,
+    name       VARCHAR(255),
+    age        INTEGER,
+    gender     VARCHAR(255),
+    salary     INTEGER,
+    company_id BIGINT,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_employee_company FOREIGN KEY (company_id) REFERENCES company (id)
+);
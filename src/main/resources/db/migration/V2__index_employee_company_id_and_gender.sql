@@ -0,0 +1,3 @@
+CREATE INDEX idx_employee_company_id ON employee (company_id);
+
+CREATE INDEX idx_employee_gender ON employee (gender);
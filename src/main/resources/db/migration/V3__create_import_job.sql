@@ -0,0 +1,14 @@
+CREATE TABLE import_job
+(
+    id              BIGINT NOT NULL AUTO_INCREMENT,
+    path            VARCHAR(1024),
+    status          VARCHAR(32),
+    file_size       BIGINT,
+    byte_offset     BIGINT,
+    line_number     BIGINT,
+    rows_imported   BIGINT,
+    rows_rejected   BIGINT,
+    elapsed_millis  BIGINT,
+    failure_message VARCHAR(1024),
+    PRIMARY KEY (id)
+);
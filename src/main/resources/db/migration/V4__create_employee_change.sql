@@ -0,0 +1,7 @@
+CREATE TABLE employee_change
+(
+    id          BIGINT NOT NULL AUTO_INCREMENT,
+    employee_id BIGINT,
+    operation   VARCHAR(16),
+    PRIMARY KEY (id)
+);
@@ -0,0 +1,13 @@
+-- gender moves to a small integer code (1 Male, 2 Female, 3 Other, see Gender). The VARCHAR column and its
+-- index are no longer written or read; they stay until every node runs this release and a later migration drops them.
+ALTER TABLE employee ADD COLUMN gender_code SMALLINT;
+
+UPDATE employee
+SET gender_code = CASE
+                      WHEN LOWER(TRIM(gender)) IN ('male', 'm') THEN 1
+                      WHEN LOWER(TRIM(gender)) IN ('female', 'f') THEN 2
+                      ELSE 3
+    END
+WHERE gender IS NOT NULL;
+
+CREATE INDEX idx_employee_gender_code ON employee (gender_code);
@@ -0,0 +1,20 @@
+-- deleting an employee can mark the row instead of removing it; the archive job later moves marked rows to
+-- employee_archive, which keeps their ids and has no foreign key so it outlives deleted companies.
+ALTER TABLE employee ADD COLUMN deleted_at TIMESTAMP NULL;
+
+CREATE INDEX idx_employee_deleted_at ON employee (deleted_at);
+
+CREATE TABLE employee_archive
+(
+    id          BIGINT NOT NULL,
+    name        VARCHAR(255),
+    age         INTEGER,
+    gender_code SMALLINT,
+    salary      INTEGER,
+    company_id  BIGINT,
+    deleted_at  TIMESTAMP NULL,
+    archived_at TIMESTAMP NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_employee_archive_company_id ON employee_archive (company_id);
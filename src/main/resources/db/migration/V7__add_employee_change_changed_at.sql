@@ -0,0 +1,4 @@
+-- columnar nodes re-read recent entries to catch writes that commit out of id order, and old entries are pruned
+ALTER TABLE employee_change ADD COLUMN changed_at TIMESTAMP NULL;
+
+CREATE INDEX idx_employee_change_changed_at ON employee_change (changed_at);
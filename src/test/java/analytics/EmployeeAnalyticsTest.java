@@ -0,0 +1,58 @@
+package analytics;
+
+import com.afs.restapi.analytics.EmployeeAnalytics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EmployeeAnalyticsTest {
+
+    private DataSource database;
+
+    @BeforeEach
+    void setUp() {
+        database = new DriverManagerDataSource("jdbc:h2:mem:employee_analytics;DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+        jdbcTemplate.execute("CREATE TABLE employee (id BIGINT PRIMARY KEY, age INT, salary INT, company_id BIGINT, " +
+                "deleted_at TIMESTAMP)");
+        jdbcTemplate.update("INSERT INTO employee (id, age, salary, company_id) VALUES (1, 30, 5000, 1), (2, 40, 7000, 1)");
+    }
+
+    @Test
+    void should_keep_changes_committed_during_scan_when_rebuild() {
+        // Given
+        EmployeeAnalytics[] analytics = new EmployeeAnalytics[1];
+        AtomicBoolean changed = new AtomicBoolean();
+        DataSource changingBeforeSnapshot = new DelegatingDataSource(database) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                if (changed.compareAndSet(false, true)) {
+                    analytics[0].recordCreated(1L, 50, 9000);
+                    analytics[0].recordCreated(2L, 25, 4000);
+                }
+                return super.getConnection();
+            }
+        };
+        analytics[0] = new EmployeeAnalytics(new JdbcTemplate(changingBeforeSnapshot),
+                new DataSourceTransactionManager(changingBeforeSnapshot), 0.01, 5);
+
+        // When
+        analytics[0].rebuild();
+
+        // Then
+        assertEquals(3, analytics[0].forCompany(1L).getSalaryCount());
+        assertEquals(1, analytics[0].forCompany(2L).getSalaryCount());
+        assertEquals(4, analytics[0].orgWide().getSalaryCount());
+    }
+}
@@ -0,0 +1,109 @@
+package analytics;
+
+import com.afs.restapi.analytics.AgeHistogram;
+import com.afs.restapi.analytics.QuantileSketch;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class QuantileSketchTest {
+
+    private static final double ACCURACY = 0.01;
+    private static final double[] QUANTILES = {0, 0.1, 0.5, 0.9, 0.99, 1};
+
+    @Test
+    void should_stay_within_relative_accuracy_when_compared_with_exact_quantiles() {
+        // Given
+        Random random = new Random(11);
+        QuantileSketch sketch = new QuantileSketch(ACCURACY);
+        List<Integer> salaries = new ArrayList<>();
+        for (int i = 0; i < 50_000; i++) {
+            int salary = 1000 + (int) Math.round(Math.exp(random.nextGaussian() + 9));
+            salaries.add(salary);
+            sketch.add(salary);
+        }
+
+        // Then
+        assertEquals(salaries.size(), sketch.getCount());
+        assertWithinAccuracy(salaries, sketch);
+    }
+
+    @Test
+    void should_match_single_sketch_when_merge_parts() {
+        // Given
+        Random random = new Random(5);
+        QuantileSketch whole = new QuantileSketch(ACCURACY);
+        QuantileSketch first = new QuantileSketch(ACCURACY);
+        QuantileSketch second = new QuantileSketch(ACCURACY);
+        for (int i = 0; i < 10_000; i++) {
+            int salary = 3000 + random.nextInt(20_000);
+            whole.add(salary);
+            (i % 3 == 0 ? first : second).add(salary);
+        }
+
+        // When
+        first.merge(second);
+
+        // Then
+        for (double q : QUANTILES) {
+            assertEquals(whole.quantile(q), first.quantile(q));
+        }
+        assertThrows(IllegalArgumentException.class, () -> first.merge(new QuantileSketch(0.05)));
+    }
+
+    @Test
+    void should_forget_value_when_remove() {
+        // Given
+        QuantileSketch sketch = new QuantileSketch(ACCURACY);
+        List<Integer> salaries = new ArrayList<>();
+        for (int salary = 1000; salary <= 100_000; salary += 1000) {
+            salaries.add(salary);
+            sketch.add(salary);
+        }
+        sketch.add(5_000_000);
+
+        // When
+        sketch.remove(5_000_000);
+
+        // Then
+        assertWithinAccuracy(salaries, sketch);
+        assertNull(new QuantileSketch(ACCURACY).quantile(0.5));
+    }
+
+    @Test
+    void should_count_ages_exactly_when_bin_histogram() {
+        // Given
+        AgeHistogram histogram = new AgeHistogram();
+        histogram.add(18);
+        histogram.add(24);
+        histogram.add(31);
+        histogram.add(31);
+        histogram.remove(24);
+
+        // When
+        List<AgeHistogram.Bin> bins = histogram.bins(10);
+
+        // Then
+        assertEquals(2, bins.size());
+        assertEquals(10, bins.get(0).getFrom());
+        assertEquals(1, bins.get(0).getCount());
+        assertEquals(30, bins.get(1).getFrom());
+        assertEquals(2, bins.get(1).getCount());
+    }
+
+    private static void assertWithinAccuracy(List<Integer> values, QuantileSketch sketch) {
+        List<Integer> sorted = new ArrayList<>(values);
+        Collections.sort(sorted);
+        for (double q : QUANTILES) {
+            double exact = sorted.get((int) Math.floor(q * (sorted.size() - 1)));
+            double estimate = sketch.quantile(q);
+            assertTrue(Math.abs(estimate - exact) <= ACCURACY * exact,
+                    "p" + q + ": estimate " + estimate + " vs exact " + exact);
+        }
+    }
+}
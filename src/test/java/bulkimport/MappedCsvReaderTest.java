@@ -0,0 +1,80 @@
+package bulkimport;
+
+import com.afs.restapi.bulkimport.EmployeeBatch;
+import com.afs.restapi.bulkimport.MappedCsvReader;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MappedCsvReaderTest {
+
+    private static final String CSV = "name,age,gender,salary,companyId\n" +
+            "Alice,24,Female,9000,1\r\n" +
+            "\"Smith, \"\"Bob\"\"\",30,Male,8000,\n" +
+            "Carol,abc,Female,7000,2\n" +
+            "\n" +
+            "Dave,40,Male,6000,3";
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void should_parse_rows_across_small_windows_when_fill() throws IOException {
+        // Given
+        Path file = write(CSV);
+
+        // When
+        EmployeeBatch batch = new EmployeeBatch(10);
+        try (MappedCsvReader reader = new MappedCsvReader(file, 0, 0, 16)) {
+            assertTrue(reader.fill(batch));
+        }
+
+        // Then
+        assertEquals(4, batch.size());
+        assertEquals("Alice", batch.getName(0));
+        assertEquals(24, batch.getAge(0));
+        assertEquals("Female", batch.getGender(0));
+        assertEquals(1L, batch.getCompanyId(0));
+        assertEquals("Smith, \"Bob\"", batch.getName(1));
+        assertNull(batch.getCompanyId(1));
+        assertNull(batch.getRejectReason(1));
+        assertEquals("line 4: age is not a number", batch.getRejectReason(2));
+        assertEquals(6, batch.getLineNumber(3));
+        assertSame(batch.getGender(0), batch.getGender(2));
+    }
+
+    @Test
+    void should_continue_from_checkpoint_when_reopened_at_end_offset() throws IOException {
+        // Given
+        Path file = write(CSV);
+        EmployeeBatch first = new EmployeeBatch(2);
+        try (MappedCsvReader reader = new MappedCsvReader(file, 0, 0, MappedCsvReader.DEFAULT_WINDOW_SIZE)) {
+            reader.fill(first);
+        }
+
+        // When
+        EmployeeBatch rest = new EmployeeBatch(10);
+        try (MappedCsvReader reader = new MappedCsvReader(file, first.getEndOffset(), first.getEndLineNumber(), MappedCsvReader.DEFAULT_WINDOW_SIZE)) {
+            reader.fill(rest);
+            assertFalse(reader.fill(new EmployeeBatch(10)));
+        }
+
+        // Then
+        assertEquals(2, rest.size());
+        assertEquals("Carol", rest.getName(0));
+        assertEquals("Dave", rest.getName(1));
+        assertEquals(6, rest.getLineNumber(1));
+    }
+
+    private Path write(String content) throws IOException {
+        Path file = directory.resolve("employees.csv");
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+}
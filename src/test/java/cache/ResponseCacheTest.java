@@ -0,0 +1,151 @@
+package cache;
+
+import com.afs.restapi.cache.ResponseCache;
+import com.afs.restapi.config.ResponseFormats;
+import com.afs.restapi.entity.Employee;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ResponseCacheTest {
+
+    private ResponseFormats responseFormats;
+
+    private ResponseCache responseCache;
+
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        responseFormats = new ResponseFormats(new ObjectMapper(), Jackson2ObjectMapperBuilder.json());
+        responseCache = new ResponseCache(responseFormats, 1024 * 1024, 64, 100);
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void should_serve_cached_bytes_when_respond_given_same_key_twice() {
+        // When
+        ResponseEntity<?> first = responseCache.respond(ResponseCache.companyEmployeesKey(1L), null, null, this::loadEmployees);
+        ResponseEntity<?> second = responseCache.respond(ResponseCache.companyEmployeesKey(1L), null, null, this::loadEmployees);
+
+        // Then
+        assertEquals(1, loads.get());
+        assertArrayEquals((byte[]) first.getBody(), (byte[]) second.getBody());
+    }
+
+    @Test
+    void should_reload_only_evicted_entry_when_evict_company_employees() {
+        // Given
+        responseCache.respond(ResponseCache.companyEmployeesKey(1L), null, null, this::loadEmployees);
+        responseCache.respond(ResponseCache.employeesByGenderKey("Female"), null, null, this::loadEmployees);
+
+        // When
+        responseCache.evictCompanyEmployees(1L);
+        responseCache.respond(ResponseCache.companyEmployeesKey(1L), null, null, this::loadEmployees);
+        responseCache.respond(ResponseCache.employeesByGenderKey("Female"), null, null, this::loadEmployees);
+
+        // Then
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void should_evict_after_commit_and_skip_caching_load_that_overlaps_commit() {
+        // Given
+        responseCache.respond(ResponseCache.companyEmployeesKey(1L), null, null, this::loadEmployees);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // When
+            responseCache.evictCompanyEmployees(1L);
+            responseCache.respond(ResponseCache.companyEmployeesKey(1L), null, null, this::loadEmployees);
+            assertEquals(1, loads.get());
+            responseCache.getOrLoad(ResponseCache.companyEmployeesKey(2L), MediaType.APPLICATION_JSON, () -> {
+                // a concurrent miss reads pre-commit rows while the writer commits
+                TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+                return loadEmployees();
+            });
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        responseCache.respond(ResponseCache.companyEmployeesKey(1L), null, null, this::loadEmployees);
+
+        // Then
+        assertEquals(3, loads.get());
+        assertEquals(1, responseCache.size());
+    }
+
+    @Test
+    void should_return_gzip_body_when_respond_given_client_accepts_gzip() {
+        // When
+        ResponseEntity<?> response = responseCache.respond(ResponseCache.employeesByGenderKey("Female"), null, "gzip, deflate", this::loadEmployees);
+
+        // Then
+        assertEquals("gzip", response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+    }
+
+    @Test
+    void should_evict_least_recently_used_when_total_bytes_exceed_limit() {
+        // Given
+        ResponseCache smallCache = new ResponseCache(responseFormats, 200, Integer.MAX_VALUE, 100);
+
+        // When
+        smallCache.respond(ResponseCache.companyEmployeesKey(1L), null, null, this::loadEmployees);
+        smallCache.respond(ResponseCache.companyEmployeesKey(2L), null, null, this::loadEmployees);
+        smallCache.respond(ResponseCache.companyEmployeesKey(3L), null, null, this::loadEmployees);
+
+        // Then
+        assertTrue(smallCache.getTotalBytes() <= 200);
+        assertTrue(smallCache.size() < 3);
+    }
+
+    @Test
+    void should_cache_each_format_separately_when_respond_given_different_accept_headers() {
+        // When
+        ResponseEntity<?> json = responseCache.respond(ResponseCache.companyEmployeesKey(1L), null, null, this::loadEmployees);
+        ResponseEntity<?> cbor = responseCache.respond(ResponseCache.companyEmployeesKey(1L), "application/cbor", null, this::loadEmployees);
+        responseCache.evictCompanyEmployees(1L);
+
+        // Then
+        assertEquals(MediaType.APPLICATION_JSON, json.getHeaders().getContentType());
+        assertEquals(MediaType.APPLICATION_CBOR, cbor.getHeaders().getContentType());
+        assertEquals(2, loads.get());
+        assertEquals(0, responseCache.size());
+    }
+
+    @Test
+    void should_stream_without_caching_when_respond_given_list_at_stream_threshold() throws Exception {
+        // Given
+        ResponseCache streamingCache = new ResponseCache(responseFormats, 1024 * 1024, 64, 1);
+
+        // When
+        ResponseEntity<?> response = streamingCache.respond(ResponseCache.companyEmployeesKey(1L), "application/cbor", null, this::loadEmployees);
+        streamingCache.respond(ResponseCache.companyEmployeesKey(1L), "application/cbor", null, this::loadEmployees);
+
+        // Then
+        ByteArrayOutputStream streamed = new ByteArrayOutputStream();
+        ((StreamingResponseBody) response.getBody()).writeTo(streamed);
+        ObjectMapper cbor = responseFormats.mapperFor(MediaType.APPLICATION_CBOR);
+        assertEquals(cbor.readTree(responseFormats.encode(MediaType.APPLICATION_CBOR, loadEmployees())), cbor.readTree(streamed.toByteArray()));
+        assertEquals(MediaType.APPLICATION_CBOR, response.getHeaders().getContentType());
+        assertEquals(3, loads.get());
+        assertEquals(0, streamingCache.size());
+    }
+
+    private List<Employee> loadEmployees() {
+        loads.incrementAndGet();
+        return Collections.singletonList(new Employee(1L, "Alice", 24, "Female", 9000));
+    }
+}
@@ -0,0 +1,164 @@
+package columnar;
+
+import com.afs.restapi.columnar.ColumnarEmployeeRepository;
+import com.afs.restapi.entity.Employee;
+import com.afs.restapi.entity.Gender;
+import com.afs.restapi.exception.ReadOnlyRepositoryException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ColumnarEmployeeRepositoryTest {
+
+    private JdbcTemplate jdbcTemplate;
+
+    private ColumnarEmployeeRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource("jdbc:h2:mem:columnar_employee;DB_CLOSE_DELAY=-1"));
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+        jdbcTemplate.execute("CREATE TABLE employee (id BIGINT AUTO_INCREMENT PRIMARY KEY, name VARCHAR(255), age INT, " +
+                "gender_code SMALLINT, salary INT, company_id BIGINT, deleted_at TIMESTAMP)");
+        jdbcTemplate.execute("CREATE TABLE employee_change (id BIGINT AUTO_INCREMENT PRIMARY KEY, employee_id BIGINT, " +
+                "operation VARCHAR(16), changed_at TIMESTAMP)");
+        insert(1, "Alice", "Female", 1L);
+        insert(2, "Bob", "Male", 1L);
+        insert(3, "Zoë", "Female", 2L);
+        insert(4, "Dave", null, null);
+        repository = new ColumnarEmployeeRepository(jdbcTemplate.getDataSource(), Duration.ZERO, Duration.ofMinutes(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        repository.destroy();
+    }
+
+    @Test
+    void should_answer_queries_from_snapshot_when_loaded() {
+        // When
+        List<Employee> females = repository.findAllByGender("Female");
+        List<Employee> companyEmployees = repository.findByCompanyId(1L);
+        Employee dave = repository.findById(4L).orElseThrow();
+
+        // Then
+        assertEquals(List.of(1L, 3L), ids(females));
+        assertEquals("Zoë", females.get(1).getName());
+        assertEquals(List.of(1L, 2L), ids(companyEmployees));
+        assertNull(dave.getGender());
+        assertNull(dave.getCompanyId());
+        assertEquals(30, dave.getAge());
+        assertTrue(repository.findAllByGender("Other").isEmpty());
+        assertEquals(List.of(1L, 3L), ids(repository.findAllByGender("female")));
+        assertTrue(repository.findById(5L).isEmpty());
+    }
+
+    @Test
+    void should_return_page_in_id_order_when_find_all_by_page() {
+        // When
+        Page<Employee> page = repository.findAll(PageRequest.of(1, 3));
+
+        // Then
+        assertEquals(List.of(4L), ids(page.getContent()));
+        assertEquals(4, page.getTotalElements());
+    }
+
+    @Test
+    void should_apply_change_log_when_refresh() {
+        // Given
+        jdbcTemplate.update("UPDATE employee SET gender_code = 3, company_id = 2 WHERE id = 2");
+        jdbcTemplate.update("DELETE FROM employee WHERE id = 3");
+        insert(5, "Erin", "Female", 1L);
+        recordChange(2L, "UPSERT");
+        recordChange(3L, "DELETE");
+        recordChange(5L, "UPSERT");
+
+        // When
+        repository.refresh();
+
+        // Then
+        assertEquals(List.of(1L, 2L, 4L, 5L), ids(repository.findAll()));
+        assertEquals(List.of(1L, 5L), ids(repository.findByCompanyId(1L)));
+        assertEquals(List.of(2L), ids(repository.findByCompanyId(2L)));
+        assertEquals(List.of(2L), ids(repository.findAllByGender("Other")));
+        assertEquals("Erin", repository.findById(5L).orElseThrow().getName());
+    }
+
+    @Test
+    void should_apply_change_committed_after_higher_id_when_refresh() {
+        // Given
+        jdbcTemplate.update("UPDATE employee SET name = 'Bobby' WHERE id = 2");
+        jdbcTemplate.update("INSERT INTO employee_change (id, employee_id, operation, changed_at) " +
+                "VALUES (11, 2, 'UPSERT', CURRENT_TIMESTAMP)");
+        repository.refresh();
+        jdbcTemplate.update("UPDATE employee SET name = 'Alicia' WHERE id = 1");
+
+        // When
+        jdbcTemplate.update("INSERT INTO employee_change (id, employee_id, operation, changed_at) " +
+                "VALUES (10, 1, 'UPSERT', CURRENT_TIMESTAMP)");
+        repository.refresh();
+
+        // Then
+        assertEquals("Alicia", repository.findById(1L).orElseThrow().getName());
+        assertEquals("Bobby", repository.findById(2L).orElseThrow().getName());
+    }
+
+    @Test
+    void should_not_replay_change_twice_when_refresh_rereads_commit_window() {
+        // Given
+        jdbcTemplate.update("DELETE FROM employee WHERE id = 3");
+        recordChange(3L, "DELETE");
+        repository.refresh();
+        insert(3, "Zoë", "Female", 2L);
+
+        // When
+        repository.refresh();
+
+        // Then
+        assertTrue(repository.findById(3L).isEmpty());
+    }
+
+    @Test
+    void should_reload_whole_table_when_change_log_has_reset() {
+        // Given
+        jdbcTemplate.update("DELETE FROM employee WHERE company_id = 1");
+        recordChange(null, "RESET");
+
+        // When
+        repository.refresh();
+
+        // Then
+        assertEquals(List.of(3L, 4L), ids(repository.findAll()));
+        assertTrue(repository.findByCompanyId(1L).isEmpty());
+    }
+
+    @Test
+    void should_reject_writes() {
+        assertThrows(ReadOnlyRepositoryException.class, () -> repository.save(new Employee(null, "Eve", 20, "Female", 1000)));
+        assertThrows(ReadOnlyRepositoryException.class, () -> repository.deleteById(1L));
+    }
+
+    private void insert(long id, String name, String gender, Long companyId) {
+        jdbcTemplate.update("INSERT INTO employee (id, name, age, gender_code, salary, company_id) VALUES (?, ?, ?, ?, ?, ?)",
+                id, name, 30, gender == null ? null : Gender.parse(gender).getCode(), 5000, companyId);
+    }
+
+    private void recordChange(Long employeeId, String operation) {
+        jdbcTemplate.update("INSERT INTO employee_change (employee_id, operation, changed_at) VALUES (?, ?, CURRENT_TIMESTAMP)",
+                employeeId, operation);
+    }
+
+    private static List<Long> ids(List<Employee> employees) {
+        return employees.stream().map(Employee::getId).collect(Collectors.toList());
+    }
+}
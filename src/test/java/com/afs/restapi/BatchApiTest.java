@@ -0,0 +1,123 @@
+package com.afs.restapi;
+
+import com.afs.restapi.cache.ResponseCache;
+import com.afs.restapi.entity.Company;
+import com.afs.restapi.entity.Employee;
+import com.afs.restapi.repository.CompanyJpaRepository;
+import com.afs.restapi.repository.EmployeeJpaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class BatchApiTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CompanyJpaRepository companyJpaRepository;
+
+    @Autowired
+    private EmployeeJpaRepository employeeJpaRepository;
+
+    @Autowired
+    private ResponseCache responseCache;
+
+    @BeforeEach
+    void setUp() {
+        companyJpaRepository.deleteAll();
+        employeeJpaRepository.deleteAll();
+        responseCache.clear();
+    }
+
+    @Test
+    void should_return_every_result_with_its_status_when_batch_given_dashboard_requests() throws Exception {
+        Company company = companyJpaRepository.save(new Company(null, "abc"));
+        Employee employee = new Employee(null, "Alice", 24, "Female", 9000);
+        employee.setCompanyId(company.getId());
+        Employee savedEmployee = employeeJpaRepository.save(employee);
+        String batch = "[" +
+                "{\"id\":\"company\",\"method\":\"GET\",\"path\":\"/companies/" + company.getId() + "\"}," +
+                "{\"id\":\"staff\",\"method\":\"GET\",\"path\":\"/companies/" + company.getId() + "/employees\"}," +
+                "{\"id\":\"alice\",\"method\":\"GET\",\"path\":\"/employees/" + savedEmployee.getId() + "\"}," +
+                "{\"id\":\"missing\",\"method\":\"GET\",\"path\":\"/employees/" + (savedEmployee.getId() + 100) + "\"}," +
+                "{\"id\":\"women\",\"method\":\"GET\",\"path\":\"/employees?gender=Female\"}" +
+                "]";
+
+        mockMvc.perform(post("/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(batch))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.length()").value(5))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].id").value("company"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].status").value(200))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].body.name").value("abc"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[1].body[0].name").value("Alice"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[2].body.id").value(savedEmployee.getId()))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[3].status").value(404))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[3].body.message").value("employee id not found"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[4].body[0].gender").value("Female"));
+    }
+
+    @Test
+    void should_read_own_write_when_batch_given_create_then_gender_filter() throws Exception {
+        String batch = "[" +
+                "{\"id\":\"before\",\"method\":\"GET\",\"path\":\"/employees?gender=Male\"}," +
+                "{\"id\":\"create\",\"method\":\"POST\",\"path\":\"/employees\",\"body\":{\"name\":\"Bob\",\"age\":30,\"gender\":\"Male\",\"salary\":8000}}," +
+                "{\"id\":\"after\",\"method\":\"GET\",\"path\":\"/employees?gender=Male\"}," +
+                "{\"id\":\"underage\",\"method\":\"POST\",\"path\":\"/employees\",\"body\":{\"name\":\"Tim\",\"age\":12,\"gender\":\"Male\",\"salary\":1}}," +
+                "{\"id\":\"unknown\",\"method\":\"GET\",\"path\":\"/payroll\"}" +
+                "]";
+
+        mockMvc.perform(post("/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(batch))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].body.length()").value(0))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[1].status").value(201))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[1].body.name").value("Bob"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[2].body.length()").value(1))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[3].status").value(400))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[3].body.message").value("Employee must be 18-65"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[4].status").value(404));
+    }
+
+    @Test
+    void should_route_search_and_salary_increment_when_batch() throws Exception {
+        Employee savedEmployee = employeeJpaRepository.save(new Employee(null, "Alice", 24, "Female", 9000));
+        String batch = "[" +
+                "{\"id\":\"create\",\"method\":\"POST\",\"path\":\"/employees\",\"body\":{\"name\":\"Bobby\",\"age\":30,\"gender\":\"Male\",\"salary\":8000}}," +
+                "{\"id\":\"search\",\"method\":\"GET\",\"path\":\"/employees/search?name=bobb&limit=5\"}," +
+                "{\"id\":\"raise\",\"method\":\"POST\",\"path\":\"/employees/" + savedEmployee.getId() + "/salary:increment\",\"body\":{\"amount\":500}}," +
+                "{\"id\":\"nameless\",\"method\":\"GET\",\"path\":\"/employees/search\"}" +
+                "]";
+
+        mockMvc.perform(post("/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(batch))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$[1].status").value(200))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[1].body[0].name").value("Bobby"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[2].status").value(200))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[2].body.salary").value(9500))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[3].status").value(400))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[3].body.message").value("name is required"));
+    }
+
+    @Test
+    void should_reject_batch_when_empty() throws Exception {
+        mockMvc.perform(post("/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+    }
+}
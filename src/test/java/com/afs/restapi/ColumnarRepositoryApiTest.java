@@ -0,0 +1,44 @@
+package com.afs.restapi;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+@SpringBootTest(properties = "columnar-repository.enabled=true")
+@AutoConfigureMockMvc
+class ColumnarRepositoryApiTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void should_return_503_when_create_employee_given_read_only_node() throws Exception {
+        mockMvc.perform(post("/employees")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Bob\",\"age\":30,\"gender\":\"Male\",\"salary\":8000}"))
+                .andExpect(MockMvcResultMatchers.status().is(503))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.code").value(503))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.message").value("this node serves employees read-only; send writes to a writing node"));
+    }
+
+    @Test
+    void should_return_503_when_increment_salary_given_read_only_node() throws Exception {
+        mockMvc.perform(post("/employees/{id}/salary:increment", 1L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"amount\":250}"))
+                .andExpect(MockMvcResultMatchers.status().is(503));
+    }
+
+    @Test
+    void should_serve_reads_when_get_employees_given_read_only_node() throws Exception {
+        mockMvc.perform(get("/employees"))
+                .andExpect(MockMvcResultMatchers.status().is(200));
+    }
+}
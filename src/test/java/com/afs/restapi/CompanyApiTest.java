@@ -1,9 +1,12 @@
 package com.afs.restapi;
 
+import com.afs.restapi.cache.ResponseCache;
 import com.afs.restapi.entity.Company;
 import com.afs.restapi.entity.Employee;
 import com.afs.restapi.repository.CompanyJpaRepository;
 import com.afs.restapi.repository.EmployeeJpaRepository;
+import com.afs.restapi.support.QueryCounter;
+import com.afs.restapi.support.QueryCountingConfiguration;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -11,6 +14,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
@@ -23,6 +27,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 
 @SpringBootTest
 @AutoConfigureMockMvc
+@Import(QueryCountingConfiguration.class)
 class CompanyApiTest {
 
     @Autowired
@@ -34,10 +39,14 @@ class CompanyApiTest {
     @Autowired
     private EmployeeJpaRepository employeeJpaRepository;
 
+    @Autowired
+    private ResponseCache responseCache;
+
     @BeforeEach
     void setUp() {
         companyJpaRepository.deleteAll();
         employeeJpaRepository.deleteAll();
+        responseCache.clear();
     }
 
     @Test
@@ -51,7 +60,8 @@ class CompanyApiTest {
         mockMvc.perform(put("/companies/{id}", saveCompany.getId())
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(updatedEmployeeJson))
-                .andExpect(MockMvcResultMatchers.status().is(204));
+                .andExpect(MockMvcResultMatchers.status().is(204))
+                .andExpect(QueryCounter.statementsAtMost(2));
 
         Optional<Company> optionalCompany = companyJpaRepository.findById(saveCompany.getId());
         assertTrue(optionalCompany.isPresent());
@@ -66,7 +76,8 @@ class CompanyApiTest {
         Company savedCompany = companyJpaRepository.save(company);
 
         mockMvc.perform(delete("/companies/{id}", savedCompany.getId()))
-                .andExpect(MockMvcResultMatchers.status().is(204));
+                .andExpect(MockMvcResultMatchers.status().is(204))
+                .andExpect(QueryCounter.statementsAtMost(5));
 
         assertTrue(companyJpaRepository.findById(savedCompany.getId()).isEmpty());
     }
@@ -81,6 +92,7 @@ class CompanyApiTest {
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(companyRequest))
                 .andExpect(MockMvcResultMatchers.status().is(201))
+                .andExpect(QueryCounter.statementsAtMost(1))
                 .andExpect(MockMvcResultMatchers.jsonPath("$.id").value(notNullValue()))
                 .andExpect(MockMvcResultMatchers.jsonPath("$.name").value(company.getName()));
     }
@@ -92,11 +104,29 @@ class CompanyApiTest {
 
         mockMvc.perform(get("/companies"))
                 .andExpect(MockMvcResultMatchers.status().is(200))
+                .andExpect(QueryCounter.statementsAtMost(2))
                 .andExpect(MockMvcResultMatchers.jsonPath("$.length()").value(1))
                 .andExpect(MockMvcResultMatchers.jsonPath("$[0].id").value(savedCompany.getId()))
                 .andExpect(MockMvcResultMatchers.jsonPath("$[0].name").value(company.getName()));
     }
 
+    @Test
+    void should_find_companies_with_two_queries_when_several_companies_have_employees() throws Exception {
+        Company company1 = companyJpaRepository.save(getCompany1());
+        Company company2 = companyJpaRepository.save(getCompany2());
+        Company company3 = companyJpaRepository.save(getCompany3());
+        employeeJpaRepository.save(getEmployee(company1));
+        employeeJpaRepository.save(getEmployee(company2));
+        employeeJpaRepository.save(getEmployee(company3));
+
+        mockMvc.perform(get("/companies"))
+                .andExpect(MockMvcResultMatchers.status().is(200))
+                .andExpect(QueryCounter.statementsAtMost(2))
+                .andExpect(QueryCounter.rowsAtMost(6))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.length()").value(3))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[2].employees.length()").value(1));
+    }
+
     @Test
     void should_find_companies_by_page() throws Exception {
         Company company3 = getCompany3();
@@ -108,6 +138,8 @@ class CompanyApiTest {
                         .param("pageNumber", "0")
                         .param("pageSize", "2"))
                 .andExpect(MockMvcResultMatchers.status().is(200))
+                .andExpect(QueryCounter.statementsAtMost(2))
+                .andExpect(MockMvcResultMatchers.header().string("X-Total-Count-Exact", "false"))
                 .andExpect(MockMvcResultMatchers.jsonPath("$.length()").value(2))
                 .andExpect(MockMvcResultMatchers.jsonPath("$[0].id").value(savedCompany1.getId()))
                 .andExpect(MockMvcResultMatchers.jsonPath("$[0].name").value(savedCompany1.getName()))
@@ -125,6 +157,7 @@ class CompanyApiTest {
 
         mockMvc.perform(get("/companies/{id}", savedCompany.getId()))
                 .andExpect(MockMvcResultMatchers.status().is(200))
+                .andExpect(QueryCounter.statementsAtMost(2))
                 .andExpect(MockMvcResultMatchers.jsonPath("$.id").value(savedCompany.getId()))
                 .andExpect(MockMvcResultMatchers.jsonPath("$.name").value(company.getName()))
                 .andExpect(MockMvcResultMatchers.jsonPath("$.employees.length()").value(1))
@@ -144,6 +177,7 @@ class CompanyApiTest {
 
         mockMvc.perform(get("/companies/{companyId}/employees", savedCompany.getId()))
                 .andExpect(MockMvcResultMatchers.status().is(200))
+                .andExpect(QueryCounter.statementsAtMost(1))
                 .andExpect(MockMvcResultMatchers.jsonPath("$.length()").value(1))
                 .andExpect(MockMvcResultMatchers.jsonPath("$[0].id").value(savedEmployee.getId()))
                 .andExpect(MockMvcResultMatchers.jsonPath("$[0].name").value(employee.getName()))
@@ -1,18 +1,26 @@
 package com.afs.restapi;
 
+import com.afs.restapi.cache.ResponseCache;
 import com.afs.restapi.entity.Employee;
 import com.afs.restapi.repository.EmployeeJpaRepository;
+import com.afs.restapi.search.EmployeeNameSearch;
+import com.afs.restapi.support.QueryCounter;
+import com.afs.restapi.support.QueryCountingConfiguration;
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 
+import java.util.List;
 import java.util.Optional;
 
 import static org.hamcrest.Matchers.notNullValue;
@@ -21,6 +29,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 
 @SpringBootTest
 @AutoConfigureMockMvc
+@Import(QueryCountingConfiguration.class)
 class EmployeeApiTest {
 
     @Autowired
@@ -29,9 +38,16 @@ class EmployeeApiTest {
     @Autowired
     private EmployeeJpaRepository employeeJpaRepository;
 
+    @Autowired
+    private ResponseCache responseCache;
+
+    @Autowired
+    private EmployeeNameSearch employeeNameSearch;
+
     @BeforeEach
     void setUp() {
         employeeJpaRepository.deleteAll();
+        responseCache.clear();
     }
 
     @Test
@@ -45,7 +61,8 @@ class EmployeeApiTest {
         mockMvc.perform(put("/employees/{id}", saveEmployee.getId())
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(updatedEmployeeJson))
-                .andExpect(MockMvcResultMatchers.status().is(204));
+                .andExpect(MockMvcResultMatchers.status().is(204))
+                .andExpect(QueryCounter.statementsAtMost(3));
 
         Optional<Employee> optionalEmployee = employeeJpaRepository.findById(saveEmployee.getId());
         assertTrue(optionalEmployee.isPresent());
@@ -67,6 +84,7 @@ class EmployeeApiTest {
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(employeeRequest))
                 .andExpect(MockMvcResultMatchers.status().is(201))
+                .andExpect(QueryCounter.statementsAtMost(2))
                 .andExpect(MockMvcResultMatchers.jsonPath("$.id").value(notNullValue()))
                 .andExpect(MockMvcResultMatchers.jsonPath("$.name").value(employee.getName()))
                 .andExpect(MockMvcResultMatchers.jsonPath("$.age").value(employee.getAge()))
@@ -74,6 +92,16 @@ class EmployeeApiTest {
                 .andExpect(MockMvcResultMatchers.jsonPath("$.salary").value(employee.getSalary()));
     }
 
+    @Test
+    void should_return_400_when_create_employee_given_unknown_gender() throws Exception {
+        mockMvc.perform(post("/employees")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Bob\",\"age\":30,\"gender\":\"Robot\",\"salary\":8000}"))
+                .andExpect(MockMvcResultMatchers.status().is(400));
+
+        assertTrue(employeeJpaRepository.findAll().isEmpty());
+    }
+
     @Test
     void should_find_employees() throws Exception {
         Employee employee = getEmployeeBob();
@@ -81,6 +109,7 @@ class EmployeeApiTest {
 
         mockMvc.perform(get("/employees"))
                 .andExpect(MockMvcResultMatchers.status().is(200))
+                .andExpect(QueryCounter.statementsAtMost(1))
                 .andExpect(MockMvcResultMatchers.jsonPath("$.length()").value(1))
                 .andExpect(MockMvcResultMatchers.jsonPath("$[0].id").value(saveEmployee.getId()))
                 .andExpect(MockMvcResultMatchers.jsonPath("$[0].name").value(employee.getName()))
@@ -96,6 +125,7 @@ class EmployeeApiTest {
 
         mockMvc.perform(get("/employees/{id}", saveEmployee.getId()))
                 .andExpect(MockMvcResultMatchers.status().is(200))
+                .andExpect(QueryCounter.statementsAtMost(1))
                 .andExpect(MockMvcResultMatchers.jsonPath("$.id").value(saveEmployee.getId()))
                 .andExpect(MockMvcResultMatchers.jsonPath("$.name").value(employee.getName()))
                 .andExpect(MockMvcResultMatchers.jsonPath("$.age").value(employee.getAge()))
@@ -109,7 +139,8 @@ class EmployeeApiTest {
         Employee saveEmployee = employeeJpaRepository.save(employee);
 
         mockMvc.perform(delete("/employees/{id}", saveEmployee.getId()))
-                .andExpect(MockMvcResultMatchers.status().is(204));
+                .andExpect(MockMvcResultMatchers.status().is(204))
+                .andExpect(QueryCounter.statementsAtMost(3));
 
         assertTrue(employeeJpaRepository.findById(saveEmployee.getId()).isEmpty());
     }
@@ -121,6 +152,7 @@ class EmployeeApiTest {
 
         mockMvc.perform(get("/employees?gender={0}", "Male"))
                 .andExpect(MockMvcResultMatchers.status().is(200))
+                .andExpect(QueryCounter.statementsAtMost(1))
                 .andExpect(MockMvcResultMatchers.jsonPath("$.length()").value(1))
                 .andExpect(MockMvcResultMatchers.jsonPath("$[0].id").value(saveEmployee.getId()))
                 .andExpect(MockMvcResultMatchers.jsonPath("$[0].name").value(employee.getName()))
@@ -141,6 +173,8 @@ class EmployeeApiTest {
                         .param("pageNumber", "0")
                         .param("pageSize", "2"))
                 .andExpect(MockMvcResultMatchers.status().is(200))
+                .andExpect(QueryCounter.statementsAtMost(1))
+                .andExpect(MockMvcResultMatchers.header().string("X-Total-Count-Exact", "false"))
                 .andExpect(MockMvcResultMatchers.jsonPath("$.length()").value(2))
                 .andExpect(MockMvcResultMatchers.jsonPath("$[0].id").value(zhangsan.getId()))
                 .andExpect(MockMvcResultMatchers.jsonPath("$[0].name").value(zhangsan.getName()))
@@ -154,6 +188,113 @@ class EmployeeApiTest {
                 .andExpect(MockMvcResultMatchers.jsonPath("$[1].salary").value(employeeSusan.getSalary()));
     }
 
+    @Test
+    void should_return_exact_total_when_find_last_page_of_employees() throws Exception {
+        employeeJpaRepository.save(getEmployeeBob());
+        employeeJpaRepository.save(getEmployeeSusan());
+        employeeJpaRepository.save(getEmployeeLily());
+
+        mockMvc.perform(get("/employees")
+                        .param("pageNumber", "1")
+                        .param("pageSize", "2"))
+                .andExpect(MockMvcResultMatchers.status().is(200))
+                .andExpect(QueryCounter.statementsAtMost(1))
+                .andExpect(MockMvcResultMatchers.header().string("X-Total-Count", "3"))
+                .andExpect(MockMvcResultMatchers.header().string("X-Total-Count-Exact", "true"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.length()").value(1));
+    }
+
+    @Test
+    void should_increment_salary_with_one_update_when_post_salary_increment() throws Exception {
+        Employee saveEmployee = employeeJpaRepository.save(getEmployeeBob());
+
+        mockMvc.perform(post("/employees/{id}/salary:increment", saveEmployee.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"amount\":250}"))
+                .andExpect(MockMvcResultMatchers.status().is(200))
+                .andExpect(QueryCounter.statementsAtMost(3))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.id").value(saveEmployee.getId()))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.salary").value(saveEmployee.getSalary() + 250));
+
+        Assertions.assertEquals(saveEmployee.getSalary() + 250, employeeJpaRepository.findById(saveEmployee.getId()).orElseThrow().getSalary());
+    }
+
+    @Test
+    void should_reject_salary_increment_when_salary_would_go_below_zero() throws Exception {
+        Employee saveEmployee = employeeJpaRepository.save(getEmployeeBob());
+
+        mockMvc.perform(post("/employees/{id}/salary:increment", saveEmployee.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"amount\":" + (-saveEmployee.getSalary() - 1) + "}"))
+                .andExpect(MockMvcResultMatchers.status().is(409));
+        mockMvc.perform(post("/employees/{id}/salary:increment", saveEmployee.getId() + 100)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"amount\":1}"))
+                .andExpect(MockMvcResultMatchers.status().is(404));
+
+        Assertions.assertEquals(saveEmployee.getSalary(), employeeJpaRepository.findById(saveEmployee.getId()).orElseThrow().getSalary());
+    }
+
+    @Test
+    void should_find_employees_by_name_prefix_without_queries_when_search() throws Exception {
+        Employee susan = getEmployeeSusan();
+        Employee savedSusan = employeeJpaRepository.save(susan);
+        employeeJpaRepository.save(getEmployeeBob());
+        employeeNameSearch.rebuild();
+
+        mockMvc.perform(get("/employees/search")
+                        .param("name", "SU"))
+                .andExpect(MockMvcResultMatchers.status().is(200))
+                .andExpect(QueryCounter.statementsAtMost(0))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.length()").value(1))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].id").value(savedSusan.getId()))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].name").value(susan.getName()));
+        mockMvc.perform(get("/employees/search")
+                        .param("name", "Su")
+                        .param("companyId", "2"))
+                .andExpect(MockMvcResultMatchers.status().is(200))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.length()").value(0));
+    }
+
+    @Test
+    void should_find_created_employee_by_name_substring_when_search() throws Exception {
+        String created = mockMvc.perform(post("/employees")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(new ObjectMapper().writeValueAsString(new Employee(null, "Marianne", 30, "Female", 8000))))
+                .andExpect(MockMvcResultMatchers.status().is(201))
+                .andReturn().getResponse().getContentAsString();
+        Long id = new ObjectMapper().readTree(created).get("id").asLong();
+
+        mockMvc.perform(get("/employees/search").param("name", "anne"))
+                .andExpect(MockMvcResultMatchers.status().is(200))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.length()").value(1))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].id").value(id));
+
+        mockMvc.perform(delete("/employees/{id}", id))
+                .andExpect(MockMvcResultMatchers.status().is(204));
+        mockMvc.perform(get("/employees/search").param("name", "anne"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.length()").value(0));
+    }
+
+    @Test
+    void should_find_employees_as_cbor_when_accept_cbor() throws Exception {
+        Employee saveEmployee = employeeJpaRepository.save(getEmployeeBob());
+        ObjectMapper cborMapper = new ObjectMapper(new CBORFactory());
+
+        for (String uri : new String[]{"/employees", "/employees?gender=Male"}) {
+            byte[] body = mockMvc.perform(get(uri).accept(MediaType.APPLICATION_CBOR))
+                    .andExpect(MockMvcResultMatchers.status().is(200))
+                    .andExpect(QueryCounter.statementsAtMost(1))
+                    .andExpect(MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_CBOR))
+                    .andReturn().getResponse().getContentAsByteArray();
+
+            List<Employee> employees = cborMapper.readValue(body, new TypeReference<List<Employee>>() {});
+            Assertions.assertEquals(1, employees.size());
+            Assertions.assertEquals(saveEmployee.getId(), employees.get(0).getId());
+            Assertions.assertEquals(saveEmployee.getName(), employees.get(0).getName());
+        }
+    }
+
     private static Employee getEmployeeBob() {
         Employee employee = new Employee();
         employee.setName("Bob");
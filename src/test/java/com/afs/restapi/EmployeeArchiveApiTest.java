@@ -0,0 +1,126 @@
+package com.afs.restapi;
+
+import com.afs.restapi.archive.EmployeeArchiver;
+import com.afs.restapi.cache.ResponseCache;
+import com.afs.restapi.entity.Company;
+import com.afs.restapi.entity.Employee;
+import com.afs.restapi.repository.ArchivedEmployeeJpaRepository;
+import com.afs.restapi.repository.CompanyJpaRepository;
+import com.afs.restapi.repository.EmployeeJpaRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import java.time.Instant;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+@SpringBootTest(properties = "employee-archive.enabled=true")
+@AutoConfigureMockMvc
+class EmployeeArchiveApiTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CompanyJpaRepository companyJpaRepository;
+
+    @Autowired
+    private EmployeeJpaRepository employeeJpaRepository;
+
+    @Autowired
+    private ArchivedEmployeeJpaRepository archivedEmployeeJpaRepository;
+
+    @Autowired
+    private EmployeeArchiver employeeArchiver;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ResponseCache responseCache;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM employee");
+        companyJpaRepository.deleteAll();
+        archivedEmployeeJpaRepository.deleteAll();
+        responseCache.clear();
+    }
+
+    // JPA deletes in other tests cannot see soft-deleted rows
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM employee");
+    }
+
+    @Test
+    void should_hide_deleted_employee_then_serve_it_from_archive_when_archived() throws Exception {
+        Company company = companyJpaRepository.save(new Company(null, "abc"));
+        Employee employee = new Employee(null, "Alice", 24, "Female", 9000);
+        employee.setCompanyId(company.getId());
+        Employee savedEmployee = employeeJpaRepository.save(employee);
+
+        mockMvc.perform(delete("/employees/{id}", savedEmployee.getId()))
+                .andExpect(MockMvcResultMatchers.status().is(204));
+
+        mockMvc.perform(get("/employees/{id}", savedEmployee.getId()))
+                .andExpect(MockMvcResultMatchers.status().is(404));
+        mockMvc.perform(get("/companies/{id}/employees", company.getId()))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.length()").value(0));
+        Assertions.assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM employee", Integer.class));
+
+        Assertions.assertEquals(1, employeeArchiver.archiveDeletedBefore(Instant.now().plusSeconds(1), 10));
+
+        Assertions.assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM employee", Integer.class));
+        mockMvc.perform(get("/archived-employees/{id}", savedEmployee.getId()))
+                .andExpect(MockMvcResultMatchers.status().is(200))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.name").value("Alice"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.gender").value("Female"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.deletedAt").exists())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.archivedAt").exists());
+        mockMvc.perform(get("/archived-employees")
+                        .param("companyId", String.valueOf(company.getId()))
+                        .param("pageNumber", "0")
+                        .param("pageSize", "10"))
+                .andExpect(MockMvcResultMatchers.status().is(200))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.length()").value(1))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].id").value(savedEmployee.getId()));
+    }
+
+    @Test
+    void should_keep_recently_deleted_employee_when_archive_before_cutoff() throws Exception {
+        Employee savedEmployee = employeeJpaRepository.save(new Employee(null, "Bob", 30, "Male", 7000));
+
+        mockMvc.perform(delete("/employees/{id}", savedEmployee.getId()))
+                .andExpect(MockMvcResultMatchers.status().is(204));
+
+        Assertions.assertEquals(0, employeeArchiver.archiveDeletedBefore(Instant.now().minusSeconds(3600), 10));
+        mockMvc.perform(get("/archived-employees/{id}", savedEmployee.getId()))
+                .andExpect(MockMvcResultMatchers.status().is(404));
+    }
+
+    @Test
+    void should_archive_soft_deleted_employees_when_delete_their_company() throws Exception {
+        Company company = companyJpaRepository.save(new Company(null, "abc"));
+        Employee employee = new Employee(null, "Carol", 40, "Female", 12000);
+        employee.setCompanyId(company.getId());
+        Employee savedEmployee = employeeJpaRepository.save(employee);
+        mockMvc.perform(delete("/employees/{id}", savedEmployee.getId()))
+                .andExpect(MockMvcResultMatchers.status().is(204));
+
+        mockMvc.perform(delete("/companies/{id}", company.getId()))
+                .andExpect(MockMvcResultMatchers.status().is(204));
+
+        Assertions.assertTrue(companyJpaRepository.findById(company.getId()).isEmpty());
+        Assertions.assertTrue(archivedEmployeeJpaRepository.findById(savedEmployee.getId()).isPresent());
+    }
+}
@@ -0,0 +1,112 @@
+package com.afs.restapi;
+
+import com.afs.restapi.entity.Company;
+import com.afs.restapi.entity.ImportJobStatus;
+import com.afs.restapi.repository.CompanyJpaRepository;
+import com.afs.restapi.repository.ImportJobJpaRepository;
+import com.afs.restapi.service.EmployeeService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasItem;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+@SpringBootTest(properties = {"bulk-import.directory=build/test-imports", "bulk-import.batch-size=2"})
+@AutoConfigureMockMvc
+class EmployeeImportApiTest {
+
+    private static final Path IMPORT_DIRECTORY = Paths.get("build/test-imports");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CompanyJpaRepository companyJpaRepository;
+
+    @Autowired
+    private ImportJobJpaRepository importJobJpaRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        jdbcTemplate.update("DELETE FROM employee");
+        companyJpaRepository.deleteAll();
+        importJobJpaRepository.deleteAll();
+        Files.createDirectories(IMPORT_DIRECTORY);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM employee");
+    }
+
+    @Test
+    void should_reject_rows_individually_when_import_given_missing_company_bad_age_and_negative_salary() throws Exception {
+        // Given
+        Company company = companyJpaRepository.save(new Company(null, "abc"));
+        long missingCompanyId = company.getId() + 1000;
+        Files.write(IMPORT_DIRECTORY.resolve("employees.csv"), Arrays.asList(
+                "name,age,gender,salary,companyId",
+                "Alice,24,Female,9000," + company.getId(),
+                "Bob,30,Male,8000," + missingCompanyId,
+                "Carol,12,Female,7000," + company.getId(),
+                "Dave,40,Male,-500," + company.getId()), StandardCharsets.UTF_8);
+
+        // When
+        String response = mockMvc.perform(post("/imports")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"path\":\"employees.csv\"}"))
+                .andExpect(MockMvcResultMatchers.status().is(202))
+                .andReturn().getResponse().getContentAsString();
+        long id = Long.parseLong(response.replaceAll(".*\"id\":(\\d+).*", "$1"));
+        awaitFinished(id);
+
+        // Then
+        mockMvc.perform(get("/imports/{id}", id))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.status").value("COMPLETED"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.rowsImported").value(1))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.rowsRejected").value(3))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.sampleRejects",
+                        hasItem(containsString("company " + missingCompanyId + " does not exist"))))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.sampleRejects", hasItem(EmployeeService.SALARY_RULE_MESSAGE)));
+        Assertions.assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM employee", Integer.class));
+    }
+
+    @Test
+    void should_return_400_when_import_given_path_outside_import_directory() throws Exception {
+        mockMvc.perform(post("/imports")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"path\":\"../build.gradle\"}"))
+                .andExpect(MockMvcResultMatchers.status().is(400));
+    }
+
+    private void awaitFinished(long id) throws InterruptedException {
+        for (int attempt = 0; attempt < 100; attempt++) {
+            ImportJobStatus status = importJobJpaRepository.findById(id).orElseThrow().getStatus();
+            if (status != ImportJobStatus.QUEUED && status != ImportJobStatus.RUNNING) {
+                return;
+            }
+            Thread.sleep(50);
+        }
+        Assertions.fail("import job " + id + " did not finish");
+    }
+}
@@ -0,0 +1,105 @@
+package com.afs.restapi;
+
+import com.afs.restapi.controller.EmployeeController;
+import com.afs.restapi.entity.Employee;
+import com.afs.restapi.exception.EmployeeNotFoundException;
+import com.afs.restapi.exception.SalaryIncrementException;
+import com.afs.restapi.increment.SalaryIncrementAccumulator;
+import com.afs.restapi.repository.EmployeeJpaRepository;
+import com.afs.restapi.service.dto.SalaryIncrementRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Hammers one employee with increments through the accumulator while another thread keeps flushing; every
+ * accepted increment must reach the row exactly once.
+ */
+@SpringBootTest(properties = {"salary-accumulator.enabled=true", "salary-accumulator.flush-interval=0s"})
+class SalaryIncrementAccumulatorConcurrencyTest {
+
+    private static final int THREADS = 8;
+    private static final int INCREMENTS_PER_THREAD = 200;
+
+    @Autowired
+    private EmployeeController employeeController;
+
+    @Autowired
+    private SalaryIncrementAccumulator salaryIncrementAccumulator;
+
+    @Autowired
+    private EmployeeJpaRepository employeeJpaRepository;
+
+    @BeforeEach
+    void setUp() {
+        salaryIncrementAccumulator.flush();
+        employeeJpaRepository.deleteAll();
+    }
+
+    @Test
+    void should_apply_every_accepted_increment_once_when_increment_and_flush_concurrently() throws Exception {
+        // Given
+        Employee employee = employeeJpaRepository.save(new Employee(null, "Alice", 30, "Female", 1000));
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS + 1);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean incrementing = new AtomicBoolean(true);
+        List<Future<?>> futures = new ArrayList<>();
+
+        // When
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < INCREMENTS_PER_THREAD; i++) {
+                    employeeController.incrementSalary(employee.getId(), new SalaryIncrementRequest(i % 2 == 0 ? 3 : -1));
+                }
+                return null;
+            }));
+        }
+        Future<?> flushes = executor.submit(() -> {
+            start.await();
+            while (incrementing.get()) {
+                salaryIncrementAccumulator.flush();
+            }
+            return null;
+        });
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        incrementing.set(false);
+        flushes.get(60, TimeUnit.SECONDS);
+        executor.shutdown();
+        salaryIncrementAccumulator.flush();
+
+        // Then
+        int expected = 1000 + THREADS * (INCREMENTS_PER_THREAD / 2) * (3 - 1);
+        assertEquals(expected, employeeJpaRepository.findById(employee.getId()).orElseThrow().getSalary());
+    }
+
+    @Test
+    void should_refuse_increment_before_accepting_when_employee_missing_or_salary_out_of_range() {
+        // Given
+        Employee employee = employeeJpaRepository.save(new Employee(null, "Bob", 30, "Male", 1000));
+
+        // When, Then
+        assertThrows(EmployeeNotFoundException.class,
+                () -> employeeController.incrementSalary(employee.getId() + 1000, new SalaryIncrementRequest(10)));
+        assertThrows(SalaryIncrementException.class,
+                () -> employeeController.incrementSalary(employee.getId(), new SalaryIncrementRequest(-1001)));
+        salaryIncrementAccumulator.flush();
+        assertEquals(1000, employeeJpaRepository.findById(employee.getId()).orElseThrow().getSalary());
+    }
+}
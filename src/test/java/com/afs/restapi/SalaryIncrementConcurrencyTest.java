@@ -0,0 +1,66 @@
+package com.afs.restapi;
+
+import com.afs.restapi.entity.Employee;
+import com.afs.restapi.repository.EmployeeJpaRepository;
+import com.afs.restapi.service.EmployeeService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Hammers one employee with concurrent salary increments; each is a conditional UPDATE, so none may be lost.
+ */
+@SpringBootTest
+class SalaryIncrementConcurrencyTest {
+
+    private static final int THREADS = 8;
+    private static final int INCREMENTS_PER_THREAD = 100;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private EmployeeJpaRepository employeeJpaRepository;
+
+    @BeforeEach
+    void setUp() {
+        employeeJpaRepository.deleteAll();
+    }
+
+    @Test
+    void should_not_lose_updates_when_increment_salary_concurrently() throws Exception {
+        Employee employee = employeeJpaRepository.save(new Employee(null, "Alice", 30, "Female", 1000));
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < INCREMENTS_PER_THREAD; i++) {
+                    employeeService.incrementSalary(employee.getId(), i % 2 == 0 ? 3 : -1);
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        int expected = 1000 + THREADS * (INCREMENTS_PER_THREAD / 2) * (3 - 1);
+        assertEquals(expected, employeeJpaRepository.findById(employee.getId()).orElseThrow().getSalary());
+    }
+}
@@ -0,0 +1,82 @@
+package com.afs.restapi;
+
+import com.afs.restapi.cache.ResponseCache;
+import com.afs.restapi.entity.Company;
+import com.afs.restapi.entity.Employee;
+import com.afs.restapi.repository.CompanyJpaRepository;
+import com.afs.restapi.repository.EmployeeJpaRepository;
+import com.afs.restapi.timing.ServerTimingFilter;
+import com.afs.restapi.timing.SlowRequestLog;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.matchesPattern;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+@SpringBootTest(properties = {"server-timing.enabled=true", "server-timing.slow-threshold=0ms"})
+@AutoConfigureMockMvc
+class ServerTimingApiTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CompanyJpaRepository companyJpaRepository;
+
+    @Autowired
+    private EmployeeJpaRepository employeeJpaRepository;
+
+    @Autowired
+    private ResponseCache responseCache;
+
+    @Autowired
+    private SlowRequestLog slowRequestLog;
+
+    @BeforeEach
+    void setUp() {
+        companyJpaRepository.deleteAll();
+        employeeJpaRepository.deleteAll();
+        responseCache.clear();
+        slowRequestLog.clear();
+    }
+
+    @Test
+    void should_split_time_into_db_serialization_and_total_when_get_companies() throws Exception {
+        Company company = companyJpaRepository.save(new Company(null, "abc"));
+        Employee employee = new Employee(null, "Alice", 24, "Female", 9000);
+        employee.setCompanyId(company.getId());
+        employeeJpaRepository.save(employee);
+
+        mockMvc.perform(get("/companies"))
+                .andExpect(MockMvcResultMatchers.status().is(200))
+                .andExpect(MockMvcResultMatchers.header().string(ServerTimingFilter.SERVER_TIMING, matchesPattern(
+                        "db;dur=[0-9.]+;desc=\"[1-9][0-9]* statements\", serialization;dur=[0-9.]+, total;dur=[0-9.]+")))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].name").value("abc"));
+    }
+
+    @Test
+    void should_record_statements_of_slow_request_when_over_threshold() throws Exception {
+        Company company = companyJpaRepository.save(new Company(null, "abc"));
+
+        mockMvc.perform(get("/companies/{id}", company.getId()))
+                .andExpect(MockMvcResultMatchers.status().is(200));
+        mockMvc.perform(get("/employees/{id}", 404))
+                .andExpect(MockMvcResultMatchers.status().is(404));
+
+        mockMvc.perform(get("/admin/slow-requests"))
+                .andExpect(MockMvcResultMatchers.status().is(200))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.length()").value(2))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].path").value("/employees/404"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].status").value(404))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[1].path").value("/companies/" + company.getId()))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[1].statementCount").value(greaterThanOrEqualTo(1)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[1].statements[0].sql").value(startsWith("select")));
+    }
+}
@@ -0,0 +1,72 @@
+package com.afs.restapi.support;
+
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Per-request SQL statement and row counts recorded by {@link QueryCountingConfiguration}. Requests are
+ * handled on the test thread under MockMvc, so the counts live in a thread local.
+ */
+public final class QueryCounter {
+
+    static final String ATTRIBUTE = QueryCounter.class.getName();
+
+    private static final ThreadLocal<QueryCounter> CURRENT = new ThreadLocal<>();
+
+    private final List<String> statements = new ArrayList<>();
+    private int rows;
+
+    private QueryCounter() {
+    }
+
+    static QueryCounter start() {
+        QueryCounter counter = new QueryCounter();
+        CURRENT.set(counter);
+        return counter;
+    }
+
+    static void stop() {
+        CURRENT.remove();
+    }
+
+    static void recordStatement(String sql) {
+        QueryCounter counter = CURRENT.get();
+        if (counter != null) {
+            counter.statements.add(sql);
+        }
+    }
+
+    static void recordRow() {
+        QueryCounter counter = CURRENT.get();
+        if (counter != null) {
+            counter.rows++;
+        }
+    }
+
+    public static ResultMatcher statementsAtMost(int maxStatements) {
+        return result -> {
+            QueryCounter counter = of(result);
+            assertTrue(counter.statements.size() <= maxStatements, () -> "expected at most " + maxStatements
+                    + " statements but ran " + counter.statements.size() + ": " + counter.statements);
+        };
+    }
+
+    public static ResultMatcher rowsAtMost(int maxRows) {
+        return result -> {
+            QueryCounter counter = of(result);
+            assertTrue(counter.rows <= maxRows, () -> "expected at most " + maxRows + " rows but read " + counter.rows);
+        };
+    }
+
+    private static QueryCounter of(MvcResult result) {
+        QueryCounter counter = (QueryCounter) result.getRequest().getAttribute(ATTRIBUTE);
+        assertNotNull(counter, "no SQL was counted for this request; add @Import(QueryCountingConfiguration.class) to the test class");
+        return counter;
+    }
+}
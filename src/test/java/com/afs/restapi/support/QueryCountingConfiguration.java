@@ -0,0 +1,129 @@
+package com.afs.restapi.support;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.web.servlet.MockMvcBuilderCustomizer;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Counts the SQL statements and result rows each MockMvc request causes, including lazy loads during
+ * serialization. Import it into a test and assert with {@link QueryCounter#statementsAtMost}.
+ */
+@TestConfiguration
+public class QueryCountingConfiguration {
+
+    @Bean
+    public static BeanPostProcessor queryCountingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof DataSource ? new CountingDataSource((DataSource) bean) : bean;
+            }
+        };
+    }
+
+    @Bean
+    public MockMvcBuilderCustomizer queryCountingFilter() {
+        return builder -> builder.addFilters(new OncePerRequestFilter() {
+            @Override
+            protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+                    throws ServletException, IOException {
+                request.setAttribute(QueryCounter.ATTRIBUTE, QueryCounter.start());
+                try {
+                    chain.doFilter(request, response);
+                } finally {
+                    QueryCounter.stop();
+                }
+            }
+        });
+    }
+
+    private static class CountingDataSource extends DelegatingDataSource {
+
+        CountingDataSource(DataSource targetDataSource) {
+            super(targetDataSource);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return countingConnection(super.getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return countingConnection(super.getConnection(username, password));
+        }
+    }
+
+    private static Connection countingConnection(Connection connection) {
+        return proxy(Connection.class, connection, (method, args, result) -> {
+            if (result instanceof CallableStatement) {
+                return countingStatement(CallableStatement.class, (Statement) result, (String) args[0]);
+            }
+            if (result instanceof PreparedStatement) {
+                return countingStatement(PreparedStatement.class, (Statement) result, (String) args[0]);
+            }
+            if (result instanceof Statement) {
+                return countingStatement(Statement.class, (Statement) result, null);
+            }
+            return result;
+        });
+    }
+
+    private static <T extends Statement> T countingStatement(Class<T> type, Statement statement, String preparedSql) {
+        return proxy(type, statement, (method, args, result) -> {
+            if (method.getName().startsWith("execute")) {
+                QueryCounter.recordStatement(preparedSql != null ? preparedSql
+                        : args != null && args.length > 0 ? String.valueOf(args[0]) : "batch");
+            }
+            if (result instanceof ResultSet && !"getGeneratedKeys".equals(method.getName())) {
+                return countingResultSet((ResultSet) result);
+            }
+            return result;
+        });
+    }
+
+    private static ResultSet countingResultSet(ResultSet resultSet) {
+        return proxy(ResultSet.class, resultSet, (method, args, result) -> {
+            if ("next".equals(method.getName()) && Boolean.TRUE.equals(result)) {
+                QueryCounter.recordRow();
+            }
+            return result;
+        });
+    }
+
+    private interface AfterInvocation {
+        Object apply(Method method, Object[] args, Object result) throws Exception;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, Object target, AfterInvocation afterInvocation) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException exception) {
+                throw exception.getTargetException();
+            }
+            return afterInvocation.apply(method, args, result);
+        });
+    }
+}
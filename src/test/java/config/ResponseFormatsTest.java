@@ -0,0 +1,74 @@
+package config;
+
+import com.afs.restapi.config.ResponseFormats;
+import com.afs.restapi.entity.Employee;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ResponseFormatsTest {
+
+    private ResponseFormats responseFormats;
+
+    @BeforeEach
+    void setUp() {
+        responseFormats = new ResponseFormats(new ObjectMapper(), Jackson2ObjectMapperBuilder.json());
+    }
+
+    @Test
+    void should_negotiate_binary_format_when_accept_prefers_it() {
+        assertEquals(MediaType.APPLICATION_CBOR, responseFormats.negotiate("application/cbor"));
+        assertEquals(ResponseFormats.APPLICATION_SMILE, responseFormats.negotiate("application/json;q=0.5, application/x-jackson-smile"));
+        assertEquals(MediaType.APPLICATION_JSON, responseFormats.negotiate("*/*"));
+        assertEquals(MediaType.APPLICATION_JSON, responseFormats.negotiate(null));
+    }
+
+    @Test
+    void should_round_trip_employees_when_encode_as_json() throws IOException {
+        assertRoundTrip(MediaType.APPLICATION_JSON);
+    }
+
+    @Test
+    void should_round_trip_employees_when_encode_as_cbor() throws IOException {
+        assertRoundTrip(MediaType.APPLICATION_CBOR);
+    }
+
+    @Test
+    void should_round_trip_employees_when_encode_as_smile() throws IOException {
+        assertRoundTrip(ResponseFormats.APPLICATION_SMILE);
+    }
+
+    private void assertRoundTrip(MediaType mediaType) throws IOException {
+        // Given
+        List<Employee> employees = createEmployees(3);
+
+        // When
+        byte[] encoded = responseFormats.encode(mediaType, employees);
+        List<Employee> decoded = responseFormats.mapperFor(mediaType).readValue(encoded, new TypeReference<List<Employee>>() {});
+
+        // Then
+        assertEquals(employees.size(), decoded.size());
+        assertEquals(employees.get(2).getName(), decoded.get(2).getName());
+        assertEquals(employees.get(2).getGender(), decoded.get(2).getGender());
+        assertEquals(employees.get(2).getCompanyId(), decoded.get(2).getCompanyId());
+    }
+
+    private static List<Employee> createEmployees(int count) {
+        List<Employee> employees = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Employee employee = new Employee((long) i, "Employee" + i, 18 + i % 47, i % 2 == 0 ? "Female" : "Male", 5000 + i % 9000);
+            employee.setCompanyId((long) (i % 100));
+            employees.add(employee);
+        }
+        return employees;
+    }
+}
@@ -0,0 +1,146 @@
+package datasource;
+
+import com.afs.restapi.datasource.ActiveConnectionCountingDataSource;
+import com.afs.restapi.datasource.LeastBusyReplicaSelector;
+import com.afs.restapi.datasource.ReadWriteRoutingDataSource;
+import com.afs.restapi.datasource.ReadYourWrites;
+import com.afs.restapi.datasource.ReplicaSelector;
+import com.afs.restapi.datasource.RoundRobinReplicaSelector;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReadWriteRoutingDataSourceTest {
+
+    @Test
+    void should_read_from_replica_and_write_to_primary() {
+        // Given
+        DataSource routing = routingDataSource(Collections.singletonList(h2("replica_a")), new RoundRobinReplicaSelector());
+
+        // When and Then
+        assertEquals("primary", inTransaction(routing, false));
+        assertEquals("replica_a", inTransaction(routing, true));
+    }
+
+    @Test
+    void should_read_from_primary_only_for_client_whose_write_committed() {
+        // Given
+        DataSource routing = routingDataSource(Collections.singletonList(h2("replica_a")), new RoundRobinReplicaSelector());
+        AtomicInteger announcements = new AtomicInteger();
+        ReadYourWrites.Client writer = new ReadYourWrites.Client(false, announcements::incrementAndGet);
+
+        // When
+        String writerRead = ReadYourWrites.callAs(writer, () -> {
+            transactionTemplate(routing, false).executeWithoutResult(status -> {
+                new JdbcTemplate(routing).update("UPDATE marker SET name = name");
+                new JdbcTemplate(routing).update("UPDATE marker SET name = name");
+            });
+            return inTransaction(routing, true);
+        });
+        String otherRead = ReadYourWrites.callAs(new ReadYourWrites.Client(false, () -> {}), () -> inTransaction(routing, true));
+
+        // Then
+        assertEquals("primary", writerRead);
+        assertEquals("replica_a", otherRead);
+        assertEquals(1, announcements.get());
+    }
+
+    @Test
+    void should_keep_reading_from_replica_when_read_write_transaction_only_selects() {
+        // Given
+        DataSource routing = routingDataSource(Collections.singletonList(h2("replica_a")), new RoundRobinReplicaSelector());
+        AtomicInteger announcements = new AtomicInteger();
+        ReadYourWrites.Client client = new ReadYourWrites.Client(false, announcements::incrementAndGet);
+
+        // When
+        String read = ReadYourWrites.callAs(client, () -> {
+            inTransaction(routing, false);
+            return inTransaction(routing, true);
+        });
+
+        // Then
+        assertEquals("replica_a", read);
+        assertEquals(0, announcements.get());
+    }
+
+    @Test
+    void should_read_from_primary_when_client_wrote_within_window_in_earlier_request() {
+        // Given
+        DataSource routing = routingDataSource(Collections.singletonList(h2("replica_a")), new RoundRobinReplicaSelector());
+
+        // When
+        String read = ReadYourWrites.callAs(new ReadYourWrites.Client(true, () -> {}), () -> inTransaction(routing, true));
+
+        // Then
+        assertEquals("primary", read);
+    }
+
+    @Test
+    void should_spread_reads_over_replicas_when_round_robin() {
+        // Given
+        DataSource routing = routingDataSource(Arrays.asList(h2("replica_a"), h2("replica_b")), new RoundRobinReplicaSelector());
+
+        // When
+        Set<String> servedBy = new HashSet<>();
+        for (int i = 0; i < 4; i++) {
+            servedBy.add(inTransaction(routing, true));
+        }
+
+        // Then
+        assertEquals(new HashSet<>(Arrays.asList("replica_a", "replica_b")), servedBy);
+    }
+
+    @Test
+    void should_pick_replica_with_fewest_open_connections_when_least_busy() throws Exception {
+        // Given
+        ActiveConnectionCountingDataSource replicaA = new ActiveConnectionCountingDataSource(h2("replica_a"));
+        ActiveConnectionCountingDataSource replicaB = new ActiveConnectionCountingDataSource(h2("replica_b"));
+        LeastBusyReplicaSelector selector = new LeastBusyReplicaSelector();
+
+        // When and Then
+        try (Connection connection = replicaA.getConnection()) {
+            assertEquals(1, replicaA.getActiveConnections());
+            assertEquals(1, selector.select(Arrays.asList(replicaA, replicaB)));
+        }
+        assertEquals(0, replicaA.getActiveConnections());
+        assertEquals(0, selector.select(Arrays.asList(replicaA, replicaB)));
+    }
+
+    private static DataSource routingDataSource(List<DataSource> replicas, ReplicaSelector selector) {
+        return new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(h2("primary"), replicas, selector));
+    }
+
+    private static String inTransaction(DataSource dataSource, boolean readOnly) {
+        return transactionTemplate(dataSource, readOnly)
+                .execute(status -> new JdbcTemplate(dataSource).queryForObject("SELECT name FROM marker", String.class));
+    }
+
+    private static TransactionTemplate transactionTemplate(DataSource dataSource, boolean readOnly) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        transactionTemplate.setReadOnly(readOnly);
+        return transactionTemplate;
+    }
+
+    private static DataSource h2(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS marker (name VARCHAR(32))");
+        jdbcTemplate.execute("DELETE FROM marker");
+        jdbcTemplate.update("INSERT INTO marker VALUES (?)", name);
+        return dataSource;
+    }
+}
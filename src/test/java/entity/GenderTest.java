@@ -0,0 +1,56 @@
+package entity;
+
+import com.afs.restapi.entity.Gender;
+import com.afs.restapi.entity.GenderConverter;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GenderTest {
+
+    @Test
+    void should_parse_label_ignoring_case_when_parse() {
+        assertEquals(Gender.FEMALE, Gender.parse("Female"));
+        assertEquals(Gender.FEMALE, Gender.parse("female"));
+        assertEquals(Gender.MALE, Gender.parse("MALE"));
+        assertEquals(Gender.OTHER, Gender.parse("Other"));
+    }
+
+    @Test
+    void should_return_null_when_from_label_given_unknown_or_missing_label() {
+        assertNull(Gender.fromLabel("Robot"));
+        assertNull(Gender.fromLabel(""));
+        assertNull(Gender.fromLabel(null));
+    }
+
+    @Test
+    void should_throw_rule_message_when_parse_given_unknown_label() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> Gender.parse("Robot"));
+
+        assertEquals(Gender.LABEL_RULE_MESSAGE, exception.getMessage());
+    }
+
+    @Test
+    void should_round_trip_every_gender_when_convert() {
+        // Given
+        GenderConverter converter = new GenderConverter();
+
+        for (Gender gender : Gender.values()) {
+            // When
+            Short code = converter.convertToDatabaseColumn(gender);
+
+            // Then
+            assertEquals(gender.getCode(), code);
+            assertEquals(gender, converter.convertToEntityAttribute(code));
+        }
+    }
+
+    @Test
+    void should_keep_null_and_reject_unknown_code_when_convert() {
+        GenderConverter converter = new GenderConverter();
+
+        assertNull(converter.convertToDatabaseColumn(null));
+        assertNull(converter.convertToEntityAttribute(null));
+        assertThrows(IllegalArgumentException.class, () -> converter.convertToEntityAttribute((short) 9));
+    }
+}
@@ -0,0 +1,102 @@
+package increment;
+
+import com.afs.restapi.increment.SalaryIncrementAccumulator;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SalaryIncrementAccumulatorTest {
+
+    @Test
+    void should_apply_every_increment_once_when_added_concurrently_with_flushes() throws Exception {
+        // Given
+        Map<Long, Long> applied = new ConcurrentHashMap<>();
+        AtomicInteger updates = new AtomicInteger();
+        SalaryIncrementAccumulator accumulator = new SalaryIncrementAccumulator((id, amount) -> {
+            updates.incrementAndGet();
+            applied.merge(id, (long) amount, Long::sum);
+        }, 8, Duration.ofMillis(1));
+        int threads = 8;
+        int incrementsPerThread = 20_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        // When
+        for (int t = 0; t < threads; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < incrementsPerThread; i++) {
+                    accumulator.add((long) (i % 3), i % 2 == 0 ? 3 : -1);
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+        accumulator.destroy();
+
+        // Then
+        long[] expected = new long[3];
+        for (int i = 0; i < incrementsPerThread; i++) {
+            expected[i % 3] += threads * (i % 2 == 0 ? 3 : -1);
+        }
+        for (int id = 0; id < expected.length; id++) {
+            assertEquals(expected[id], applied.get((long) id));
+        }
+        assertTrue(updates.get() < threads * incrementsPerThread, "increments should be batched, got " + updates.get());
+    }
+
+    @Test
+    void should_split_sum_beyond_int_range_when_flush() {
+        // Given
+        List<Integer> amounts = new ArrayList<>();
+        SalaryIncrementAccumulator accumulator = new SalaryIncrementAccumulator((id, amount) -> amounts.add(amount), 4, Duration.ZERO);
+        accumulator.add(1L, Integer.MAX_VALUE);
+        accumulator.add(1L, 10);
+
+        // When
+        accumulator.flush();
+
+        // Then
+        assertEquals(List.of(Integer.MAX_VALUE, 10), amounts);
+        accumulator.destroy();
+    }
+
+    @Test
+    void should_drop_sum_and_keep_flushing_when_target_rejects_it() {
+        // Given
+        Map<Long, Integer> applied = new ConcurrentHashMap<>();
+        SalaryIncrementAccumulator accumulator = new SalaryIncrementAccumulator((id, amount) -> {
+            if (id == 1L) {
+                throw new IllegalStateException("missing");
+            }
+            applied.put(id, amount);
+        }, 4, Duration.ZERO);
+        accumulator.add(1L, 5);
+        accumulator.add(2L, 7);
+
+        // When
+        accumulator.flush();
+        accumulator.flush();
+
+        // Then
+        assertEquals(Map.of(2L, 7), applied);
+        accumulator.destroy();
+    }
+}
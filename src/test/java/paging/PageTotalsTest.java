@@ -0,0 +1,103 @@
+package paging;
+
+import com.afs.restapi.paging.PageTotal;
+import com.afs.restapi.paging.PageTotals;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PageTotalsTest {
+
+    private JdbcTemplate jdbcTemplate;
+
+    private PageTotals pageTotals;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource("jdbc:h2:mem:page_totals;DB_CLOSE_DELAY=-1"));
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+        jdbcTemplate.execute("CREATE TABLE employee (id BIGINT AUTO_INCREMENT PRIMARY KEY, deleted_at TIMESTAMP)");
+        jdbcTemplate.execute("CREATE TABLE company (id BIGINT AUTO_INCREMENT PRIMARY KEY)");
+        for (int i = 0; i < 10; i++) {
+            jdbcTemplate.update("INSERT INTO employee (deleted_at) VALUES (NULL)");
+        }
+        jdbcTemplate.update("INSERT INTO employee (deleted_at) VALUES (CURRENT_TIMESTAMP)");
+        pageTotals = new PageTotals(jdbcTemplate, Duration.ZERO);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pageTotals.destroy();
+    }
+
+    @Test
+    void should_return_counted_total_as_approximate_when_page_has_next() {
+        // Given
+        pageTotals.refresh();
+
+        // When
+        PageTotal total = pageTotals.totalOf(PageTotals.Table.EMPLOYEE, slice(0, 3, 3, true));
+
+        // Then
+        assertEquals(10, total.getValue());
+        assertFalse(total.isExact());
+    }
+
+    @Test
+    void should_return_exact_total_when_page_reaches_end() {
+        // Given
+        pageTotals.refresh();
+
+        // When
+        PageTotal total = pageTotals.totalOf(PageTotals.Table.EMPLOYEE, slice(3, 3, 2, false));
+
+        // Then
+        assertEquals(11, total.getValue());
+        assertTrue(total.isExact());
+    }
+
+    @Test
+    void should_apply_changes_and_never_report_less_than_page_proves() {
+        // Given
+        pageTotals.refresh();
+        pageTotals.recordChange(PageTotals.Table.EMPLOYEE, 2);
+        pageTotals.recordChange(PageTotals.Table.COMPANY, -1);
+
+        // When
+        PageTotal employees = pageTotals.totalOf(PageTotals.Table.EMPLOYEE, slice(0, 3, 3, true));
+        PageTotal companies = pageTotals.totalOf(PageTotals.Table.COMPANY, slice(1, 3, 3, true));
+
+        // Then
+        assertEquals(12, employees.getValue());
+        assertEquals(7, companies.getValue());
+        assertFalse(companies.isExact());
+    }
+
+    @Test
+    void should_bound_total_by_offset_when_page_is_past_end() {
+        // Given
+        pageTotals.refresh();
+
+        // When
+        PageTotal total = pageTotals.totalOf(PageTotals.Table.EMPLOYEE, slice(1, 3, 0, false));
+
+        // Then
+        assertEquals(3, total.getValue());
+        assertFalse(total.isExact());
+    }
+
+    private static SliceImpl<Long> slice(int pageNumber, int pageSize, int size, boolean hasNext) {
+        List<Long> content = Collections.nCopies(size, 1L);
+        return new SliceImpl<>(content, PageRequest.of(pageNumber, pageSize), hasNext);
+    }
+}
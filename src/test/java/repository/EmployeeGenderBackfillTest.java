@@ -0,0 +1,51 @@
+package repository;
+
+import com.afs.restapi.repository.EmployeeGenderBackfill;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EmployeeGenderBackfillTest {
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource("jdbc:h2:mem:gender_backfill;DB_CLOSE_DELAY=-1"));
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    void should_encode_legacy_labels_and_keep_existing_codes_when_backfill() {
+        // Given
+        jdbcTemplate.execute("CREATE TABLE employee (id BIGINT PRIMARY KEY, gender VARCHAR(255), gender_code SMALLINT)");
+        jdbcTemplate.update("INSERT INTO employee (id, gender, gender_code) VALUES (1, 'male', NULL), (2, ' F ', NULL), " +
+                "(3, 'unknown', NULL), (4, NULL, 2), (5, 'Male', 2), (6, NULL, NULL)");
+
+        // When
+        new EmployeeGenderBackfill(jdbcTemplate).afterPropertiesSet();
+
+        // Then
+        List<Short> codes = jdbcTemplate.queryForList("SELECT gender_code FROM employee ORDER BY id", Short.class);
+        assertEquals(Arrays.asList((short) 1, (short) 2, (short) 3, (short) 2, (short) 2, null), codes);
+    }
+
+    @Test
+    void should_do_nothing_when_backfill_given_table_without_legacy_column() {
+        // Given
+        jdbcTemplate.execute("CREATE TABLE employee (id BIGINT PRIMARY KEY, gender_code SMALLINT)");
+        jdbcTemplate.update("INSERT INTO employee (id, gender_code) VALUES (1, NULL)");
+
+        // When
+        new EmployeeGenderBackfill(jdbcTemplate).afterPropertiesSet();
+
+        // Then
+        assertNull(jdbcTemplate.queryForObject("SELECT gender_code FROM employee", Short.class));
+    }
+}
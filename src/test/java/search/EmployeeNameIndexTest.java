@@ -0,0 +1,97 @@
+package search;
+
+import com.afs.restapi.search.EmployeeNameIndex;
+import com.afs.restapi.service.dto.EmployeeNameMatch;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EmployeeNameIndexTest {
+
+    private EmployeeNameIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new EmployeeNameIndex();
+        index.put(1L, "Anna Smith", 1L);
+        index.put(2L, "Annabel Lee", 2L);
+        index.put(3L, "Joanna Annett", 1L);
+        index.put(4L, "Zoë Brown", null);
+    }
+
+    @Test
+    void should_return_prefix_matches_before_substring_matches_when_search() {
+        // When
+        List<EmployeeNameMatch> matches = index.search("ann", null, 10);
+
+        // Then
+        assertEquals(List.of(1L, 2L, 3L), ids(matches));
+        assertEquals("Anna Smith", matches.get(0).getName());
+    }
+
+    @Test
+    void should_match_prefix_only_when_query_shorter_than_trigram() {
+        assertEquals(List.of(1L, 2L), ids(index.search("AN", null, 10)));
+        assertTrue(index.search("nn", null, 10).isEmpty());
+    }
+
+    @Test
+    void should_ignore_case_and_accents_when_search() {
+        assertEquals(List.of(4L), ids(index.search("zoe", null, 10)));
+        assertEquals(List.of(4L), ids(index.search("OË B", null, 10)));
+    }
+
+    @Test
+    void should_scope_to_company_and_stop_at_limit_when_search() {
+        assertEquals(List.of(1L, 3L), ids(index.search("ann", 1L, 10)));
+        assertEquals(List.of(1L), ids(index.search("ann", null, 1)));
+        assertTrue(index.search("ann", 9L, 10).isEmpty());
+        assertTrue(index.search(" ", null, 10).isEmpty());
+    }
+
+    @Test
+    void should_reflect_rename_and_removal_when_search() {
+        // When
+        index.put(2L, "Bella Lee", 2L);
+        index.remove(1L);
+        index.removeCompany(1L);
+
+        // Then
+        assertTrue(index.search("ann", null, 10).isEmpty());
+        assertEquals(List.of(2L), ids(index.search("ella", null, 10)));
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    void should_check_at_most_max_candidates_when_search_substring() {
+        // Given
+        EmployeeNameIndex capped = new EmployeeNameIndex(1);
+        capped.put(1L, "Anna Smith", 1L);
+        capped.put(2L, "Annabel Lee", 2L);
+        capped.put(3L, "Joanna Annett", 1L);
+
+        // Then
+        assertEquals(3, index.search("nna", null, 10).size());
+        assertEquals(1, capped.search("nna", null, 10).size());
+    }
+
+    @Test
+    void should_check_company_names_when_company_smaller_than_posting_list() {
+        // Given
+        EmployeeNameIndex capped = new EmployeeNameIndex(1);
+        capped.put(1L, "Anna Smith", 1L);
+        capped.put(3L, "Joanna Annett", 1L);
+        capped.put(2L, "Annabel Lee", 2L);
+
+        // Then
+        assertEquals(List.of(2L), ids(capped.search("nna", 2L, 10)));
+    }
+
+    private static List<Long> ids(List<EmployeeNameMatch> matches) {
+        return matches.stream().map(EmployeeNameMatch::getId).collect(Collectors.toList());
+    }
+}
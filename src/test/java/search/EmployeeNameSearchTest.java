@@ -0,0 +1,62 @@
+package search;
+
+import com.afs.restapi.search.EmployeeNameSearch;
+import com.afs.restapi.service.dto.EmployeeNameMatch;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EmployeeNameSearchTest {
+
+    private DataSource database;
+
+    @BeforeEach
+    void setUp() {
+        database = new DriverManagerDataSource("jdbc:h2:mem:employee_name_search;DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+        jdbcTemplate.execute("CREATE TABLE employee (id BIGINT PRIMARY KEY, name VARCHAR(255), company_id BIGINT, " +
+                "deleted_at TIMESTAMP)");
+        jdbcTemplate.update("INSERT INTO employee (id, name, company_id) VALUES (1, 'Anna Smith', 1), (2, 'Bob Stone', 1)");
+    }
+
+    @Test
+    void should_keep_changes_committed_during_scan_when_rebuild() {
+        // Given
+        EmployeeNameSearch[] search = new EmployeeNameSearch[1];
+        AtomicBoolean changed = new AtomicBoolean();
+        DataSource changingDuringScan = new DelegatingDataSource(database) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                if (changed.compareAndSet(false, true)) {
+                    search[0].recordSaved(3L, "Hannah Lee", 2L);
+                    search[0].recordDeleted(2L);
+                }
+                return super.getConnection();
+            }
+        };
+        search[0] = new EmployeeNameSearch(new JdbcTemplate(changingDuringScan));
+
+        // When
+        search[0].rebuild();
+
+        // Then
+        assertEquals(List.of(1L, 3L), ids(search[0].search("ann", null, 10)));
+        assertTrue(search[0].search("bob", null, 10).isEmpty());
+    }
+
+    private static List<Long> ids(List<EmployeeNameMatch> matches) {
+        return matches.stream().map(EmployeeNameMatch::getId).collect(Collectors.toList());
+    }
+}
@@ -1,9 +1,16 @@
 package service;
 
+import com.afs.restapi.analytics.EmployeeAnalytics;
+import com.afs.restapi.cache.ResponseCache;
+import com.afs.restapi.columnar.EmployeeChangeLog;
 import com.afs.restapi.entity.Employee;
 import com.afs.restapi.exception.EmployeeCreateException;
+import com.afs.restapi.paging.PageTotal;
+import com.afs.restapi.paging.PageTotals;
 import com.afs.restapi.repository.EmployeeJpaRepository;
+import com.afs.restapi.search.EmployeeNameSearch;
 import com.afs.restapi.service.EmployeeService;
+import com.afs.restapi.service.dto.PageResponse;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.runner.RunWith;
@@ -12,8 +19,10 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.mockito.junit.MockitoJUnitRunner;
 
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -22,9 +31,12 @@ import java.util.Optional;
 
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 
 @RunWith(MockitoJUnitRunner.class)
 public class EmployeeServiceTest {
@@ -34,10 +46,26 @@ public class EmployeeServiceTest {
     @Mock
     private EmployeeJpaRepository employeeRepository;
 
+    @Mock
+    private ResponseCache responseCache;
+
+    @Mock
+    private EmployeeChangeLog employeeChangeLog;
+
+    @Mock
+    private EmployeeAnalytics employeeAnalytics;
+
+    @Mock
+    private EmployeeNameSearch employeeNameSearch;
+
+    @Mock
+    private PageTotals pageTotals;
+
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        employeeService = new EmployeeService(employeeRepository);
+        employeeService = new EmployeeService(employeeRepository, responseCache, employeeChangeLog, employeeAnalytics,
+                employeeNameSearch, pageTotals, false);
     }
 
     @Test
@@ -55,6 +83,8 @@ public class EmployeeServiceTest {
         assertNotNull(retrievedEmployee);
         assertEquals("John", retrievedEmployee.getName());
         assertEquals(1L, retrievedEmployee.getId());
+        verify(employeeRepository).findById(1L);
+        verifyNoMoreInteractions(employeeRepository);
     }
 
     @Test
@@ -115,15 +145,20 @@ public class EmployeeServiceTest {
                 new Employee(5L, "Linne", 30, "female", 99239)
         );
 
-        when(employeeRepository.findAll(PageRequest.of(pageNumber, pageSize)))
-                .thenReturn(new PageImpl<>(expectedEmployees));
+        Slice<Employee> slice = new SliceImpl<>(expectedEmployees, PageRequest.of(pageNumber, pageSize), true);
+        when(employeeRepository.findSlice(PageRequest.of(pageNumber, pageSize))).thenReturn(slice);
+        when(pageTotals.totalOf(PageTotals.Table.EMPLOYEE, slice)).thenReturn(new PageTotal(20, false));
 
         // When
-        List<Employee> employees = employeeService.findByPage(pageNumber, pageSize);
+        PageResponse<Employee> page = employeeService.findByPage(pageNumber, pageSize);
+        List<Employee> employees = page.getContent();
 
         // Then
         assertEquals(expectedEmployees.size(), employees.size());
         assertEquals(expectedEmployees.get(0).getName(), employees.get(0).getName());
+        assertEquals(20, page.getTotal().getValue());
+        assertFalse(page.getTotal().isExact());
+        verify(employeeRepository, never()).findAll(any(Pageable.class));
     }
 
     @Test
@@ -140,6 +175,8 @@ public class EmployeeServiceTest {
 
         // Then
         assertEquals(expectedEmployees, actualEmployees);
+        verify(employeeRepository).findAll();
+        verifyNoMoreInteractions(employeeRepository);
     }
 
     @Test
@@ -239,6 +276,7 @@ public class EmployeeServiceTest {
         assertEquals(updatedEmployee.getGender(), savedEmployee.getGender());
         assertEquals(updatedEmployee.getSalary(), savedEmployee.getSalary());
         assertEquals(existingEmployeeId, savedEmployee.getId());
+        verifyNoMoreInteractions(employeeRepository);
     }
 
 }
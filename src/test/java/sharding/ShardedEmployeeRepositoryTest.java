@@ -0,0 +1,301 @@
+package sharding;
+
+import com.afs.restapi.entity.Employee;
+import com.afs.restapi.sharding.ModuloShardResolver;
+import com.afs.restapi.sharding.ShardSchema;
+import com.afs.restapi.sharding.ShardedEmployeeRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.TransactionSystemException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ShardedEmployeeRepositoryTest {
+
+    private static final int SHARD_COUNT = 3;
+
+    private List<DataSource> dataSources;
+
+    private ShardedEmployeeRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        dataSources = IntStream.range(0, SHARD_COUNT)
+                .mapToObj(shard -> (DataSource) new DriverManagerDataSource("jdbc:h2:mem:employee_shard_" + shard + ";DB_CLOSE_DELAY=-1"))
+                .collect(Collectors.toList());
+        dataSources.forEach(ShardSchema::migrate);
+        repository = new ShardedEmployeeRepository(dataSources, new ModuloShardResolver());
+        repository.deleteAll();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        repository.destroy();
+    }
+
+    @Test
+    void should_store_company_employees_on_one_shard_when_save() {
+        // Given
+        Employee saved = repository.save(employee("Alice", "Female", 4L));
+
+        // When
+        List<Employee> companyEmployees = repository.findByCompanyId(4L);
+
+        // Then
+        assertEquals(1, countRows(1));
+        assertEquals(0, countRows(0) + countRows(2));
+        assertEquals(1, companyEmployees.size());
+        assertEquals(saved.getId(), companyEmployees.get(0).getId());
+        assertEquals("Alice", repository.findById(saved.getId()).orElseThrow().getName());
+    }
+
+    @Test
+    void should_merge_all_shards_in_id_order_when_find_all() {
+        // Given
+        List<Long> savedIds = saveAcrossCompanies(9);
+
+        // When
+        List<Long> foundIds = repository.findAll().stream().map(Employee::getId).collect(Collectors.toList());
+
+        // Then
+        assertEquals(savedIds.stream().sorted().collect(Collectors.toList()), foundIds);
+    }
+
+    @Test
+    void should_return_global_page_when_find_all_by_page() {
+        // Given
+        List<Long> sortedIds = saveAcrossCompanies(10).stream().sorted().collect(Collectors.toList());
+
+        // When
+        Page<Employee> page = repository.findAll(PageRequest.of(1, 4));
+
+        // Then
+        assertEquals(10, page.getTotalElements());
+        assertEquals(sortedIds.subList(4, 8), page.getContent().stream().map(Employee::getId).collect(Collectors.toList()));
+    }
+
+    @Test
+    void should_return_global_page_without_total_when_find_slice() {
+        // Given
+        List<Long> sortedIds = saveAcrossCompanies(10).stream().sorted().collect(Collectors.toList());
+
+        // When
+        Slice<Employee> middle = repository.findSlice(PageRequest.of(1, 4));
+        Slice<Employee> last = repository.findSlice(PageRequest.of(2, 4));
+
+        // Then
+        assertEquals(sortedIds.subList(4, 8), middle.getContent().stream().map(Employee::getId).collect(Collectors.toList()));
+        assertTrue(middle.hasNext());
+        assertEquals(sortedIds.subList(8, 10), last.getContent().stream().map(Employee::getId).collect(Collectors.toList()));
+        assertFalse(last.hasNext());
+    }
+
+    @Test
+    void should_gather_gender_from_all_shards_when_find_all_by_gender() {
+        // Given
+        saveAcrossCompanies(6);
+
+        // When
+        List<Employee> females = repository.findAllByGender("Female");
+
+        // Then
+        assertEquals(3, females.size());
+        assertTrue(females.stream().allMatch(employee -> "Female".equals(employee.getGender())));
+    }
+
+    @Test
+    void should_update_in_place_and_delete_when_save_existing_and_delete_by_id() {
+        // Given
+        Employee saved = repository.save(employee("Bob", "Male", 2L));
+        saved.setSalary(20000);
+
+        // When
+        repository.save(saved);
+
+        // Then
+        assertEquals(20000, repository.findById(saved.getId()).orElseThrow().getSalary());
+        repository.deleteById(saved.getId());
+        assertTrue(repository.findById(saved.getId()).isEmpty());
+        assertThrows(EmptyResultDataAccessException.class, () -> repository.deleteById(saved.getId()));
+    }
+
+    @Test
+    void should_leave_no_shard_rows_when_surrounding_transaction_rolls_back() {
+        // Given
+        TransactionTemplate transactionTemplate = primaryTransaction();
+
+        // When
+        Long id = transactionTemplate.execute(status -> {
+            Employee saved = repository.save(employee("Carol", "Female", 1L));
+            assertTrue(repository.findById(saved.getId()).isPresent());
+            status.setRollbackOnly();
+            return saved.getId();
+        });
+
+        // Then
+        assertTrue(repository.findById(id).isEmpty());
+        assertEquals(0, countRows(0) + countRows(1) + countRows(2));
+    }
+
+    @Test
+    void should_commit_shard_rows_when_surrounding_transaction_commits() {
+        // When
+        Long id = primaryTransaction().execute(status -> repository.save(employee("Dan", "Male", 2L)).getId());
+
+        // Then
+        assertEquals("Dan", repository.findById(id).orElseThrow().getName());
+    }
+
+    @Test
+    void should_roll_back_primary_and_shard_when_shard_commit_fails() throws Exception {
+        // Given
+        DataSource primary = new DriverManagerDataSource("jdbc:h2:mem:employee_primary;DB_CLOSE_DELAY=-1");
+        JdbcTemplate primaryJdbcTemplate = new JdbcTemplate(primary);
+        primaryJdbcTemplate.execute("CREATE TABLE IF NOT EXISTS primary_write (id BIGINT)");
+        primaryJdbcTemplate.update("DELETE FROM primary_write");
+        ShardedEmployeeRepository failingRepository = new ShardedEmployeeRepository(
+                Collections.singletonList(failingCommits(dataSources.get(0))), new ModuloShardResolver());
+
+        // When
+        assertThrows(TransactionSystemException.class, () -> new TransactionTemplate(new DataSourceTransactionManager(primary))
+                .executeWithoutResult(status -> {
+                    primaryJdbcTemplate.update("INSERT INTO primary_write (id) VALUES (1)");
+                    failingRepository.save(employee("Hal", "Male", 3L));
+                }));
+
+        // Then
+        assertEquals(0, primaryJdbcTemplate.queryForObject("SELECT COUNT(*) FROM primary_write", Integer.class));
+        assertEquals(0, countRows(0));
+        failingRepository.destroy();
+    }
+
+    @Test
+    void should_read_own_increment_until_commit_when_increment_salary_in_transaction() {
+        // Given
+        Long id = repository.save(employee("Fay", "Female", 1L)).getId();
+
+        // When
+        int[] salaries = primaryTransaction().execute(status -> {
+            repository.incrementSalary(id, 500);
+            int inTransaction = repository.findById(id).orElseThrow().getSalary();
+            // another thread has no shard connection bound and sees only committed rows
+            CompletableFuture<Integer> outside = CompletableFuture.supplyAsync(() -> repository.findById(id).orElseThrow().getSalary());
+            return new int[]{inTransaction, outside.join()};
+        });
+
+        // Then
+        assertEquals(10500, salaries[0]);
+        assertEquals(10000, salaries[1]);
+        assertEquals(10500, repository.findById(id).orElseThrow().getSalary());
+    }
+
+    @Test
+    void should_delete_only_company_employees_when_delete_by_company_id() {
+        // Given
+        repository.save(employee("Erin", "Female", 1L));
+        repository.save(employee("Finn", "Male", 4L));
+        Employee other = repository.save(employee("Gus", "Male", 2L));
+
+        // When
+        repository.deleteByCompanyId(1L);
+
+        // Then
+        assertTrue(repository.findByCompanyId(1L).isEmpty());
+        assertEquals(1, repository.findByCompanyId(4L).size());
+        assertTrue(repository.findById(other.getId()).isPresent());
+    }
+
+    @Test
+    void should_encode_gender_of_shard_created_before_gender_codes_when_migrate() throws Exception {
+        // Given
+        DataSource legacyShard = new DriverManagerDataSource("jdbc:h2:mem:employee_legacy_shard;DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(legacyShard);
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+        jdbcTemplate.execute("CREATE TABLE employee (id BIGINT AUTO_INCREMENT PRIMARY KEY, name VARCHAR(255), age INT, " +
+                "gender VARCHAR(255), salary INT, company_id BIGINT)");
+        jdbcTemplate.update("INSERT INTO employee (name, age, gender, salary, company_id) VALUES ('Alice', 30, 'female', 10000, 1)");
+        jdbcTemplate.update("INSERT INTO employee (name, age, gender, salary, company_id) VALUES ('Bob', 30, 'Male', 10000, 1)");
+
+        // When
+        ShardSchema.migrate(legacyShard);
+        ShardedEmployeeRepository legacyRepository = new ShardedEmployeeRepository(Collections.singletonList(legacyShard),
+                new ModuloShardResolver());
+
+        // Then
+        assertEquals(List.of("Alice"), legacyRepository.findAllByGender("Female").stream()
+                .map(Employee::getName).collect(Collectors.toList()));
+        assertEquals(List.of("Bob"), legacyRepository.findAllByGender("Male").stream()
+                .map(Employee::getName).collect(Collectors.toList()));
+        legacyRepository.destroy();
+    }
+
+    @Test
+    void should_fail_fast_when_no_shards_configured() {
+        assertThrows(IllegalArgumentException.class, () -> new ShardedEmployeeRepository(Collections.emptyList(), new ModuloShardResolver()));
+    }
+
+    private List<Long> saveAcrossCompanies(int count) {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            ids.add(repository.save(employee("Employee" + i, i % 2 == 0 ? "Female" : "Male", (long) i)).getId());
+        }
+        return ids;
+    }
+
+    private static TransactionTemplate primaryTransaction() {
+        return new TransactionTemplate(new DataSourceTransactionManager(new DriverManagerDataSource("jdbc:h2:mem:employee_primary;DB_CLOSE_DELAY=-1")));
+    }
+
+    // a shard whose connections fail to commit
+    private static DataSource failingCommits(DataSource dataSource) {
+        return new DelegatingDataSource(dataSource) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                Connection connection = super.getConnection();
+                return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                        (proxy, method, arguments) -> {
+                            if (method.getName().equals("commit")) {
+                                throw new SQLException("shard unavailable");
+                            }
+                            try {
+                                return method.invoke(connection, arguments);
+                            } catch (InvocationTargetException exception) {
+                                throw exception.getCause();
+                            }
+                        });
+            }
+        };
+    }
+
+    private int countRows(int shard) {
+        return new JdbcTemplate(dataSources.get(shard)).queryForObject("SELECT COUNT(*) FROM employee", Integer.class);
+    }
+
+    private static Employee employee(String name, String gender, Long companyId) {
+        Employee employee = new Employee(null, name, 30, gender, 10000);
+        employee.setCompanyId(companyId);
+        return employee;
+    }
+}